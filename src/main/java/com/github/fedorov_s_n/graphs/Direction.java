@@ -0,0 +1,22 @@
+package com.github.fedorov_s_n.graphs;
+
+/**
+ * Direction to follow edges of a {@link Graph} in
+ */
+public enum Direction {
+
+    /**
+     * From parent vertices to their children
+     */
+    CHILDREN,
+
+    /**
+     * From child vertices to their parents
+     */
+    PARENTS,
+
+    /**
+     * Along edges in both directions
+     */
+    BOTH
+}
@@ -0,0 +1,93 @@
+package com.github.fedorov_s_n.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Extraction of the subgraph induced by vertices within given count of hops from a vertex.
+ * Visited vertices are marked with the number of the current query in arrays reused by
+ * every thread, so a query takes time proportional to the edges of the visited vertices
+ * instead of the size of the whole graph. Arrays of a thread grow to the largest graph
+ * it has queried and are released when it queries a graph many times smaller.
+ */
+final class EgoNetwork {
+
+    /**
+     * Arrays shorter than this are kept for any smaller graph
+     */
+    private static final int RETAINED_LENGTH = 1 << 16;
+
+    private static final ThreadLocal<EgoNetwork> SCRATCH = ThreadLocal.withInitial(EgoNetwork::new);
+
+    private int[] stamps = new int[0];
+    private int[] positions = new int[0];
+    private int epoch;
+
+    private EgoNetwork() {
+    }
+
+    static <V, E> Graph<V, E> of(Vertex<V, E> center, int hops, int verticesCount, Direction direction) {
+        EgoNetwork scratch = SCRATCH.get();
+        scratch.begin(verticesCount);
+        List<Vertex<V, E>> visited = new ArrayList<>();
+        scratch.visit(center, visited);
+        int levelStart = 0;
+        for (int hop = 0; hop < hops && levelStart < visited.size(); ++hop) {
+            int levelEnd = visited.size();
+            for (int i = levelStart; i < levelEnd; ++i) {
+                Vertex<V, E> vertex = visited.get(i);
+                if (direction != Direction.PARENTS && vertex.children != null) {
+                    for (Edge<V, E> edge : vertex.children) {
+                        scratch.visit(edge.child, visited);
+                    }
+                }
+                if (direction != Direction.CHILDREN && vertex.parents != null) {
+                    for (Edge<V, E> edge : vertex.parents) {
+                        scratch.visit(edge.parent, visited);
+                    }
+                }
+            }
+            levelStart = levelEnd;
+        }
+
+        List<Vertex<V, E>> vertices = new ArrayList<>(visited.size());
+        for (Vertex<V, E> vertex : visited) {
+            vertices.add(new Vertex<>(vertex.parameter));
+        }
+        List<Edge<V, E>> edges = new ArrayList<>();
+        for (int i = 0; i < visited.size(); ++i) {
+            List<Edge<V, E>> children = visited.get(i).children;
+            if (children == null) continue;
+            for (Edge<V, E> edge : children) {
+                int child = edge.child.index;
+                if (scratch.stamps[child] == scratch.epoch) {
+                    edges.add(new Edge<>(vertices.get(i), vertices.get(scratch.positions[child]), edge.parameter));
+                }
+            }
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private void begin(int verticesCount) {
+        if (stamps.length < verticesCount
+            || stamps.length > RETAINED_LENGTH && stamps.length / 4 > verticesCount) {
+            stamps = new int[verticesCount];
+            positions = new int[verticesCount];
+            epoch = 0;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    private <V, E> void visit(Vertex<V, E> vertex, List<Vertex<V, E>> visited) {
+        int index = vertex.index;
+        if (stamps[index] != epoch) {
+            stamps[index] = epoch;
+            positions[index] = visited.size();
+            visited.add(vertex);
+        }
+    }
+}
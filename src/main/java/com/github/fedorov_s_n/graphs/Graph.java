@@ -1,13 +1,14 @@
 package com.github.fedorov_s_n.graphs;
 
+import com.github.fedorov_s_n.graphs.algorithm.Components;
+import com.github.fedorov_s_n.graphs.algorithm.VertexOrder;
 import com.github.fedorov_s_n.graphs.representation.JPanelRepresentation;
+import com.github.fedorov_s_n.graphs.representation.Visualization;
 
-import javax.swing.*;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
+import java.lang.ref.SoftReference;
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -18,14 +19,26 @@ import static java.util.stream.Collectors.groupingBy;
 /**
  * Directed graph with parametrized vertices and edges. Graph is supposed to be
  * effectively immutable though it's possible to mutate vertices and edges lists.
+ * Some derived results are memoized according to {@link Memoization} policy,
+ * so {@link #invalidate()} should be called after such mutation.
  *
  * @param <V> type of vertices parameters
  * @param <E> type of edges parameters
  */
 public final class Graph<V, E> implements Cloneable {
 
+    private static final int TOPSORT = 0;
+    private static final int SPLIT_EDGES = 1;
+    private static final int IN_DEGREES = 2;
+    private static final int OUT_DEGREES = 3;
+    private static final Object NO_RESULT = new Object();
+
     private final List<Vertex<V, E>> vertices;
     private final List<Edge<V, E>> edges;
+    private final AtomicReferenceArray<Object> memos = new AtomicReferenceArray<>(4);
+    private volatile Memoization memoization = Memoization.SOFT;
+    private volatile int hash;
+    private volatile boolean hashed;
 
     /**
      * Create graph from given edge list.
@@ -47,6 +60,34 @@ public final class Graph<V, E> implements Cloneable {
         return new Graph<>(vertices, edges);
     }
 
+    /**
+     * Create union of graphs, vertices with equal parameters are merged to single vertex
+     * and all edges are kept. Vertices and edges are ordered by their first appearance.
+     *
+     * @param graphs graphs to merge
+     * @param <V>    type of vertices parameters
+     * @param <E>    type of edges parameters
+     * @return new graph
+     */
+    public static <V, E> Graph<V, E> union(Collection<Graph<V, E>> graphs) {
+        return GraphUnion.union(graphs, null);
+    }
+
+    /**
+     * Create union of graphs, vertices with equal parameters are merged to single vertex
+     * and edges between the same vertices are merged to single edge.
+     * Vertices and edges are ordered by their first appearance.
+     *
+     * @param graphs  graphs to merge
+     * @param reducer function to merge parameters of edges between the same vertices
+     * @param <V>     type of vertices parameters
+     * @param <E>     type of edges parameters
+     * @return new graph
+     */
+    public static <V, E> Graph<V, E> union(Collection<Graph<V, E>> graphs, BiFunction<E, E, E> reducer) {
+        return GraphUnion.union(graphs, Objects.requireNonNull(reducer));
+    }
+
     /**
      * Create graph from given vertex and edge lists.
      * Input collections are neither checked nor copied.
@@ -60,17 +101,7 @@ public final class Graph<V, E> implements Cloneable {
     public Graph(List<Vertex<V, E>> vertices, List<Edge<V, E>> edges) {
         this.edges = Objects.requireNonNull(edges);
         this.vertices = Objects.requireNonNull(vertices);
-        int index = 0;
-        for (Vertex<V, E> vertex : vertices) {
-            vertex.children = vertex.parents = null;
-            vertex.index = index++;
-        }
-        edges.stream()
-            .collect(groupingBy(e -> e.parent.index))
-            .forEach((i, l) -> this.vertices.get(i).children = l);
-        edges.stream()
-            .collect(groupingBy(e -> e.child.index))
-            .forEach((i, l) -> this.vertices.get(i).parents = l);
+        index();
     }
 
     /**
@@ -299,6 +330,26 @@ public final class Graph<V, E> implements Cloneable {
         return filterEdges(e -> !Objects.equals(e.getParameter(), parameter));
     }
 
+    /**
+     * Creates new graph induced by vertices within given count of hops from the vertex.
+     * Only the visited vertices and their edges are scanned, so the call is cheap for
+     * small neighbourhoods of large graphs. Vertices are ordered by distance from the center.
+     *
+     * @param center    vertex of this graph
+     * @param hops      maximal distance from the center, not negative
+     * @param direction direction of edges to follow from the center
+     * @return new graph
+     */
+    public Graph<V, E> egoNetwork(Vertex<V, E> center, int hops, Direction direction) {
+        if (hops < 0) {
+            throw new IllegalArgumentException("Count of hops should not be negative");
+        }
+        if (center.index < 0 || center.index >= vertices.size() || vertices.get(center.index) != center) {
+            throw new IllegalArgumentException("Vertex " + center.parameter + " is not in graph");
+        }
+        return EgoNetwork.of(center, hops, vertices.size(), Objects.requireNonNull(direction));
+    }
+
     /**
      * Inverts edges
      *
@@ -348,45 +399,209 @@ public final class Graph<V, E> implements Cloneable {
         return new Graph<>(newVertices, newEdges);
     }
 
+    /**
+     * Calculate structural difference between this graph and another one,
+     * vertices are matched by their parameters
+     *
+     * @param other new version of this graph
+     * @return difference to turn this graph into other one
+     */
+    public GraphDiff<V, E> diff(Graph<V, E> other) {
+        return GraphDiff.of(this, other);
+    }
+
+    /**
+     * Create new graph by applying difference to this graph
+     *
+     * @param diff difference calculated for this graph or a graph equal to it
+     * @return patched graph
+     */
+    public Graph<V, E> patch(GraphDiff<V, E> diff) {
+        return diff.apply(this);
+    }
+
     /**
      * Split this graph to connected components. Edges and Vertices are copied
      * by value and parameters are copied by reference.
+     * <p>
+     * Components are found with parallel union-find over edges, vertices and edges
+     * of every component keep their relative order.
      *
      * @return list of connected components
      */
     public List<Graph<V, E>> split() {
-        return split(vertices, Vertex::getNeighbourNodes);
+        Components components = Components.of(this);
+        return group(components.getLabels(), components.count());
     }
 
     /**
      * Split this graph to strongly connected components. Edges and Vertices are copied
-     * by value and parameters are copied by reference.
+     * by value and parameters are copied by reference. Components are memoized,
+     * so the same component graphs are returned by subsequent calls.
      *
      * @return list of strongly connected components
      */
     public List<Graph<V, E>> splitEdges() {
-        ArrayDeque<Vertex<V, E>> order = new ArrayDeque<>(vertices.size());
-        dfs(vertices, Vertex::getParentNodes, null, null, node -> !order.offerFirst(node), null);
-        return split(order, Vertex::getChildNodes);
+        return new ArrayList<>(memoized(SPLIT_EDGES, () -> {
+            ArrayDeque<Vertex<V, E>> order = new ArrayDeque<>(vertices.size());
+            dfs(vertices, Vertex::getParentNodes, null, null, node -> !order.offerFirst(node), null);
+            return split(order, Vertex::getChildNodes);
+        }));
     }
 
     /**
      * Calculate topological sort of this graph vertices. Resulted graph has changed {@code vertices()} order.
+     * Result is memoized, so the same graph is returned by subsequent calls.
      *
      * @return new graph with topologically sorted vertices or null if this graph has cycles
      */
     public Graph<V, E> topsort() {
+        return memoized(TOPSORT, this::sort);
+    }
+
+    /**
+     * Create graph with vertices ordered for locality of traversals, see {@link VertexOrder.Strategy}
+     *
+     * @param strategy strategy to order vertices with
+     * @return new graph with reordered vertices
+     */
+    public Graph<V, E> reorder(VertexOrder.Strategy strategy) {
+        return reorder(VertexOrder.of(this, strategy));
+    }
+
+    /**
+     * Create graph with vertices in given order. Vertices are allocated in new order too,
+     * and edges are grouped by parents in new order keeping their relative order.
+     *
+     * @param order order of vertices calculated for this graph
+     * @return new graph with reordered vertices
+     */
+    public Graph<V, E> reorder(VertexOrder order) {
+        int[] oldIndexes = order.getOrder();
+        int[] positions = order.getPositions();
+        int size = vertices.size();
+        if (oldIndexes.length != size) {
+            throw new IllegalArgumentException("Order of " + oldIndexes.length + " vertices doesn't fit graph of " + size);
+        }
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] sorted = new Vertex[size];
+        for (int i = 0; i < size; ++i) {
+            sorted[i] = new Vertex<>(vertices.get(oldIndexes[i]).parameter);
+        }
+        int[] starts = new int[size + 1];
+        for (Edge<V, E> edge : edges) {
+            ++starts[positions[edge.parent.index] + 1];
+        }
+        for (int i = 0; i < size; ++i) {
+            starts[i + 1] += starts[i];
+        }
+        @SuppressWarnings("unchecked")
+        Edge<V, E>[] grouped = new Edge[edges.size()];
+        for (Edge<V, E> edge : edges) {
+            int parent = positions[edge.parent.index];
+            grouped[starts[parent]++] = new Edge<>(sorted[parent], sorted[positions[edge.child.index]], edge.parameter);
+        }
+        return new Graph<>(Arrays.asList(sorted), Arrays.asList(grouped));
+    }
+
+    /**
+     * Get count of parent edges of every vertex
+     *
+     * @return array of in-degrees indexed by {@code Vertex.getIndex()}, shared between calls
+     * and should not be modified
+     */
+    public int[] inDegrees() {
+        return memoized(IN_DEGREES, () -> degrees(false));
+    }
+
+    /**
+     * Get count of child edges of every vertex
+     *
+     * @return array of out-degrees indexed by {@code Vertex.getIndex()}, shared between calls
+     * and should not be modified
+     */
+    public int[] outDegrees() {
+        return memoized(OUT_DEGREES, () -> degrees(true));
+    }
+
+    /**
+     * Get policy of keeping results derived from this graph:
+     * {@code hashCode()}, {@code topsort()}, {@code splitEdges()}, {@code inDegrees()} and {@code outDegrees()}
+     *
+     * @return memoization policy
+     */
+    public Memoization getMemoization() {
+        return memoization;
+    }
+
+    /**
+     * Set policy of keeping results derived from this graph. Results already kept are dropped.
+     *
+     * @param memoization memoization policy
+     */
+    public void setMemoization(Memoization memoization) {
+        this.memoization = Objects.requireNonNull(memoization);
+        forget();
+    }
+
+    /**
+     * Reindex vertices and rebuild their parent and child edges, then drop results derived
+     * from this graph. Should be called after vertices or edges lists or their parameters
+     * are mutated, and not concurrently with other calls.
+     *
+     * @return this graph
+     */
+    public Graph<V, E> invalidate() {
+        index();
+        forget();
+        return this;
+    }
+
+    // assign vertices indexes and fill their parent and child edges
+    private void index() {
+        int size = vertices.size();
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] array = vertices.toArray(new Vertex[size]);
+        for (int i = 0; i < size; ++i) {
+            array[i].children = array[i].parents = null;
+            array[i].index = i;
+        }
+        int[] outDegrees = new int[size];
+        int[] inDegrees = new int[size];
+        for (Edge<V, E> edge : edges) {
+            ++outDegrees[edge.parent.index];
+            ++inDegrees[edge.child.index];
+        }
+        for (Edge<V, E> edge : edges) {
+            Vertex<V, E> parent = edge.parent;
+            Vertex<V, E> child = edge.child;
+            if (parent.children == null) parent.children = new ArrayList<>(outDegrees[parent.index]);
+            if (child.parents == null) child.parents = new ArrayList<>(inDegrees[child.index]);
+            parent.children.add(edge);
+            child.parents.add(edge);
+        }
+    }
+
+    private void forget() {
+        hashed = false;
+        for (int i = 0; i < memos.length(); ++i) {
+            memos.set(i, null);
+        }
+    }
+
+    private Graph<V, E> sort() {
         int size = vertices.size();
         AtomicInteger index = new AtomicInteger(size);
         int[] indexes = new int[size];
-        boolean[] added = new boolean[size];
+        // only an edge to a vertex that is still on the stack closes a cycle
+        boolean[] entered = new boolean[size];
         Vertex<V, E> cycleMarker = dfs(
             vertices,
             Vertex::getChildNodes,
             null,
-            v -> (added[v.index] = true) && v.getChildNodes().anyMatch(c -> added[c.index]),
-            v -> (indexes[index.decrementAndGet()] = v.index) < 0, // always false
-            v -> Arrays.fill(added, false)
+            v -> (entered[v.index] = true) && v.getChildNodes().anyMatch(c -> entered[c.index]),
+            v -> (entered[v.index] = false) || (indexes[index.decrementAndGet()] = v.index) < 0, // always false
+            null
         );
         if (cycleMarker != null) return null;
 
@@ -445,34 +660,31 @@ public final class Graph<V, E> implements Cloneable {
     }
 
     /**
-     * Visualize this graph on main desktop. For debugging purposes only, not
-     * for production.
+     * Visualize this graph on main desktop and wait until the window is closed.
+     * For debugging purposes only, not for production.
      *
      * @return this graph
      */
     public Graph<V, E> visualize() {
-        JFrame frame = new JFrame();
-        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
-        frame.setVisible(true);
-        frame.setContentPane(new JPanelRepresentation<V, E>().represent(this));
-        frame.pack();
-        frame.repaint();
-        CountDownLatch latch = new CountDownLatch(1);
-        frame.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent e) {
-                latch.countDown();
-            }
-        });
         try {
-            latch.await();
+            visualizeAsync().await();
         } catch (InterruptedException ex) {
             throw new RuntimeException(ex);
         }
         return this;
     }
 
+    /**
+     * Visualize this graph on main desktop without waiting for the window to be closed.
+     * Layout is calculated in background and the window is refreshed while it's refined.
+     * For debugging purposes only, not for production.
+     *
+     * @return handle of the window
+     */
+    public Visualization visualizeAsync() {
+        return Visualization.show(this, new JPanelRepresentation<>());
+    }
+
     @Override
     @SuppressWarnings("CloneDoesntCallSuperClone")
     public Graph<V, E> clone() {
@@ -508,6 +720,16 @@ public final class Graph<V, E> implements Cloneable {
 
     @Override
     public int hashCode() {
+        if (hashed) return hash;
+        int hash = calculateHashCode();
+        if (memoization != Memoization.NONE) {
+            this.hash = hash;
+            hashed = true;
+        }
+        return hash;
+    }
+
+    private int calculateHashCode() {
         int hash = 5;
         hash = 37 * hash + vertices.size();
         hash = 37 * hash + edges.size();
@@ -647,19 +869,74 @@ public final class Graph<V, E> implements Cloneable {
     }
 
     private List<Graph<V, E>> split(Collection<Vertex<V, E>> starts, Function<Vertex<V, E>, Stream<Vertex<V, E>>> extender) {
-        List<Graph<V, E>> graphs = new ArrayList<>();
-        boolean[] added = new boolean[vertices.size()];
+        int[] labels = new int[vertices.size()];
+        int[] count = new int[1];
         dfs(
             starts,
             extender,
-            node -> Arrays.fill(added, false),
-            node -> !(added[node.index] = true),
-            node -> false,
-            node -> graphs.add(filter(v -> added[v.index]))
+            null,
+            node -> (labels[node.index] = count[0]) < 0, // always false
+            null,
+            node -> ++count[0]
         );
+        return group(labels, count[0]);
+    }
+
+    // copy vertices to graphs by labels, keeping edges that connect vertices with the same label
+    private List<Graph<V, E>> group(int[] labels, int count) {
+        List<List<Vertex<V, E>>> groupVertices = new ArrayList<>(count);
+        List<List<Edge<V, E>>> groupEdges = new ArrayList<>(count);
+        for (int label = 0; label < count; ++label) {
+            groupVertices.add(new ArrayList<>());
+            groupEdges.add(new ArrayList<>());
+        }
+        List<Vertex<V, E>> copy = copyVertices();
+        for (int i = 0; i < labels.length; ++i) {
+            groupVertices.get(labels[i]).add(copy.get(i));
+        }
+        for (Edge<V, E> edge : edges) {
+            int label = labels[edge.parent.index];
+            if (label == labels[edge.child.index]) {
+                groupEdges.get(label).add(new Edge<>(copy.get(edge.parent.index), copy.get(edge.child.index), edge.parameter));
+            }
+        }
+        List<Graph<V, E>> graphs = new ArrayList<>(count);
+        for (int label = 0; label < count; ++label) {
+            graphs.add(new Graph<>(groupVertices.get(label), groupEdges.get(label)));
+        }
         return graphs;
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> T memoized(int slot, Supplier<T> supplier) {
+        Object memo = memos.get(slot);
+        Object value = memo instanceof SoftReference ? ((SoftReference<?>) memo).get() : memo;
+        if (value != null) {
+            return value == NO_RESULT ? null : (T) value;
+        }
+        T result = supplier.get();
+        Object kept = result == null ? NO_RESULT : result;
+        switch (memoization) {
+            case STRONG:
+                memos.set(slot, kept);
+                break;
+            case SOFT:
+                memos.set(slot, new SoftReference<>(kept));
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
+    private int[] degrees(boolean out) {
+        int[] degrees = new int[vertices.size()];
+        for (Edge<V, E> edge : edges) {
+            ++degrees[out ? edge.parent.index : edge.child.index];
+        }
+        return degrees;
+    }
+
     private List<Vertex<V, E>> copyVertices() {
         return vertices().map(v -> new Vertex<V, E>(v.parameter)).collect(Collectors.toList());
     }
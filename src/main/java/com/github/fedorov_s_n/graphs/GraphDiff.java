@@ -0,0 +1,386 @@
+package com.github.fedorov_s_n.graphs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Structural difference between two graphs. Vertices are matched by a key calculated
+ * from their parameters with one hash table, edges are matched by endpoints and then
+ * by parameters with another one, so both calculating and applying the difference take
+ * O(V + E). Keys of vertices are supposed to be unique within a graph.
+ * <p>
+ * Edges between the same pair of vertices are paired with equal parameters first,
+ * the rest of them are reported as changed, added or removed.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public final class GraphDiff<V, E> {
+
+    private final Function<? super V, ?> key;
+    private final List<V> addedVertices;
+    private final List<V> removedVertices;
+    private final List<VertexChange<V>> changedVertices;
+    private final List<EdgeChange<V, E>> addedEdges;
+    private final List<EdgeChange<V, E>> removedEdges;
+    private final List<EdgeChange<V, E>> changedEdges;
+
+    private GraphDiff(Function<? super V, ?> key,
+                      List<V> addedVertices, List<V> removedVertices, List<VertexChange<V>> changedVertices,
+                      List<EdgeChange<V, E>> addedEdges, List<EdgeChange<V, E>> removedEdges,
+                      List<EdgeChange<V, E>> changedEdges) {
+        this.key = key;
+        this.addedVertices = Collections.unmodifiableList(addedVertices);
+        this.removedVertices = Collections.unmodifiableList(removedVertices);
+        this.changedVertices = Collections.unmodifiableList(changedVertices);
+        this.addedEdges = Collections.unmodifiableList(addedEdges);
+        this.removedEdges = Collections.unmodifiableList(removedEdges);
+        this.changedEdges = Collections.unmodifiableList(changedEdges);
+    }
+
+    /**
+     * Calculate difference between graphs matching vertices by their parameters
+     *
+     * @param from old graph
+     * @param to   new graph
+     * @return difference to turn old graph into new one
+     * @throws IllegalArgumentException if keys of vertices are not unique within either graph
+     */
+    public static <V, E> GraphDiff<V, E> of(Graph<V, E> from, Graph<V, E> to) {
+        return of(from, to, Function.identity());
+    }
+
+    /**
+     * Calculate difference between graphs matching vertices by keys
+     *
+     * @param from old graph
+     * @param to   new graph
+     * @param key  function to calculate key of vertex by its parameter; vertices with
+     *             equal keys and different parameters are reported as changed
+     * @return difference to turn old graph into new one
+     * @throws IllegalArgumentException if keys of vertices are not unique within either graph
+     */
+    public static <V, E> GraphDiff<V, E> of(Graph<V, E> from, Graph<V, E> to, Function<? super V, ?> key) {
+        Map<Object, Integer> index = index(from.vertices(), key);
+        // reject duplicate keys of the new graph too, otherwise its second vertex is reported as added
+        index(to.vertices(), key);
+        List<Vertex<V, E>> oldVertices = from.vertices().collect(Collectors.toList());
+        List<Vertex<V, E>> newVertices = to.vertices().collect(Collectors.toList());
+
+        // vertices hash join
+        int[] match = new int[newVertices.size()];
+        boolean[] kept = new boolean[oldVertices.size()];
+        List<V> addedVertices = new ArrayList<>();
+        List<VertexChange<V>> changedVertices = new ArrayList<>();
+        for (int j = 0; j < match.length; ++j) {
+            V parameter = newVertices.get(j).parameter;
+            Integer i = index.get(key.apply(parameter));
+            if (i == null) {
+                match[j] = -1;
+                addedVertices.add(parameter);
+            } else {
+                match[j] = i;
+                kept[i] = true;
+                V old = oldVertices.get(i).parameter;
+                if (!Objects.equals(old, parameter)) changedVertices.add(new VertexChange<>(old, parameter));
+            }
+        }
+        List<V> removedVertices = new ArrayList<>();
+        for (int i = 0; i < kept.length; ++i) {
+            if (!kept[i]) removedVertices.add(oldVertices.get(i).parameter);
+        }
+
+        // edges hash join by endpoints, edges between the same vertices are chained
+        List<Edge<V, E>> oldEdges = from.edges().collect(Collectors.toList());
+        List<Edge<V, E>> newEdges = to.edges().collect(Collectors.toList());
+        PairTable table = new PairTable(oldEdges.size());
+        int[] chain = new int[oldEdges.size()];
+        for (int i = oldEdges.size() - 1; i >= 0; --i) {
+            Edge<V, E> edge = oldEdges.get(i);
+            chain[i] = table.put(edge.parent.index, edge.child.index, i);
+        }
+        boolean[] used = new boolean[oldEdges.size()];
+        boolean[] paired = new boolean[newEdges.size()];
+        for (int j = 0; j < newEdges.size(); ++j) {
+            Edge<V, E> edge = newEdges.get(j);
+            int parent = match[edge.parent.index];
+            int child = match[edge.child.index];
+            if (parent < 0 || child < 0) continue;
+            for (int i = table.get(parent, child); i >= 0; i = chain[i]) {
+                if (!used[i] && Objects.equals(oldEdges.get(i).parameter, edge.parameter)) {
+                    used[i] = paired[j] = true;
+                    break;
+                }
+            }
+        }
+        List<EdgeChange<V, E>> addedEdges = new ArrayList<>();
+        List<EdgeChange<V, E>> changedEdges = new ArrayList<>();
+        for (int j = 0; j < newEdges.size(); ++j) {
+            if (paired[j]) continue;
+            Edge<V, E> edge = newEdges.get(j);
+            int parent = match[edge.parent.index];
+            int child = match[edge.child.index];
+            int i = parent < 0 || child < 0 ? -1 : table.get(parent, child);
+            while (i >= 0 && used[i]) {
+                i = chain[i];
+            }
+            if (i < 0) {
+                addedEdges.add(new EdgeChange<>(edge.parent.parameter, edge.child.parameter, null, edge.parameter));
+            } else {
+                used[i] = true;
+                Edge<V, E> old = oldEdges.get(i);
+                changedEdges.add(new EdgeChange<>(old.parent.parameter, old.child.parameter, old.parameter, edge.parameter));
+            }
+        }
+        List<EdgeChange<V, E>> removedEdges = new ArrayList<>();
+        for (int i = 0; i < used.length; ++i) {
+            if (!used[i]) {
+                Edge<V, E> old = oldEdges.get(i);
+                removedEdges.add(new EdgeChange<>(old.parent.parameter, old.child.parameter, old.parameter, null));
+            }
+        }
+        return new GraphDiff<>(key, addedVertices, removedVertices, changedVertices, addedEdges, removedEdges, changedEdges);
+    }
+
+    /**
+     * Apply this difference to a graph. Unchanged vertices and edges are copied in one
+     * pass without lookups, only endpoints of changed edges are looked up.
+     * Vertices and edges of the result are new objects; removed vertices are left out
+     * with their edges, added ones are appended to the end.
+     *
+     * @param graph graph to patch, usually the old graph this difference was calculated for
+     * @return patched graph
+     * @throws IllegalArgumentException if removed or changed vertices or edges are not found in graph
+     */
+    public Graph<V, E> apply(Graph<V, E> graph) {
+        Map<Object, Integer> index = index(graph.vertices(), key);
+        List<Vertex<V, E>> vertices = graph.vertices().collect(Collectors.toList());
+        int n = vertices.size();
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] copies = new Vertex[n];
+        for (int i = 0; i < n; ++i) {
+            copies[i] = new Vertex<>(vertices.get(i).parameter);
+        }
+        for (V parameter : removedVertices) {
+            copies[find(index, parameter)] = null;
+        }
+        for (VertexChange<V> change : changedVertices) {
+            Vertex<V, E> copy = copies[find(index, change.before)];
+            if (copy == null) {
+                throw new IllegalArgumentException("Vertex " + change.before + " is both removed and changed");
+            }
+            copy.parameter = change.after;
+        }
+        List<Vertex<V, E>> result = new ArrayList<>(n - removedVertices.size() + addedVertices.size());
+        for (Vertex<V, E> copy : copies) {
+            if (copy != null) result.add(copy);
+        }
+        Map<Object, Vertex<V, E>> added = new HashMap<>();
+        for (V parameter : addedVertices) {
+            Vertex<V, E> vertex = new Vertex<>(parameter);
+            added.put(key.apply(parameter), vertex);
+            result.add(vertex);
+        }
+
+        // removed and changed edges are looked up only for parents they start from
+        int count = removedEdges.size() + changedEdges.size();
+        PairTable table = new PairTable(count);
+        int[] chain = new int[count];
+        boolean[] touched = new boolean[n];
+        for (int k = 0; k < count; ++k) {
+            EdgeChange<V, E> change = k < removedEdges.size() ? removedEdges.get(k) : changedEdges.get(k - removedEdges.size());
+            int parent = find(index, change.parent);
+            touched[parent] = true;
+            chain[k] = table.put(parent, find(index, change.child), k);
+        }
+        boolean[] done = new boolean[count];
+        List<Edge<V, E>> edges = new ArrayList<>(graph.edgesCount() - removedEdges.size() + addedEdges.size());
+        for (Edge<V, E> edge : (Iterable<Edge<V, E>>) graph.edges()::iterator) {
+            int parent = edge.parent.index;
+            int child = edge.child.index;
+            E parameter = edge.parameter;
+            boolean removed = false;
+            if (touched[parent]) {
+                for (int k = table.get(parent, child); k >= 0; k = chain[k]) {
+                    if (done[k]) continue;
+                    boolean isRemoval = k < removedEdges.size();
+                    EdgeChange<V, E> change = isRemoval ? removedEdges.get(k) : changedEdges.get(k - removedEdges.size());
+                    if (Objects.equals(change.before, parameter)) {
+                        done[k] = true;
+                        removed = isRemoval;
+                        parameter = change.after;
+                        break;
+                    }
+                }
+            }
+            if (!removed && copies[parent] != null && copies[child] != null) {
+                edges.add(new Edge<>(copies[parent], copies[child], parameter));
+            }
+        }
+        for (int k = 0; k < count; ++k) {
+            if (!done[k]) {
+                EdgeChange<V, E> change = k < removedEdges.size() ? removedEdges.get(k) : changedEdges.get(k - removedEdges.size());
+                throw new IllegalArgumentException("Edge " + change + " is not found");
+            }
+        }
+        for (EdgeChange<V, E> change : addedEdges) {
+            edges.add(new Edge<>(endpoint(change.parent, index, copies, added), endpoint(change.child, index, copies, added), change.after));
+        }
+        return new Graph<>(result, edges);
+    }
+
+    /**
+     * Check if graphs this difference was calculated for are equal up to order of
+     * vertices and edges
+     *
+     * @return true if there are no changes
+     */
+    public boolean isEmpty() {
+        return addedVertices.isEmpty() && removedVertices.isEmpty() && changedVertices.isEmpty()
+            && addedEdges.isEmpty() && removedEdges.isEmpty() && changedEdges.isEmpty();
+    }
+
+    public List<V> getAddedVertices() {
+        return addedVertices;
+    }
+
+    public List<V> getRemovedVertices() {
+        return removedVertices;
+    }
+
+    public List<VertexChange<V>> getChangedVertices() {
+        return changedVertices;
+    }
+
+    /**
+     * Get added edges, their parameters are returned by {@code getAfter()}
+     *
+     * @return added edges
+     */
+    public List<EdgeChange<V, E>> getAddedEdges() {
+        return addedEdges;
+    }
+
+    /**
+     * Get removed edges, their parameters are returned by {@code getBefore()}
+     *
+     * @return removed edges
+     */
+    public List<EdgeChange<V, E>> getRemovedEdges() {
+        return removedEdges;
+    }
+
+    public List<EdgeChange<V, E>> getChangedEdges() {
+        return changedEdges;
+    }
+
+    private Integer findOrNull(Map<Object, Integer> index, V parameter) {
+        return index.get(key.apply(parameter));
+    }
+
+    private int find(Map<Object, Integer> index, V parameter) {
+        Integer i = findOrNull(index, parameter);
+        if (i == null) {
+            throw new IllegalArgumentException("Vertex " + parameter + " is not found");
+        }
+        return i;
+    }
+
+    private Vertex<V, E> endpoint(V parameter, Map<Object, Integer> index, Vertex<V, E>[] copies, Map<Object, Vertex<V, E>> added) {
+        Integer i = findOrNull(index, parameter);
+        Vertex<V, E> vertex = i == null ? null : copies[i];
+        if (vertex == null) vertex = added.get(key.apply(parameter));
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex " + parameter + " is not found");
+        }
+        return vertex;
+    }
+
+    private static <V> Map<Object, Integer> index(Stream<? extends Vertex<V, ?>> vertices, Function<? super V, ?> key) {
+        Map<Object, Integer> index = new HashMap<>();
+        vertices.forEach(v -> {
+            if (index.putIfAbsent(key.apply(v.parameter), v.index) != null) {
+                throw new IllegalArgumentException("Duplicate key of vertex " + v.parameter);
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Change of vertex parameter that keeps its key
+     *
+     * @param <V> type of vertices parameters
+     */
+    public static final class VertexChange<V> {
+
+        private final V before;
+        private final V after;
+
+        VertexChange(V before, V after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        public V getBefore() {
+            return before;
+        }
+
+        public V getAfter() {
+            return after;
+        }
+
+        @Override
+        public String toString() {
+            return before + " => " + after;
+        }
+    }
+
+    /**
+     * Added, removed or changed edge identified by parameters of its endpoints
+     *
+     * @param <V> type of vertices parameters
+     * @param <E> type of edges parameters
+     */
+    public static final class EdgeChange<V, E> {
+
+        private final V parent;
+        private final V child;
+        private final E before;
+        private final E after;
+
+        EdgeChange(V parent, V child, E before, E after) {
+            this.parent = parent;
+            this.child = child;
+            this.before = before;
+            this.after = after;
+        }
+
+        public V getParent() {
+            return parent;
+        }
+
+        public V getChild() {
+            return child;
+        }
+
+        public E getBefore() {
+            return before;
+        }
+
+        public E getAfter() {
+            return after;
+        }
+
+        @Override
+        public String toString() {
+            return parent + " -> " + child + " (" + before + " => " + after + ")";
+        }
+    }
+}
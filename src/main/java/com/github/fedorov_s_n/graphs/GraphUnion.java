@@ -0,0 +1,150 @@
+package com.github.fedorov_s_n.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Union of many graphs on vertex parameters. Every vertex is identified by its graph
+ * and its index there; one concurrent hash table maps every parameter to the first
+ * vertex having it, so vertices of the union keep the order of their first appearance.
+ * Graphs are resolved against the table in parallel, then every graph copies its own
+ * vertices and edges to precalculated ranges of the result arrays.
+ */
+final class GraphUnion {
+
+    private static final Object NULL = new Object();
+
+    private GraphUnion() {
+    }
+
+    static <V, E> Graph<V, E> union(Collection<Graph<V, E>> graphs, BiFunction<E, E, E> reducer) {
+        List<Graph<V, E>> shards = new ArrayList<>(graphs);
+        int k = shards.size();
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[][] shardVertices = new Vertex[k][];
+        @SuppressWarnings("unchecked")
+        Edge<V, E>[][] shardEdges = new Edge[k][];
+        int total = 0;
+        for (int g = 0; g < k; ++g) {
+            Graph<V, E> graph = shards.get(g);
+            @SuppressWarnings("unchecked")
+            Vertex<V, E>[] vertices = graph.vertices().toArray(Vertex[]::new);
+            @SuppressWarnings("unchecked")
+            Edge<V, E>[] edges = graph.edges().toArray(Edge[]::new);
+            shardVertices[g] = vertices;
+            shardEdges[g] = edges;
+            total += shardVertices[g].length;
+        }
+
+        // the first vertex with a parameter owns it
+        ConcurrentHashMap<Object, Long> owners = new ConcurrentHashMap<>(Math.max(16, total));
+        IntStream.range(0, k).parallel().forEach(g -> {
+            Vertex<V, E>[] vertices = shardVertices[g];
+            for (int v = 0; v < vertices.length; ++v) {
+                owners.merge(key(vertices[v]), token(g, v), Math::min);
+            }
+        });
+        long[][] ownerOf = new long[k][];
+        int[] offsets = new int[k + 1];
+        IntStream.range(0, k).parallel().forEach(g -> {
+            Vertex<V, E>[] vertices = shardVertices[g];
+            long[] owner = ownerOf[g] = new long[vertices.length];
+            int owned = 0;
+            for (int v = 0; v < vertices.length; ++v) {
+                owner[v] = owners.get(key(vertices[v]));
+                if (owner[v] == token(g, v)) ++owned;
+            }
+            offsets[g + 1] = owned;
+        });
+        for (int g = 0; g < k; ++g) {
+            offsets[g + 1] += offsets[g];
+        }
+
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] vertices = new Vertex[offsets[k]];
+        int[][] translation = new int[k][];
+        IntStream.range(0, k).parallel().forEach(g -> {
+            long[] owner = ownerOf[g];
+            int[] global = translation[g] = new int[owner.length];
+            int next = offsets[g];
+            for (int v = 0; v < owner.length; ++v) {
+                if (owner[v] == token(g, v)) {
+                    vertices[next] = new Vertex<>(shardVertices[g][v].parameter);
+                    global[v] = next++;
+                }
+            }
+        });
+        IntStream.range(0, k).parallel().forEach(g -> {
+            long[] owner = ownerOf[g];
+            int[] global = translation[g];
+            for (int v = 0; v < owner.length; ++v) {
+                if (owner[v] != token(g, v)) {
+                    global[v] = translation[(int) (owner[v] >>> 32)][(int) owner[v]];
+                }
+            }
+        });
+
+        int[] edgeOffsets = new int[k + 1];
+        for (int g = 0; g < k; ++g) {
+            edgeOffsets[g + 1] = edgeOffsets[g] + shardEdges[g].length;
+        }
+        int[] parents = new int[edgeOffsets[k]];
+        int[] children = new int[edgeOffsets[k]];
+        Object[] parameters = new Object[edgeOffsets[k]];
+        IntStream.range(0, k).parallel().forEach(g -> {
+            int[] global = translation[g];
+            int next = edgeOffsets[g];
+            for (Edge<V, E> edge : shardEdges[g]) {
+                parents[next] = global[edge.parent.index];
+                children[next] = global[edge.child.index];
+                parameters[next++] = edge.parameter;
+            }
+        });
+        int count = reducer == null ? parameters.length : reduce(parents, children, parameters, reducer);
+        @SuppressWarnings("unchecked")
+        Edge<V, E>[] edges = new Edge[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            @SuppressWarnings("unchecked")
+            E parameter = (E) parameters[i];
+            edges[i] = new Edge<>(vertices[parents[i]], vertices[children[i]], parameter);
+        });
+        return new Graph<>(Arrays.asList(vertices), Arrays.asList(edges));
+    }
+
+    /**
+     * Merge parameters of edges with the same endpoints into the first of them,
+     * moving distinct edges to the beginning of arrays
+     *
+     * @return count of distinct edges
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> int reduce(int[] parents, int[] children, Object[] parameters, BiFunction<E, E, E> reducer) {
+        PairTable table = new PairTable(parameters.length);
+        int count = 0;
+        for (int i = 0; i < parameters.length; ++i) {
+            int first = table.get(parents[i], children[i]);
+            if (first < 0) {
+                table.put(parents[i], children[i], count);
+                parents[count] = parents[i];
+                children[count] = children[i];
+                parameters[count++] = parameters[i];
+            } else {
+                parameters[first] = reducer.apply((E) parameters[first], (E) parameters[i]);
+            }
+        }
+        return count;
+    }
+
+    private static Object key(Vertex<?, ?> vertex) {
+        return vertex.parameter == null ? NULL : vertex.parameter;
+    }
+
+    private static long token(int graph, int vertex) {
+        return ((long) graph << 32) | vertex;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.fedorov_s_n.graphs;
+
+/**
+ * Policy of keeping results derived from a {@link Graph}
+ */
+public enum Memoization {
+
+    /**
+     * Derived results are calculated on every call
+     */
+    NONE,
+
+    /**
+     * Derived results are kept until the graph is collected or invalidated
+     */
+    STRONG,
+
+    /**
+     * Derived results are kept until the graph is collected or invalidated
+     * or the garbage collector needs memory
+     */
+    SOFT
+}
@@ -0,0 +1,53 @@
+package com.github.fedorov_s_n.graphs;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table from pairs of vertex indexes to the last item put for them
+ */
+final class PairTable {
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    PairTable(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+        keys = new long[size];
+        values = new int[size];
+        mask = size - 1;
+        Arrays.fill(values, -1);
+    }
+
+    /**
+     * Put item for a pair
+     *
+     * @return item previously put for the pair or -1
+     */
+    int put(int parent, int child, int value) {
+        long key = ((long) parent << 32) | (child & 0xFFFFFFFFL);
+        int slot = slot(key);
+        while (values[slot] >= 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        int previous = values[slot];
+        keys[slot] = key;
+        values[slot] = value;
+        return previous;
+    }
+
+    int get(int parent, int child) {
+        long key = ((long) parent << 32) | (child & 0xFFFFFFFFL);
+        int slot = slot(key);
+        while (values[slot] >= 0) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
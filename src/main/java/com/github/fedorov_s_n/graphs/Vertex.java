@@ -97,4 +97,13 @@ public final class Vertex<V, E> {
     public V getParameter() {
         return parameter;
     }
+
+    /**
+     * Get position of this vertex in {@code vertices()} of the graph it belongs to
+     *
+     * @return this vertex index
+     */
+    public int getIndex() {
+        return index;
+    }
 }
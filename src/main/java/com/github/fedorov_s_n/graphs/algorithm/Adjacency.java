@@ -0,0 +1,114 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Adjacency of graph vertices in compressed sparse row form. Neighbours of vertex
+ * {@code v} are {@code targets[offsets[v]..offsets[v + 1]-1]}, and {@code edges}
+ * holds position of the corresponding edge in {@code Graph.edges()} order.
+ */
+final class Adjacency {
+
+    final int[] offsets;
+    final int[] targets;
+    final int[] edges;
+
+    private Adjacency(int[] offsets, int[] targets, int[] edges) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.edges = edges;
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Sort vertices topologically with Kahn algorithm, this adjacency is supposed to be of children
+     *
+     * @return vertices in topological order or null if there is a cycle
+     */
+    int[] topologicalOrder() {
+        int n = size();
+        int[] inDegrees = new int[n];
+        for (int target : targets) {
+            ++inDegrees[target];
+        }
+        int[] sorted = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; ++v) {
+            if (inDegrees[v] == 0) sorted[tail++] = v;
+        }
+        for (int head = 0; head < tail; ++head) {
+            int v = sorted[head];
+            for (int j = offsets[v]; j < offsets[v + 1]; ++j) {
+                if (--inDegrees[targets[j]] == 0) sorted[tail++] = targets[j];
+            }
+        }
+        return tail == n ? sorted : null;
+    }
+
+    /**
+     * Get parent and child indexes of all edges in {@code Graph.edges()} order
+     *
+     * @return two arrays, parents and children
+     */
+    static int[][] endpoints(Graph<?, ?> graph) {
+        int m = graph.edgesCount();
+        int[] parents = new int[m];
+        int[] children = new int[m];
+        Iterator<? extends Edge<?, ?>> iterator = graph.edges().iterator();
+        for (int i = 0; i < m; ++i) {
+            Edge<?, ?> edge = iterator.next();
+            parents[i] = edge.getParent().getIndex();
+            children[i] = edge.getChild().getIndex();
+        }
+        return new int[][]{parents, children};
+    }
+
+    /**
+     * Group edges by one of endpoints
+     *
+     * @param n       count of vertices
+     * @param sources endpoint edges are grouped by
+     * @param targets other endpoint
+     * @return adjacency of sources
+     */
+    static Adjacency of(int n, int[] sources, int[] targets) {
+        int m = sources.length;
+        int[] offsets = new int[n + 1];
+        for (int source : sources) {
+            ++offsets[source + 1];
+        }
+        for (int v = 0; v < n; ++v) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] sorted = new int[m];
+        int[] edges = new int[m];
+        for (int i = 0; i < m; ++i) {
+            int position = fill[sources[i]]++;
+            sorted[position] = targets[i];
+            edges[position] = i;
+        }
+        return new Adjacency(offsets, sorted, edges);
+    }
+
+    static Adjacency children(Graph<?, ?> graph) {
+        int[][] endpoints = endpoints(graph);
+        return of(graph.verticesCount(), endpoints[0], endpoints[1]);
+    }
+
+    static Adjacency parents(Graph<?, ?> graph) {
+        int[][] endpoints = endpoints(graph);
+        return of(graph.verticesCount(), endpoints[1], endpoints[0]);
+    }
+}
@@ -0,0 +1,255 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Point-to-point path search that explores children of the source and parents of
+ * the target at the same time until the two searches meet. Per-vertex state is kept
+ * in arrays stamped with the number of the query, so arrays are allocated once per
+ * instance and every query touches only vertices it explores.
+ * <p>
+ * Instance is not thread safe, use one instance per thread for concurrent queries.
+ * Vertices passed to queries should belong to the graph the instance was created for.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class BidirectionalSearch<V, E> {
+
+    private final Side forward;
+    private final Side backward;
+    private int epoch;
+
+    /**
+     * Create search over a graph
+     *
+     * @param graph graph to search paths in
+     */
+    public BidirectionalSearch(Graph<V, E> graph) {
+        int n = graph.verticesCount();
+        this.forward = new Side(n, true);
+        this.backward = new Side(n, false);
+    }
+
+    /**
+     * Check if there is a directed path between vertices
+     *
+     * @param source first vertex of path
+     * @param target last vertex of path
+     * @return true if target is reachable from source
+     */
+    public boolean hasPath(Vertex<V, E> source, Vertex<V, E> target) {
+        return shortestPath(source, target) != null;
+    }
+
+    /**
+     * Find path with the least count of edges with breadth-first search from both ends.
+     * The smaller frontier is expanded by a whole level on every step.
+     *
+     * @param source first vertex of path
+     * @param target last vertex of path
+     * @return edges of path from source to target, empty if they are the same vertex,
+     * null if there is no path
+     */
+    public List<Edge<V, E>> shortestPath(Vertex<V, E> source, Vertex<V, E> target) {
+        if (source == target) return Collections.emptyList();
+        start(source, target);
+        List<Vertex<V, E>> forwardFrontier = new ArrayList<>();
+        List<Vertex<V, E>> backwardFrontier = new ArrayList<>();
+        forwardFrontier.add(source);
+        backwardFrontier.add(target);
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            boolean isForward = forwardFrontier.size() <= backwardFrontier.size();
+            Side side = isForward ? forward : backward;
+            Side other = isForward ? backward : forward;
+            List<Vertex<V, E>> frontier = isForward ? forwardFrontier : backwardFrontier;
+            List<Vertex<V, E>> next = new ArrayList<>();
+            for (Vertex<V, E> vertex : frontier) {
+                for (Edge<V, E> edge : side.edges(vertex)) {
+                    Vertex<V, E> neighbour = side.next(edge);
+                    int index = neighbour.getIndex();
+                    if (side.reached[index] == epoch) continue;
+                    side.reach(index, edge, 0);
+                    if (other.reached[index] == epoch) {
+                        // whole levels are expanded, so the first meeting is on a shortest path
+                        return path(neighbour);
+                    }
+                    next.add(neighbour);
+                }
+            }
+            if (isForward) {
+                forwardFrontier = next;
+            } else {
+                backwardFrontier = next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find path with the least total weight with Dijkstra algorithm from both ends.
+     * Search stops when sum of distances at the tops of both queues is not less
+     * than the best path found so far.
+     *
+     * @param source first vertex of path
+     * @param target last vertex of path
+     * @param weight function to calculate non-negative weight of edge by its parameter
+     * @return edges of path from source to target, empty if they are the same vertex,
+     * null if there is no path
+     */
+    public List<Edge<V, E>> shortestPath(Vertex<V, E> source, Vertex<V, E> target, ToDoubleFunction<E> weight) {
+        if (source == target) return Collections.emptyList();
+        start(source, target);
+        forward.push(0, source);
+        backward.push(0, target);
+        double best = Double.POSITIVE_INFINITY;
+        Vertex<V, E> meeting = null;
+        while (forward.size > 0 && backward.size > 0 && forward.keys[0] + backward.keys[0] < best) {
+            boolean isForward = forward.size <= backward.size;
+            Side side = isForward ? forward : backward;
+            Side other = isForward ? backward : forward;
+            double distance = side.keys[0];
+            Vertex<V, E> vertex = side.pop();
+            int index = vertex.getIndex();
+            if (side.settled[index] == epoch || distance > side.distance[index]) continue;
+            side.settled[index] = epoch;
+            for (Edge<V, E> edge : side.edges(vertex)) {
+                double length = weight.applyAsDouble(edge.getParameter());
+                if (length < 0) {
+                    throw new IllegalArgumentException("Negative weight " + length + " of edge " + edge);
+                }
+                Vertex<V, E> neighbour = side.next(edge);
+                int next = neighbour.getIndex();
+                double candidate = distance + length;
+                if (side.settled[next] == epoch
+                    || side.reached[next] == epoch && side.distance[next] <= candidate) continue;
+                side.reach(next, edge, candidate);
+                side.push(candidate, neighbour);
+                if (other.reached[next] == epoch && candidate + other.distance[next] < best) {
+                    best = candidate + other.distance[next];
+                    meeting = neighbour;
+                }
+            }
+        }
+        return meeting == null ? null : path(meeting);
+    }
+
+    private void start(Vertex<V, E> source, Vertex<V, E> target) {
+        if (epoch == Integer.MAX_VALUE) {
+            forward.reset();
+            backward.reset();
+            epoch = 0;
+        }
+        ++epoch;
+        forward.size = 0;
+        backward.size = 0;
+        forward.reach(source.getIndex(), null, 0);
+        backward.reach(target.getIndex(), null, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Edge<V, E>> path(Vertex<V, E> meeting) {
+        ArrayList<Edge<V, E>> path = new ArrayList<>();
+        for (Edge<V, E> edge = (Edge<V, E>) forward.via[meeting.getIndex()]; edge != null;
+             edge = (Edge<V, E>) forward.via[edge.getParent().getIndex()]) {
+            path.add(edge);
+        }
+        Collections.reverse(path);
+        for (Edge<V, E> edge = (Edge<V, E>) backward.via[meeting.getIndex()]; edge != null;
+             edge = (Edge<V, E>) backward.via[edge.getChild().getIndex()]) {
+            path.add(edge);
+        }
+        return path;
+    }
+
+    /**
+     * State of search in one direction: stamped marks, distances, edges vertices
+     * were reached by and a binary heap with lazy deletion for Dijkstra algorithm
+     */
+    private final class Side {
+
+        private final boolean isForward;
+        private final int[] reached;
+        private final int[] settled;
+        private final double[] distance;
+        private final Object[] via;
+        private double[] keys = new double[16];
+        private Object[] items = new Object[16];
+        private int size;
+
+        Side(int n, boolean isForward) {
+            this.isForward = isForward;
+            this.reached = new int[n];
+            this.settled = new int[n];
+            this.distance = new double[n];
+            this.via = new Object[n];
+        }
+
+        Iterable<Edge<V, E>> edges(Vertex<V, E> vertex) {
+            return (isForward ? vertex.getChildEdges() : vertex.getParentEdges())::iterator;
+        }
+
+        Vertex<V, E> next(Edge<V, E> edge) {
+            return isForward ? edge.getChild() : edge.getParent();
+        }
+
+        void reach(int index, Edge<V, E> edge, double value) {
+            reached[index] = epoch;
+            via[index] = edge;
+            distance[index] = value;
+        }
+
+        void reset() {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+        }
+
+        void push(double key, Vertex<V, E> item) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                items = Arrays.copyOf(items, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                keys[i] = keys[parent];
+                items[i] = items[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            items[i] = item;
+        }
+
+        @SuppressWarnings("unchecked")
+        Vertex<V, E> pop() {
+            Vertex<V, E> top = (Vertex<V, E>) items[0];
+            double key = keys[--size];
+            Object item = items[size];
+            items[size] = null;
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && keys[child + 1] < keys[child]) ++child;
+                if (key <= keys[child]) break;
+                keys[i] = keys[child];
+                items[i] = items[child];
+                i = child;
+            }
+            if (size > 0) {
+                keys[i] = key;
+                items[i] = item;
+            }
+            return top;
+        }
+    }
+}
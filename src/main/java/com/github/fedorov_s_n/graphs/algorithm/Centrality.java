@@ -0,0 +1,322 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Vertex centrality measures. Adjacency is copied to primitive arrays once per call,
+ * iterations pull values along parent edges and run in parallel over ranges of vertices.
+ * Iterative measures stop when L1 norm of the change gets below {@code tolerance}
+ * or after {@code maxIterations}. All results are indexed by {@code Vertex.getIndex()}.
+ */
+public class Centrality {
+
+    private static final int BLOCK = 4096;
+
+    private double damping = 0.85;
+    private double tolerance = 1e-9;
+    private int maxIterations = 100;
+
+    /**
+     * Calculate PageRank of vertices. Rank of vertices without children is spread
+     * over all vertices.
+     *
+     * @param graph graph to rank
+     * @return ranks summing to 1
+     */
+    public double[] pageRank(Graph<?, ?> graph) {
+        return personalizedPageRank(graph, (double[]) null, null);
+    }
+
+    /**
+     * Calculate PageRank of vertices with edges weighted by their parameters.
+     * Rank of a vertex is split between its children proportionally to edges weights.
+     *
+     * @param graph  graph to rank
+     * @param weight function to calculate non-negative weight of edge by its parameter
+     * @return ranks summing to 1
+     */
+    public <E> double[] pageRank(Graph<?, E> graph, ToDoubleFunction<E> weight) {
+        return personalizedPageRank(graph, (double[]) null, weight);
+    }
+
+    /**
+     * Calculate PageRank of vertices with random jumps to source vertices only
+     *
+     * @param graph   graph to rank
+     * @param sources vertices random walk restarts from
+     * @return ranks summing to 1
+     */
+    public <V, E> double[] personalizedPageRank(Graph<V, E> graph, Collection<Vertex<V, E>> sources) {
+        double[] personalization = new double[graph.verticesCount()];
+        for (Vertex<V, E> source : sources) {
+            personalization[source.getIndex()] = 1;
+        }
+        return personalizedPageRank(graph, personalization, null);
+    }
+
+    /**
+     * Calculate PageRank of vertices with random jumps distributed by personalization
+     * vector. Rank of vertices without children is spread by the same vector.
+     *
+     * @param graph           graph to rank
+     * @param personalization non-negative jump probabilities indexed by vertex index,
+     *                        normalized to sum of 1; null for uniform distribution
+     * @param weight          function to calculate non-negative weight of edge by its parameter,
+     *                        null for unweighted edges
+     * @return ranks summing to 1
+     */
+    public <E> double[] personalizedPageRank(Graph<?, E> graph, double[] personalization, ToDoubleFunction<E> weight) {
+        int n = graph.verticesCount();
+        if (n == 0) return new double[0];
+        double[] teleport = personalization == null ? null : normalize(personalization, n);
+        int[][] endpoints = Adjacency.endpoints(graph);
+        Adjacency parents = Adjacency.of(n, endpoints[1], endpoints[0]);
+        double[] weights = null;
+        double[] outWeights = new double[n];
+        if (weight == null) {
+            for (int parent : endpoints[0]) {
+                outWeights[parent] += 1;
+            }
+        } else {
+            weights = graph.edges().mapToDouble(e -> weight.applyAsDouble(e.getParameter())).toArray();
+            for (int i = 0; i < weights.length; ++i) {
+                if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+                    throw new IllegalArgumentException("Edge weight should be non-negative, got " + weights[i]);
+                }
+                outWeights[endpoints[0][i]] += weights[i];
+            }
+        }
+        return pageRank(parents, outWeights, weights, teleport);
+    }
+
+    /**
+     * Calculate hub and authority scores of vertices with HITS algorithm
+     *
+     * @param graph graph to rank
+     * @return hub and authority scores, each normalized to unit length
+     */
+    public Hits hits(Graph<?, ?> graph) {
+        int n = graph.verticesCount();
+        int[][] endpoints = Adjacency.endpoints(graph);
+        Adjacency parents = Adjacency.of(n, endpoints[1], endpoints[0]);
+        Adjacency children = Adjacency.of(n, endpoints[0], endpoints[1]);
+        double[] hubs = new double[n];
+        double[] authorities = new double[n];
+        double[] nextHubs = new double[n];
+        double[] nextAuthorities = new double[n];
+        Arrays.fill(hubs, 1 / Math.sqrt(n));
+        Arrays.fill(authorities, 1 / Math.sqrt(n));
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            double[] h = hubs;
+            double[] a = authorities;
+            double[] nh = nextHubs;
+            double[] na = nextAuthorities;
+            double authorityNorm = Math.sqrt(blocks(n, (from, to) -> {
+                double sum = 0;
+                for (int v = from; v < to; ++v) {
+                    na[v] = gather(parents, v, h, null);
+                    sum += na[v] * na[v];
+                }
+                return sum;
+            }));
+            double hubNorm = Math.sqrt(blocks(n, (from, to) -> {
+                double sum = 0;
+                for (int v = from; v < to; ++v) {
+                    nh[v] = gather(children, v, na, null);
+                    sum += nh[v] * nh[v];
+                }
+                return sum;
+            }));
+            double change = blocks(n, (from, to) -> {
+                double sum = 0;
+                for (int v = from; v < to; ++v) {
+                    na[v] = authorityNorm == 0 ? 0 : na[v] / authorityNorm;
+                    nh[v] = hubNorm == 0 ? 0 : nh[v] / hubNorm;
+                    sum += Math.abs(na[v] - a[v]) + Math.abs(nh[v] - h[v]);
+                }
+                return sum;
+            });
+            nextHubs = hubs;
+            nextAuthorities = authorities;
+            hubs = nh;
+            authorities = na;
+            if (change < tolerance) break;
+        }
+        return new Hits(hubs, authorities);
+    }
+
+    /**
+     * Calculate in-degree centrality: count of parent edges divided by {@code n - 1}
+     *
+     * @param graph graph to rank
+     * @return normalized in-degrees
+     */
+    public double[] inDegree(Graph<?, ?> graph) {
+        return degree(graph, Adjacency.endpoints(graph)[1]);
+    }
+
+    /**
+     * Calculate out-degree centrality: count of child edges divided by {@code n - 1}
+     *
+     * @param graph graph to rank
+     * @return normalized out-degrees
+     */
+    public double[] outDegree(Graph<?, ?> graph) {
+        return degree(graph, Adjacency.endpoints(graph)[0]);
+    }
+
+    public double getDamping() {
+        return damping;
+    }
+
+    public void setDamping(double damping) {
+        this.damping = damping;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Hub and authority scores calculated by {@link #hits(Graph)}
+     */
+    public static final class Hits {
+
+        private final double[] hubs;
+        private final double[] authorities;
+
+        Hits(double[] hubs, double[] authorities) {
+            this.hubs = hubs;
+            this.authorities = authorities;
+        }
+
+        public double[] getHubs() {
+            return hubs;
+        }
+
+        public double[] getAuthorities() {
+            return authorities;
+        }
+    }
+
+    private double[] pageRank(Adjacency parents, double[] outWeights, double[] weights, double[] teleport) {
+        int n = parents.size();
+        double uniform = 1.0 / n;
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        double[] contributions = new double[n];
+        for (int v = 0; v < n; ++v) {
+            rank[v] = teleport == null ? uniform : teleport[v];
+        }
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            double[] current = rank;
+            double[] updated = next;
+            double dangling = blocks(n, (from, to) -> {
+                double sum = 0;
+                for (int v = from; v < to; ++v) {
+                    if (outWeights[v] == 0) {
+                        contributions[v] = 0;
+                        sum += current[v];
+                    } else {
+                        contributions[v] = current[v] / outWeights[v];
+                    }
+                }
+                return sum;
+            });
+            double change = blocks(n, (from, to) -> {
+                double sum = 0;
+                for (int v = from; v < to; ++v) {
+                    double jump = teleport == null ? uniform : teleport[v];
+                    updated[v] = (1 - damping) * jump + damping * (gather(parents, v, contributions, weights) + dangling * jump);
+                    sum += Math.abs(updated[v] - current[v]);
+                }
+                return sum;
+            });
+            next = rank;
+            rank = updated;
+            if (change < tolerance) break;
+        }
+        return rank;
+    }
+
+    private static double gather(Adjacency adjacency, int vertex, double[] values, double[] weights) {
+        double sum = 0;
+        int to = adjacency.offsets[vertex + 1];
+        if (weights == null) {
+            for (int j = adjacency.offsets[vertex]; j < to; ++j) {
+                sum += values[adjacency.targets[j]];
+            }
+        } else {
+            for (int j = adjacency.offsets[vertex]; j < to; ++j) {
+                sum += values[adjacency.targets[j]] * weights[adjacency.edges[j]];
+            }
+        }
+        return sum;
+    }
+
+    private static double[] normalize(double[] personalization, int n) {
+        if (personalization.length != n) {
+            throw new IllegalArgumentException("Personalization vector is calculated for another graph");
+        }
+        double sum = 0;
+        for (double value : personalization) {
+            if (!(value >= 0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("Personalization should be non-negative, got " + value);
+            }
+            sum += value;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Personalization vector is zero");
+        }
+        double[] normalized = new double[n];
+        for (int v = 0; v < n; ++v) {
+            normalized[v] = personalization[v] / sum;
+        }
+        return normalized;
+    }
+
+    private static double[] degree(Graph<?, ?> graph, int[] endpoints) {
+        int n = graph.verticesCount();
+        double[] degrees = new double[n];
+        for (int vertex : endpoints) {
+            degrees[vertex] += 1;
+        }
+        if (n > 1) {
+            for (int v = 0; v < n; ++v) {
+                degrees[v] /= n - 1;
+            }
+        }
+        return degrees;
+    }
+
+    private static double blocks(int n, RangeFunction function) {
+        int count = (n + BLOCK - 1) / BLOCK;
+        if (count <= 1) return function.apply(0, n);
+        return IntStream.range(0, count)
+            .parallel()
+            .mapToDouble(b -> function.apply(b * BLOCK, Math.min(n, (b + 1) * BLOCK)))
+            .sum();
+    }
+
+    private interface RangeFunction {
+        double apply(int from, int to);
+    }
+}
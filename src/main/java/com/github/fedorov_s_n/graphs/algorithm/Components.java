@@ -0,0 +1,56 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+/**
+ * Partition of graph vertices to weakly connected components. Components are labelled
+ * {@code 0..count()-1} in order of their first vertex in {@code vertices()}.
+ */
+public final class Components {
+
+    private final int[] labels;
+    private final int[] sizes;
+
+    Components(int[] labels, int[] sizes) {
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Find weakly connected components of graph with lock-free union-find
+     * over parallel chunks of edges
+     *
+     * @param graph graph to process
+     * @return components of the graph
+     */
+    public static Components of(Graph<?, ?> graph) {
+        return ConcurrentUnionFind.of(graph).components();
+    }
+
+    /**
+     * Get count of components
+     *
+     * @return count of components
+     */
+    public int count() {
+        return sizes.length;
+    }
+
+    /**
+     * Get component labels of vertices
+     *
+     * @return labels indexed by {@code Vertex.getIndex()}
+     */
+    public int[] getLabels() {
+        return labels;
+    }
+
+    /**
+     * Get count of vertices in components
+     *
+     * @return sizes indexed by component label
+     */
+    public int[] getSizes() {
+        return sizes;
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Lock-free disjoint set of integers. Roots are linked by compare-and-set from the
+ * greater index to the smaller one, so a set's root is always its minimal element
+ * and concurrent unions can't create a loop. Paths are halved on every find.
+ * <p>
+ * Besides building components of a graph from scratch, the structure may be kept
+ * to absorb new edges: {@code union} may be called concurrently at any time and
+ * {@link #components()} takes a snapshot.
+ */
+public final class ConcurrentUnionFind {
+
+    private static final int CHUNK = 8192;
+
+    private volatile AtomicIntegerArray parents;
+
+    /**
+     * Create disjoint set of singletons {@code 0..size-1}
+     *
+     * @param size count of elements
+     */
+    public ConcurrentUnionFind(int size) {
+        this.parents = singletons(new AtomicIntegerArray(size), 0);
+    }
+
+    /**
+     * Create disjoint set of graph vertices indexes joined along edges.
+     * Edges are processed in parallel chunks.
+     *
+     * @param graph graph to process
+     * @return disjoint set of weakly connected components
+     */
+    public static ConcurrentUnionFind of(Graph<?, ?> graph) {
+        ConcurrentUnionFind set = new ConcurrentUnionFind(graph.verticesCount());
+        int[][] endpoints = Adjacency.endpoints(graph);
+        set.union(endpoints[0], endpoints[1]);
+        return set;
+    }
+
+    /**
+     * Get count of elements
+     *
+     * @return count of elements
+     */
+    public int size() {
+        return parents.length();
+    }
+
+    /**
+     * Add singletons to the set. Not thread safe, shouldn't be called concurrently with other methods.
+     *
+     * @param count count of elements to add
+     */
+    public void grow(int count) {
+        AtomicIntegerArray current = parents;
+        AtomicIntegerArray grown = new AtomicIntegerArray(current.length() + count);
+        for (int i = 0; i < current.length(); ++i) {
+            grown.set(i, current.get(i));
+        }
+        parents = singletons(grown, current.length());
+    }
+
+    /**
+     * Find root of the element's set
+     *
+     * @param element element
+     * @return minimal element of the set
+     */
+    public int find(int element) {
+        AtomicIntegerArray parents = this.parents;
+        int x = element;
+        while (true) {
+            int parent = parents.get(x);
+            if (parent == x) return x;
+            int grandparent = parents.get(parent);
+            if (parent != grandparent) parents.compareAndSet(x, parent, grandparent);
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Join sets of two elements
+     *
+     * @param a one element
+     * @param b another element
+     * @return true if the sets were different, false otherwise
+     */
+    public boolean union(int a, int b) {
+        AtomicIntegerArray parents = this.parents;
+        while (true) {
+            int x = find(a);
+            int y = find(b);
+            if (x == y) return false;
+            int high = Math.max(x, y);
+            int low = Math.min(x, y);
+            if (parents.compareAndSet(high, high, low)) return true;
+            a = x;
+            b = y;
+        }
+    }
+
+    /**
+     * Join sets of pairs of elements in parallel chunks
+     *
+     * @param a first elements of pairs
+     * @param b second elements of pairs
+     */
+    public void union(int[] a, int[] b) {
+        int chunks = (a.length + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int to = Math.min(a.length, (c + 1) * CHUNK);
+            for (int i = c * CHUNK; i < to; ++i) {
+                union(a[i], b[i]);
+            }
+        });
+    }
+
+    /**
+     * Join sets of parent and child of every edge. Vertices should be indexed
+     * by the graph this set was created for.
+     *
+     * @param edges edges to absorb
+     */
+    public void union(Collection<? extends Edge<?, ?>> edges) {
+        int[] a = new int[edges.size()];
+        int[] b = new int[edges.size()];
+        int i = 0;
+        for (Edge<?, ?> edge : edges) {
+            a[i] = edge.getParent().getIndex();
+            b[i++] = edge.getChild().getIndex();
+        }
+        union(a, b);
+    }
+
+    /**
+     * Check if two elements are in the same set
+     *
+     * @param a one element
+     * @param b another element
+     * @return true if elements are in the same set
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            int x = find(a);
+            int y = find(b);
+            if (x == y) return true;
+            // x may have been linked after it was found, then try again
+            if (parents.get(x) == x) return false;
+            a = x;
+            b = y;
+        }
+    }
+
+    /**
+     * Take snapshot of sets. Shouldn't be called concurrently with unions
+     * if an exact snapshot is needed.
+     *
+     * @return labels and sizes of sets
+     */
+    public Components components() {
+        int n = size();
+        int[] roots = new int[n];
+        IntStream.range(0, (n + CHUNK - 1) / CHUNK).parallel().forEach(c -> {
+            int to = Math.min(n, (c + 1) * CHUNK);
+            for (int i = c * CHUNK; i < to; ++i) {
+                roots[i] = find(i);
+            }
+        });
+        // root is the minimal element, so it's labelled before other elements of its set
+        int count = 0;
+        int[] labels = new int[n];
+        for (int i = 0; i < n; ++i) {
+            labels[i] = roots[i] == i ? count++ : labels[roots[i]];
+        }
+        int[] sizes = new int[count];
+        for (int label : labels) {
+            ++sizes[label];
+        }
+        return new Components(labels, sizes);
+    }
+
+    private static AtomicIntegerArray singletons(AtomicIntegerArray parents, int from) {
+        for (int i = from; i < parents.length(); ++i) {
+            parents.set(i, i);
+        }
+        return parents;
+    }
+}
@@ -0,0 +1,188 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Critical path analysis of a directed acyclic graph where vertices are tasks
+ * and edges are dependencies. Vertex cost is task duration, edge cost is delay
+ * between the end of parent task and the start of child task. Vertex arrays are
+ * indexed by {@code Vertex.getIndex()}, edge arrays by position in {@code Graph.edges()}.
+ */
+public final class CriticalPath {
+
+    private final double[] earliestStart;
+    private final double[] earliestFinish;
+    private final double[] latestStart;
+    private final double[] latestFinish;
+    private final double[] slack;
+    private final boolean[] criticalEdges;
+    private final int[] path;
+    private final double duration;
+
+    private CriticalPath(double[] earliestStart, double[] earliestFinish, double[] latestStart, double[] latestFinish,
+                         double[] slack, boolean[] criticalEdges, int[] path, double duration) {
+        this.earliestStart = earliestStart;
+        this.earliestFinish = earliestFinish;
+        this.latestStart = latestStart;
+        this.latestFinish = latestFinish;
+        this.slack = slack;
+        this.criticalEdges = criticalEdges;
+        this.path = path;
+        this.duration = duration;
+    }
+
+    /**
+     * Calculate longest paths with one forward pass that sorts vertices topologically
+     * and one backward pass over the order
+     *
+     * @param graph      acyclic graph
+     * @param vertexCost function to calculate duration of vertex by its parameter
+     * @param edgeCost   function to calculate delay of edge by its parameter
+     * @return analysis result or null if the graph has cycles
+     */
+    public static <V, E> CriticalPath of(Graph<V, E> graph, ToDoubleFunction<V> vertexCost, ToDoubleFunction<E> edgeCost) {
+        int n = graph.verticesCount();
+        int[][] endpoints = Adjacency.endpoints(graph);
+        Adjacency children = Adjacency.of(n, endpoints[0], endpoints[1]);
+        double[] costs = graph.vertices().mapToDouble(v -> vertexCost.applyAsDouble(v.getParameter())).toArray();
+        double[] delays = graph.edges().mapToDouble(e -> edgeCost.applyAsDouble(e.getParameter())).toArray();
+        // delays in adjacency order are read sequentially by both passes
+        double[] adjacentDelays = new double[delays.length];
+        for (int j = 0; j < adjacentDelays.length; ++j) {
+            adjacentDelays[j] = delays[children.edges[j]];
+        }
+
+        // Kahn algorithm fused with the forward pass
+        int[] inDegrees = new int[n];
+        for (int target : children.targets) {
+            ++inDegrees[target];
+        }
+        int[] order = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; ++v) {
+            if (inDegrees[v] == 0) order[tail++] = v;
+        }
+        double[] earliestStart = new double[n];
+        double[] earliestFinish = new double[n];
+        double duration = 0;
+        for (int head = 0; head < tail; ++head) {
+            int v = order[head];
+            double finish = earliestStart[v] + costs[v];
+            earliestFinish[v] = finish;
+            duration = Math.max(duration, finish);
+            for (int j = children.offsets[v]; j < children.offsets[v + 1]; ++j) {
+                int child = children.targets[j];
+                earliestStart[child] = Math.max(earliestStart[child], finish + adjacentDelays[j]);
+                if (--inDegrees[child] == 0) order[tail++] = child;
+            }
+        }
+        if (tail < n) return null;
+
+        double[] latestStart = new double[n];
+        double[] latestFinish = new double[n];
+        double[] slack = new double[n];
+        for (int i = n - 1; i >= 0; --i) {
+            int v = order[i];
+            double finish = duration;
+            for (int j = children.offsets[v]; j < children.offsets[v + 1]; ++j) {
+                finish = Math.min(finish, latestStart[children.targets[j]] - adjacentDelays[j]);
+            }
+            latestFinish[v] = finish;
+            latestStart[v] = finish - costs[v];
+            slack[v] = latestStart[v] - earliestStart[v];
+        }
+
+        // rounding errors of the backward pass are ignored
+        double epsilon = 1e-9 * Math.max(1, duration);
+        boolean[] criticalEdges = new boolean[delays.length];
+        for (int i = 0; i < delays.length; ++i) {
+            int parent = endpoints[0][i];
+            int child = endpoints[1][i];
+            criticalEdges[i] = slack[parent] <= epsilon && slack[child] <= epsilon
+                && Math.abs(earliestFinish[parent] + delays[i] - earliestStart[child]) <= epsilon;
+        }
+        return new CriticalPath(earliestStart, earliestFinish, latestStart, latestFinish, slack, criticalEdges,
+            path(order, children, criticalEdges, earliestStart, earliestFinish, slack, duration, epsilon), duration);
+    }
+
+    /**
+     * Get total duration of the schedule, the length of the longest path
+     *
+     * @return duration
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    public double[] getEarliestStart() {
+        return earliestStart;
+    }
+
+    public double[] getEarliestFinish() {
+        return earliestFinish;
+    }
+
+    public double[] getLatestStart() {
+        return latestStart;
+    }
+
+    public double[] getLatestFinish() {
+        return latestFinish;
+    }
+
+    /**
+     * Get time every task may be delayed for without delaying the whole schedule
+     *
+     * @return slack of vertices
+     */
+    public double[] getSlack() {
+        return slack;
+    }
+
+    /**
+     * Get edges lying on critical paths
+     *
+     * @return flags indexed by position of edge in {@code Graph.edges()}
+     */
+    public boolean[] getCriticalEdges() {
+        return criticalEdges;
+    }
+
+    /**
+     * Get one of critical paths
+     *
+     * @return indexes of vertices from a start task to a final task
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    private static int[] path(int[] order, Adjacency children, boolean[] criticalEdges, double[] earliestStart,
+                              double[] earliestFinish, double[] slack, double duration, double epsilon) {
+        int v = -1;
+        for (int candidate : order) {
+            if (earliestStart[candidate] <= epsilon && slack[candidate] <= epsilon) {
+                v = candidate;
+                break;
+            }
+        }
+        if (v < 0) return new int[0];
+        int[] path = new int[16];
+        int length = 0;
+        while (v >= 0) {
+            if (length == path.length) path = Arrays.copyOf(path, length * 2);
+            path[length++] = v;
+            int next = -1;
+            if (Math.abs(earliestFinish[v] - duration) > epsilon) {
+                for (int j = children.offsets[v]; j < children.offsets[v + 1] && next < 0; ++j) {
+                    if (criticalEdges[children.edges[j]]) next = children.targets[j];
+                }
+            }
+            v = next;
+        }
+        return Arrays.copyOf(path, length);
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Thrown when an edge can't be added to a directed acyclic graph because it would create a cycle
+ */
+public class CycleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] cycle;
+
+    /**
+     * Create exception for a cycle
+     *
+     * @param cycle vertices of the cycle, starting from parent of the rejected edge
+     */
+    public CycleException(int[] cycle) {
+        super("Edge would create cycle " + Arrays.toString(cycle));
+        this.cycle = cycle;
+    }
+
+    /**
+     * Get vertices of the cycle. The first one is parent of the rejected edge and the second
+     * one is its child, for a self-loop the only vertex is both. Every vertex has an edge to
+     * the next one and the last vertex has an edge to the first one.
+     *
+     * @return indexes of cycle vertices
+     */
+    public int[] getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,376 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a task for every vertex of a directed acyclic graph as soon as tasks of all
+ * its parents have finished. Count of unfinished parents is kept in an atomic counter
+ * per vertex, so the vertex is scheduled by the thread that finishes its last parent.
+ * Tasks are started on {@code executor}, at most {@code parallelism} of them are
+ * in progress at any moment; ready vertices wait in a queue. Tasks rejected by the
+ * executor fail with {@link RejectedExecutionException}. Results are indexed by
+ * {@code Vertex.getIndex()}.
+ */
+public class DagExecutor {
+
+    /**
+     * What to do when a task fails
+     */
+    public enum ErrorPolicy {
+        /**
+         * Start no more tasks after the first failure, tasks in progress are waited for
+         */
+        FAIL_FAST,
+        /**
+         * Skip descendants of the failed vertex and keep running all other tasks
+         */
+        CONTINUE
+    }
+
+    /**
+     * Final state of a vertex task
+     */
+    public enum State {
+        SUCCEEDED, FAILED, SKIPPED
+    }
+
+    private Executor executor = ForkJoinPool.commonPool();
+    private int parallelism = Integer.MAX_VALUE;
+    private ErrorPolicy errorPolicy = ErrorPolicy.FAIL_FAST;
+
+    /**
+     * Create executor service that starts a virtual thread per task. Virtual threads
+     * suit tasks that mostly wait for IO, their count is limited by {@code parallelism} only.
+     * The method is looked up reflectively, so the library still runs on Java 8.
+     *
+     * @return executor service or null if virtual threads are not supported by the runtime
+     */
+    public static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Run tasks and wait for all of them to finish
+     *
+     * @param graph acyclic graph of tasks
+     * @param task  function to run by vertex parameter
+     * @return execution result or null if the graph has cycles
+     */
+    public <V, E, R> Execution<R> execute(Graph<V, E> graph, Function<V, R> task) {
+        CompletableFuture<Execution<R>> future = submit(graph, parameter -> {
+            CompletableFuture<R> result = new CompletableFuture<>();
+            try {
+                result.complete(task.apply(parameter));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+            return result;
+        });
+        return future == null ? null : future.join();
+    }
+
+    /**
+     * Run asynchronous tasks. Vertex is finished when the stage returned by its task
+     * completes, the stage holds a slot of {@code parallelism} until then.
+     *
+     * @param graph acyclic graph of tasks
+     * @param task  function to start task by vertex parameter
+     * @return future completed when all vertices are finished or skipped, null if the graph has cycles
+     */
+    public <V, E, R> CompletableFuture<Execution<R>> submit(Graph<V, E> graph,
+                                                            Function<V, ? extends CompletionStage<R>> task) {
+        Adjacency children = Adjacency.children(graph);
+        if (children.topologicalOrder() == null) return null;
+        List<V> parameters = graph.vertices().map(Vertex::getParameter).collect(Collectors.toList());
+        Run<V, R> run = new Run<>(children, parameters, task);
+        run.start();
+        return run.future;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public ErrorPolicy getErrorPolicy() {
+        return errorPolicy;
+    }
+
+    public void setErrorPolicy(ErrorPolicy errorPolicy) {
+        this.errorPolicy = errorPolicy;
+    }
+
+    /**
+     * Results, errors and timings of tasks. Times are in nanoseconds since the
+     * execution has started, -1 for tasks that were not started.
+     *
+     * @param <R> type of tasks results
+     */
+    public static final class Execution<R> {
+
+        private final List<R> results;
+        private final Throwable[] errors;
+        private final State[] states;
+        private final long[] startTimes;
+        private final long[] finishTimes;
+        private final long elapsed;
+
+        private Execution(List<R> results, Throwable[] errors, State[] states,
+                          long[] startTimes, long[] finishTimes, long elapsed) {
+            this.results = results;
+            this.errors = errors;
+            this.states = states;
+            this.startTimes = startTimes;
+            this.finishTimes = finishTimes;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Check if all tasks have succeeded
+         *
+         * @return true if there are no failed or skipped tasks
+         */
+        public boolean isSucceeded() {
+            for (State state : states) {
+                if (state != State.SUCCEEDED) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Get results of tasks, null for failed and skipped ones
+         *
+         * @return unmodifiable list of results
+         */
+        public List<R> getResults() {
+            return results;
+        }
+
+        public Throwable[] getErrors() {
+            return errors;
+        }
+
+        public State[] getStates() {
+            return states;
+        }
+
+        public long[] getStartTimes() {
+            return startTimes;
+        }
+
+        public long[] getFinishTimes() {
+            return finishTimes;
+        }
+
+        /**
+         * Get time between the start of execution and the end of the last task
+         *
+         * @return nanoseconds
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+    }
+
+    /**
+     * State of a single execution, shared by all tasks of it
+     */
+    private final class Run<V, R> {
+
+        private final Adjacency children;
+        private final List<V> parameters;
+        private final Function<V, ? extends CompletionStage<R>> task;
+        private final Executor executor = DagExecutor.this.executor;
+        private final int parallelism = DagExecutor.this.parallelism;
+        private final boolean failFast = errorPolicy == ErrorPolicy.FAIL_FAST;
+        private final CompletableFuture<Execution<R>> future = new CompletableFuture<>();
+        private final AtomicIntegerArray pending;
+        private final AtomicInteger remaining;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger draining = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Integer> ready = new ConcurrentLinkedQueue<>();
+        // written before the counter of a child is decremented, read after it reaches zero
+        private final boolean[] blocked;
+        private final Object[] results;
+        private final Throwable[] errors;
+        private final State[] states;
+        private final long[] startTimes;
+        private final long[] finishTimes;
+        private volatile boolean aborted;
+        private long origin;
+
+        Run(Adjacency children, List<V> parameters, Function<V, ? extends CompletionStage<R>> task) {
+            int n = children.size();
+            this.children = children;
+            this.parameters = parameters;
+            this.task = task;
+            int[] inDegrees = new int[n];
+            for (int target : children.targets) {
+                ++inDegrees[target];
+            }
+            this.pending = new AtomicIntegerArray(inDegrees);
+            this.remaining = new AtomicInteger(n);
+            this.blocked = new boolean[n];
+            this.results = new Object[n];
+            this.errors = new Throwable[n];
+            this.states = new State[n];
+            this.startTimes = new long[n];
+            this.finishTimes = new long[n];
+            Arrays.fill(startTimes, -1);
+            Arrays.fill(finishTimes, -1);
+        }
+
+        void start() {
+            origin = System.nanoTime();
+            if (remaining.get() == 0) {
+                complete();
+                return;
+            }
+            for (int v = 0; v < pending.length(); ++v) {
+                if (pending.get(v) == 0) ready.add(v);
+            }
+            drain();
+        }
+
+        /**
+         * Start ready vertices while there are free slots. Whoever frees a slot or
+         * adds a vertex calls it again, so no vertex is left in the queue. Only one
+         * thread drains at a time, calls made meanwhile make it loop once more, so tasks
+         * finished on the draining thread don't nest calls.
+         */
+        private void drain() {
+            if (draining.getAndIncrement() != 0) return;
+            do {
+                while (!ready.isEmpty()) {
+                    int count = running.get();
+                    if (count >= parallelism) break;
+                    if (!running.compareAndSet(count, count + 1)) continue;
+                    Integer vertex = ready.poll();
+                    if (vertex == null) {
+                        running.decrementAndGet();
+                    } else if (blocked[vertex] || aborted) {
+                        running.decrementAndGet();
+                        skip(vertex);
+                    } else {
+                        try {
+                            executor.execute(() -> run(vertex));
+                        } catch (RejectedExecutionException ex) {
+                            finish(vertex, null, ex);
+                        }
+                    }
+                }
+            } while (draining.decrementAndGet() != 0);
+        }
+
+        private void run(int vertex) {
+            startTimes[vertex] = System.nanoTime() - origin;
+            CompletionStage<R> stage;
+            try {
+                stage = Objects.requireNonNull(task.apply(parameters.get(vertex)), "Task returned null stage");
+            } catch (Throwable ex) {
+                finish(vertex, null, ex);
+                return;
+            }
+            stage.whenComplete((result, error) -> finish(vertex, result, error));
+        }
+
+        private void finish(int vertex, R result, Throwable error) {
+            finishTimes[vertex] = System.nanoTime() - origin;
+            if (error == null) {
+                results[vertex] = result;
+                states[vertex] = State.SUCCEEDED;
+            } else {
+                errors[vertex] = error;
+                states[vertex] = State.FAILED;
+                if (failFast) aborted = true;
+            }
+            release(vertex, error != null);
+            running.decrementAndGet();
+            done();
+            drain();
+        }
+
+        /**
+         * Mark vertex and all its descendants that become ready as skipped
+         */
+        private void skip(int vertex) {
+            int[] stack = new int[16];
+            int size = 0;
+            stack[size++] = vertex;
+            while (size > 0) {
+                int v = stack[--size];
+                states[v] = State.SKIPPED;
+                for (int j = children.offsets[v]; j < children.offsets[v + 1]; ++j) {
+                    int child = children.targets[j];
+                    blocked[child] = true;
+                    if (pending.decrementAndGet(child) == 0) {
+                        if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                        stack[size++] = child;
+                    }
+                }
+                done();
+            }
+        }
+
+        private void release(int vertex, boolean failed) {
+            for (int j = children.offsets[vertex]; j < children.offsets[vertex + 1]; ++j) {
+                int child = children.targets[j];
+                if (failed) blocked[child] = true;
+                if (pending.decrementAndGet(child) == 0) {
+                    if (blocked[child] || aborted) {
+                        skip(child);
+                    } else {
+                        ready.add(child);
+                    }
+                }
+            }
+        }
+
+        private void done() {
+            if (remaining.decrementAndGet() == 0) complete();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete() {
+            long elapsed = System.nanoTime() - origin;
+            future.complete(new Execution<>(Collections.unmodifiableList(Arrays.asList((R[]) results)),
+                errors, states, startTimes, finishTimes, elapsed));
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Directed acyclic graph that keeps topological order of its vertices while edges are added.
+ * Edges that would create a cycle are rejected with {@link CycleException}.
+ * <p>
+ * Order is maintained with Pearce-Kelly algorithm: adding an edge that goes backwards
+ * in the current order searches only vertices positioned between its ends, and only
+ * the affected vertices are moved, so insertion cost is bounded by the size of the
+ * affected region rather than the graph. Vertices are identified by index of addition.
+ * Not thread safe.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class DynamicDag<V, E> {
+
+    private Object[] parameters = new Object[16];
+    private int[][] children = new int[16][];
+    private Object[][] edgeParameters = new Object[16][];
+    private int[] childrenCounts = new int[16];
+    private int[][] parents = new int[16][];
+    private int[] parentsCounts = new int[16];
+    private int[] positions = new int[16];
+    private int[] order = new int[16];
+    private int[] marks = new int[16];
+    private int[] previous = new int[16];
+    private int epoch;
+    private int size;
+    private int edges;
+
+    /**
+     * Create dynamic DAG from a graph. Vertices keep their indexes.
+     *
+     * @param graph acyclic graph
+     * @return dynamic DAG with the same vertices and edges
+     * @throws CycleException if the graph has a cycle
+     */
+    public static <V, E> DynamicDag<V, E> of(Graph<V, E> graph) {
+        DynamicDag<V, E> dag = new DynamicDag<>();
+        graph.vertices().forEach(v -> dag.addVertex(v.getParameter()));
+        int[][] endpoints = Adjacency.endpoints(graph);
+        int[] sorted = Adjacency.of(dag.size, endpoints[0], endpoints[1]).topologicalOrder();
+        if (sorted != null) {
+            // edges don't go backwards in this order, so they are added without searches
+            for (int position = 0; position < sorted.length; ++position) {
+                dag.order[position] = sorted[position];
+                dag.positions[sorted[position]] = position;
+            }
+        }
+        Iterator<Edge<V, E>> iterator = graph.edges().iterator();
+        for (int i = 0; i < endpoints[0].length; ++i) {
+            dag.addEdge(endpoints[0][i], endpoints[1][i], iterator.next().getParameter());
+        }
+        return dag;
+    }
+
+    /**
+     * Add vertex to the end of topological order
+     *
+     * @param parameter vertex parameter
+     * @return index of added vertex
+     */
+    public int addVertex(V parameter) {
+        if (size == parameters.length) {
+            int capacity = size * 2;
+            parameters = Arrays.copyOf(parameters, capacity);
+            children = Arrays.copyOf(children, capacity);
+            edgeParameters = Arrays.copyOf(edgeParameters, capacity);
+            childrenCounts = Arrays.copyOf(childrenCounts, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            parentsCounts = Arrays.copyOf(parentsCounts, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            order = Arrays.copyOf(order, capacity);
+            marks = Arrays.copyOf(marks, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+        parameters[size] = parameter;
+        children[size] = new int[2];
+        edgeParameters[size] = new Object[2];
+        parents[size] = new int[2];
+        positions[size] = size;
+        order[size] = size;
+        return size++;
+    }
+
+    /**
+     * Add edge keeping the graph acyclic. Vertices between the edge ends in topological
+     * order are moved if the edge goes backwards.
+     *
+     * @param parent    index of parent vertex
+     * @param child     index of child vertex
+     * @param parameter edge parameter
+     * @throws CycleException if the edge would create a cycle, the graph is not changed then
+     */
+    public void addEdge(int parent, int child, E parameter) {
+        check(parent);
+        check(child);
+        if (parent == child) {
+            throw new CycleException(new int[]{parent});
+        }
+        int lower = positions[child];
+        int upper = positions[parent];
+        if (lower < upper) {
+            reorder(parent, child, lower, upper);
+        }
+        if (childrenCounts[parent] == children[parent].length) {
+            children[parent] = Arrays.copyOf(children[parent], childrenCounts[parent] * 2);
+            edgeParameters[parent] = Arrays.copyOf(edgeParameters[parent], childrenCounts[parent] * 2);
+        }
+        edgeParameters[parent][childrenCounts[parent]] = parameter;
+        children[parent][childrenCounts[parent]++] = child;
+        if (parentsCounts[child] == parents[child].length) {
+            parents[child] = Arrays.copyOf(parents[child], parentsCounts[child] * 2);
+        }
+        parents[child][parentsCounts[child]++] = parent;
+        ++edges;
+    }
+
+    /**
+     * Add edge with null parameter keeping the graph acyclic
+     *
+     * @param parent index of parent vertex
+     * @param child  index of child vertex
+     * @throws CycleException if the edge would create a cycle, the graph is not changed then
+     */
+    public void addEdge(int parent, int child) {
+        addEdge(parent, child, null);
+    }
+
+    /**
+     * Check if an edge can be added without creating a cycle. Doesn't change the graph.
+     *
+     * @param parent index of parent vertex
+     * @param child  index of child vertex
+     * @return true if there is no path from child to parent
+     */
+    public boolean canAddEdge(int parent, int child) {
+        check(parent);
+        check(child);
+        return parent != child && (positions[child] > positions[parent] || !reaches(child, parent, positions[parent]));
+    }
+
+    /**
+     * Remove one edge between two vertices. Topological order stays valid.
+     *
+     * @param parent index of parent vertex
+     * @param child  index of child vertex
+     * @return true if the edge was found and removed
+     */
+    public boolean removeEdge(int parent, int child) {
+        check(parent);
+        check(child);
+        int i = indexOf(children[parent], childrenCounts[parent], child);
+        if (i < 0) return false;
+        int last = --childrenCounts[parent];
+        children[parent][i] = children[parent][last];
+        edgeParameters[parent][i] = edgeParameters[parent][last];
+        edgeParameters[parent][last] = null;
+        int j = indexOf(parents[child], parentsCounts[child], parent);
+        parents[child][j] = parents[child][--parentsCounts[child]];
+        --edges;
+        return true;
+    }
+
+    /**
+     * Get count of vertices
+     *
+     * @return count of vertices
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get count of edges
+     *
+     * @return count of edges
+     */
+    public int edgesCount() {
+        return edges;
+    }
+
+    /**
+     * Get parameter of a vertex
+     *
+     * @param vertex index of vertex
+     * @return vertex parameter
+     */
+    @SuppressWarnings("unchecked")
+    public V getParameter(int vertex) {
+        check(vertex);
+        return (V) parameters[vertex];
+    }
+
+    /**
+     * Get position of a vertex in topological order
+     *
+     * @param vertex index of vertex
+     * @return position of vertex
+     */
+    public int getPosition(int vertex) {
+        check(vertex);
+        return positions[vertex];
+    }
+
+    /**
+     * Get vertices in topological order
+     *
+     * @return copy of indexes of vertices sorted topologically
+     */
+    public int[] order() {
+        return Arrays.copyOf(order, size);
+    }
+
+    /**
+     * Export graph with vertices in topological {@code vertices()} order
+     *
+     * @return new graph
+     */
+    @SuppressWarnings("unchecked")
+    public Graph<V, E> toGraph() {
+        List<Vertex<V, E>> created = new ArrayList<>(size);
+        Vertex<V, E>[] byIndex = new Vertex[size];
+        for (int position = 0; position < size; ++position) {
+            int vertex = order[position];
+            byIndex[vertex] = new Vertex<>((V) parameters[vertex]);
+            created.add(byIndex[vertex]);
+        }
+        List<Edge<V, E>> createdEdges = new ArrayList<>(edges);
+        for (int position = 0; position < size; ++position) {
+            int vertex = order[position];
+            for (int i = 0; i < childrenCounts[vertex]; ++i) {
+                createdEdges.add(new Edge<>(byIndex[vertex], byIndex[children[vertex][i]], (E) edgeParameters[vertex][i]));
+            }
+        }
+        return new Graph<>(created, createdEdges);
+    }
+
+    // Pearce-Kelly: vertices reachable from child and reaching parent within [lower, upper] swap their places
+    private void reorder(int parent, int child, int lower, int upper) {
+        int forwardMark = nextEpoch();
+        int[] forward = new int[16];
+        int forwardCount = 0;
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = child;
+        marks[child] = forwardMark;
+        previous[child] = -1;
+        while (top > 0) {
+            int v = stack[--top];
+            if (forwardCount == forward.length) forward = Arrays.copyOf(forward, forwardCount * 2);
+            forward[forwardCount++] = v;
+            for (int i = 0; i < childrenCounts[v]; ++i) {
+                int w = children[v][i];
+                if (w == parent) {
+                    previous[w] = v;
+                    throw new CycleException(cycle(parent));
+                }
+                if (marks[w] != forwardMark && positions[w] < upper) {
+                    marks[w] = forwardMark;
+                    previous[w] = v;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = w;
+                }
+            }
+        }
+        int backwardMark = nextEpoch();
+        int[] backward = new int[16];
+        int backwardCount = 0;
+        top = 0;
+        stack[top++] = parent;
+        marks[parent] = backwardMark;
+        while (top > 0) {
+            int v = stack[--top];
+            if (backwardCount == backward.length) backward = Arrays.copyOf(backward, backwardCount * 2);
+            backward[backwardCount++] = v;
+            for (int i = 0; i < parentsCounts[v]; ++i) {
+                int w = parents[v][i];
+                if (marks[w] != backwardMark && positions[w] > lower) {
+                    marks[w] = backwardMark;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = w;
+                }
+            }
+        }
+        sortByPosition(forward, forwardCount);
+        sortByPosition(backward, backwardCount);
+        // free positions are taken by vertices reaching parent first, then by vertices reachable from child
+        int total = forwardCount + backwardCount;
+        int[] free = new int[total];
+        for (int i = 0; i < backwardCount; ++i) {
+            free[i] = positions[backward[i]];
+        }
+        for (int i = 0; i < forwardCount; ++i) {
+            free[backwardCount + i] = positions[forward[i]];
+        }
+        Arrays.sort(free);
+        for (int i = 0; i < total; ++i) {
+            int vertex = i < backwardCount ? backward[i] : forward[i - backwardCount];
+            positions[vertex] = free[i];
+            order[free[i]] = vertex;
+        }
+    }
+
+    private boolean reaches(int from, int to, int upper) {
+        int mark = nextEpoch();
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = from;
+        marks[from] = mark;
+        while (top > 0) {
+            int v = stack[--top];
+            for (int i = 0; i < childrenCounts[v]; ++i) {
+                int w = children[v][i];
+                if (w == to) return true;
+                if (marks[w] != mark && positions[w] < upper) {
+                    marks[w] = mark;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = w;
+                }
+            }
+        }
+        return false;
+    }
+
+    // cycle is parent, child, ..., back to parent along the forward search tree
+    private int[] cycle(int parent) {
+        int length = 0;
+        for (int v = previous[parent]; v != -1; v = previous[v]) {
+            ++length;
+        }
+        int[] cycle = new int[length + 1];
+        cycle[0] = parent;
+        int i = length;
+        for (int v = previous[parent]; v != -1; v = previous[v]) {
+            cycle[i--] = v;
+        }
+        return cycle;
+    }
+
+    private void sortByPosition(int[] vertices, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; ++i) {
+            keys[i] = (long) positions[vertices[i]] << 32 | vertices[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < count; ++i) {
+            vertices[i] = (int) keys[i];
+        }
+    }
+
+    private int nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+
+    private void check(int vertex) {
+        if (vertex < 0 || vertex >= size) {
+            throw new IndexOutOfBoundsException("There is no vertex " + vertex);
+        }
+    }
+
+    private static int indexOf(int[] array, int count, int value) {
+        for (int i = 0; i < count; ++i) {
+            if (array[i] == value) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Direction;
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate neighbourhood function calculated with HyperLogLog counters (HyperANF).
+ * Every vertex has a counter of vertices reachable from it; on iteration {@code t}
+ * a counter is united with counters of neighbours, so it counts vertices within
+ * {@code t} hops. Iterations stop when no counter changes or after {@code maxIterations}.
+ * <p>
+ * Counter has {@code 2^precision} byte registers packed eight to a {@code long},
+ * counters are united with broadword maximum of register words. Relative standard
+ * deviation of estimates is about {@code 1.04 / sqrt(2^precision)}. Counters of all
+ * vertices are kept in one array, so {@code V * 2^precision / 8} should fit an array.
+ * Iterations run in parallel over ranges of vertices and skip vertices none of whose
+ * neighbours changed.
+ */
+public class HyperAnf {
+
+    private static final int BLOCK = 1024;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private int precision = 6;
+    private int maxIterations = Integer.MAX_VALUE;
+    private Direction direction = Direction.CHILDREN;
+    private long seed = 0x5DEECE66DL;
+
+    /**
+     * Calculate neighbourhood function of graph
+     *
+     * @param graph graph to calculate function of
+     * @return estimated neighbourhood function and reach of vertices
+     */
+    public NeighbourhoodFunction run(Graph<?, ?> graph) {
+        int n = graph.verticesCount();
+        int m = 1 << precision;
+        int words = m / 8;
+        if ((long) n * words > MAX_WORDS) {
+            throw new IllegalArgumentException("Counters of " + n + " vertices with precision " + precision
+                + " don't fit an array, precision should be lower");
+        }
+        Adjacency[] neighbours = neighbours(graph);
+        long[] current = new long[n * words];
+        long[] next = new long[n * words];
+        double[] estimates = new double[n];
+        for (int v = 0; v < n; ++v) {
+            long hash = mix(v + seed * 0x9E3779B97F4A7C15L);
+            int register = (int) (hash >>> (64 - precision));
+            int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+            int word = v * words + register / 8;
+            current[word] |= (long) rank << (8 * (register % 8));
+            estimates[v] = estimate(current, v * words, words);
+        }
+        boolean[] modified = new boolean[n];
+        boolean[] nowModified = new boolean[n];
+        Arrays.fill(modified, true);
+
+        List<Double> function = new ArrayList<>();
+        List<float[]> history = new ArrayList<>();
+        function.add(sum(estimates));
+        history.add(toFloats(estimates));
+        LongAdder changes = new LongAdder();
+        for (int iteration = 0; iteration < maxIterations; ++iteration) {
+            long[] source = current;
+            long[] target = next;
+            boolean[] dirty = modified;
+            boolean[] changed = nowModified;
+            changes.reset();
+            IntStream.range(0, (n + BLOCK - 1) / BLOCK).parallel().forEach(b -> {
+                int count = 0;
+                for (int v = b * BLOCK; v < Math.min(n, (b + 1) * BLOCK); ++v) {
+                    int base = v * words;
+                    System.arraycopy(source, base, target, base, words);
+                    changed[v] = false;
+                    if (!isDirty(neighbours, dirty, v)) continue;
+                    for (Adjacency adjacency : neighbours) {
+                        for (int j = adjacency.offsets[v]; j < adjacency.offsets[v + 1]; ++j) {
+                            int other = adjacency.targets[j] * words;
+                            for (int w = 0; w < words; ++w) {
+                                target[base + w] = max(target[base + w], source[other + w]);
+                            }
+                        }
+                    }
+                    for (int w = 0; w < words; ++w) {
+                        if (target[base + w] != source[base + w]) {
+                            changed[v] = true;
+                            estimates[v] = estimate(target, base, words);
+                            ++count;
+                            break;
+                        }
+                    }
+                }
+                changes.add(count);
+            });
+            if (changes.sum() == 0) break;
+            function.add(sum(estimates));
+            history.add(toFloats(estimates));
+            current = target;
+            next = source;
+            modified = changed;
+            nowModified = dirty;
+        }
+        return new NeighbourhoodFunction(function.stream().mapToDouble(Double::doubleValue).toArray(),
+            history.toArray(new float[0][]), estimates);
+    }
+
+    /**
+     * Get logarithm of count of registers in every counter
+     *
+     * @return precision from 4 to 16
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision should be from 4 to 16");
+        }
+        this.precision = precision;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Get direction of edges to follow, {@link Direction#CHILDREN} counts vertices
+     * reachable from every vertex, {@link Direction#PARENTS} counts vertices it is reachable from
+     *
+     * @return direction of edges
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    private Adjacency[] neighbours(Graph<?, ?> graph) {
+        int n = graph.verticesCount();
+        int[][] endpoints = Adjacency.endpoints(graph);
+        Adjacency children = Adjacency.of(n, endpoints[0], endpoints[1]);
+        Adjacency parents = Adjacency.of(n, endpoints[1], endpoints[0]);
+        switch (direction) {
+            case CHILDREN:
+                return new Adjacency[]{children};
+            case PARENTS:
+                return new Adjacency[]{parents};
+            default:
+                return new Adjacency[]{children, parents};
+        }
+    }
+
+    private static boolean isDirty(Adjacency[] neighbours, boolean[] modified, int vertex) {
+        for (Adjacency adjacency : neighbours) {
+            for (int j = adjacency.offsets[vertex]; j < adjacency.offsets[vertex + 1]; ++j) {
+                if (modified[adjacency.targets[j]]) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Maximum of every byte of two words, bytes are below 128
+     */
+    private static long max(long a, long b) {
+        // high bit of every byte is set where byte of a is not less than byte of b
+        long greater = ((a | HIGH_BITS) - b) & HIGH_BITS;
+        long mask = (greater >>> 7) * 0xFF;
+        return (a & mask) | (b & ~mask);
+    }
+
+    private static double estimate(long[] counters, int base, int words) {
+        int m = words * 8;
+        double sum = 0;
+        int zeros = 0;
+        for (int w = 0; w < words; ++w) {
+            long word = counters[base + w];
+            for (int shift = 0; shift < 64; shift += 8) {
+                int register = (int) (word >>> shift) & 0xFF;
+                sum += Double.longBitsToDouble((1023L - register) << 52);
+                if (register == 0) ++zeros;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more precise for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return estimate;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double sum(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static float[] toFloats(double[] values) {
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            floats[i] = (float) values[i];
+        }
+        return floats;
+    }
+}
@@ -0,0 +1,347 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Counts of small directed motifs: triangles regardless of direction, directed
+ * 3-cycles, feed-forward loops ({@code a -> b -> c} with {@code a -> c}) and
+ * reciprocal pairs ({@code a -> b -> a}). Parallel edges are counted once and
+ * loops are ignored. Per-vertex arrays hold count of motifs every vertex takes part in
+ * and are indexed by {@code Vertex.getIndex()}, their getters return new arrays.
+ * <p>
+ * Adjacency is made undirected, sorted and oriented from lower to higher degree once,
+ * so every triangle is found once by intersecting sorted neighbour arrays of its
+ * lowest vertex and of its middle vertex. Arrays of similar length are merged,
+ * short arrays are searched in long ones with galloping. Vertices are processed
+ * in parallel by ranges.
+ */
+public final class Motifs {
+
+    private static final int BLOCK = 256;
+    // galloping is used when the longer array is this many times longer than the shorter one
+    private static final int GALLOP_RATIO = 16;
+    private static final byte OUT = 1;
+    private static final byte IN = 2;
+
+    private final long triangles;
+    private final long cycles;
+    private final long feedForwardLoops;
+    private final long reciprocalPairs;
+    private final long[] vertexTriangles;
+    private final long[] vertexCycles;
+    private final long[] vertexFeedForwardLoops;
+    private final long[] vertexReciprocalPairs;
+
+    private Motifs(long triangles, long cycles, long feedForwardLoops, long reciprocalPairs,
+                   long[] vertexTriangles, long[] vertexCycles, long[] vertexFeedForwardLoops,
+                   long[] vertexReciprocalPairs) {
+        this.triangles = triangles;
+        this.cycles = cycles;
+        this.feedForwardLoops = feedForwardLoops;
+        this.reciprocalPairs = reciprocalPairs;
+        this.vertexTriangles = vertexTriangles;
+        this.vertexCycles = vertexCycles;
+        this.vertexFeedForwardLoops = vertexFeedForwardLoops;
+        this.vertexReciprocalPairs = vertexReciprocalPairs;
+    }
+
+    /**
+     * Count motifs of graph
+     *
+     * @param graph graph to count motifs in
+     * @return global and per-vertex counts
+     */
+    public static Motifs of(Graph<?, ?> graph) {
+        int n = graph.verticesCount();
+        int[][] endpoints = Adjacency.endpoints(graph);
+
+        // undirected adjacency, every entry is neighbour index shifted left by 2 with direction flags
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < endpoints[0].length; ++i) {
+            if (endpoints[0][i] != endpoints[1][i]) {
+                ++offsets[endpoints[0][i] + 1];
+                ++offsets[endpoints[1][i] + 1];
+            }
+        }
+        for (int v = 0; v < n; ++v) {
+            offsets[v + 1] += offsets[v];
+        }
+        long[] entries = new long[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < endpoints[0].length; ++i) {
+            int parent = endpoints[0][i];
+            int child = endpoints[1][i];
+            if (parent != child) {
+                entries[fill[parent]++] = (long) child << 2 | OUT;
+                entries[fill[child]++] = (long) parent << 2 | IN;
+            }
+        }
+
+        // sort neighbours and merge duplicates, degrees are counted without duplicates
+        int[] degrees = new int[n];
+        long[] vertexReciprocalPairs = new long[n];
+        blocks(n, (from, to) -> {
+            for (int v = from; v < to; ++v) {
+                int begin = offsets[v];
+                Arrays.sort(entries, begin, offsets[v + 1]);
+                int size = 0;
+                for (int j = begin; j < offsets[v + 1]; ++j) {
+                    if (size > 0 && entries[begin + size - 1] >>> 2 == entries[j] >>> 2) {
+                        entries[begin + size - 1] |= entries[j];
+                    } else {
+                        entries[begin + size++] = entries[j];
+                    }
+                }
+                degrees[v] = size;
+                for (int j = begin; j < begin + size; ++j) {
+                    if ((entries[j] & (OUT | IN)) == (OUT | IN)) ++vertexReciprocalPairs[v];
+                }
+            }
+        });
+
+        // keep neighbours of higher degree only, order of neighbours stays sorted by index
+        int[] forwardOffsets = new int[n + 1];
+        for (int v = 0; v < n; ++v) {
+            int count = 0;
+            for (int j = offsets[v]; j < offsets[v] + degrees[v]; ++j) {
+                if (isBefore(v, (int) (entries[j] >>> 2), degrees)) ++count;
+            }
+            forwardOffsets[v + 1] = forwardOffsets[v] + count;
+        }
+        int[] forward = new int[forwardOffsets[n]];
+        byte[] flags = new byte[forwardOffsets[n]];
+        blocks(n, (from, to) -> {
+            for (int v = from; v < to; ++v) {
+                int position = forwardOffsets[v];
+                for (int j = offsets[v]; j < offsets[v] + degrees[v]; ++j) {
+                    int neighbour = (int) (entries[j] >>> 2);
+                    if (isBefore(v, neighbour, degrees)) {
+                        forward[position] = neighbour;
+                        flags[position++] = (byte) (entries[j] & (OUT | IN));
+                    }
+                }
+            }
+        });
+
+        AtomicLongArray vertexTriangles = new AtomicLongArray(n);
+        AtomicLongArray vertexCycles = new AtomicLongArray(n);
+        AtomicLongArray vertexFeedForwardLoops = new AtomicLongArray(n);
+        LongAdder triangles = new LongAdder();
+        LongAdder cycles = new LongAdder();
+        LongAdder feedForwardLoops = new LongAdder();
+        blocks(n, (from, to) -> {
+            Counter counter = new Counter(forward, flags, vertexTriangles, vertexCycles, vertexFeedForwardLoops);
+            for (int v = from; v < to; ++v) {
+                for (int j = forwardOffsets[v]; j < forwardOffsets[v + 1]; ++j) {
+                    int u = forward[j];
+                    counter.intersect(v, u, flags[j],
+                        forwardOffsets[v], forwardOffsets[v + 1], forwardOffsets[u], forwardOffsets[u + 1]);
+                }
+            }
+            triangles.add(counter.triangles);
+            cycles.add(counter.cycles);
+            feedForwardLoops.add(counter.feedForwardLoops);
+        });
+
+        long reciprocalPairs = 0;
+        for (long count : vertexReciprocalPairs) {
+            reciprocalPairs += count;
+        }
+        return new Motifs(triangles.sum(), cycles.sum(), feedForwardLoops.sum(), reciprocalPairs / 2,
+            toArray(vertexTriangles), toArray(vertexCycles), toArray(vertexFeedForwardLoops), vertexReciprocalPairs);
+    }
+
+    /**
+     * Get count of triangles regardless of edges directions
+     *
+     * @return count of triangles
+     */
+    public long getTriangles() {
+        return triangles;
+    }
+
+    /**
+     * Get count of directed cycles {@code a -> b -> c -> a}
+     *
+     * @return count of 3-cycles
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Get count of feed-forward loops {@code a -> b -> c, a -> c}
+     *
+     * @return count of feed-forward loops
+     */
+    public long getFeedForwardLoops() {
+        return feedForwardLoops;
+    }
+
+    /**
+     * Get count of pairs of vertices linked in both directions
+     *
+     * @return count of 2-cycles
+     */
+    public long getReciprocalPairs() {
+        return reciprocalPairs;
+    }
+
+    public long[] getVertexTriangles() {
+        return vertexTriangles.clone();
+    }
+
+    public long[] getVertexCycles() {
+        return vertexCycles.clone();
+    }
+
+    public long[] getVertexFeedForwardLoops() {
+        return vertexFeedForwardLoops.clone();
+    }
+
+    public long[] getVertexReciprocalPairs() {
+        return vertexReciprocalPairs.clone();
+    }
+
+    private static boolean isBefore(int a, int b, int[] degrees) {
+        return degrees[a] < degrees[b] || degrees[a] == degrees[b] && a < b;
+    }
+
+    private static long[] toArray(AtomicLongArray array) {
+        long[] result = new long[array.length()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = array.get(i);
+        }
+        return result;
+    }
+
+    private static void blocks(int n, RangeAction action) {
+        int count = (n + BLOCK - 1) / BLOCK;
+        IntStream.range(0, count)
+            .parallel()
+            .forEach(b -> action.apply(b * BLOCK, Math.min(n, (b + 1) * BLOCK)));
+    }
+
+    private interface RangeAction {
+        void apply(int from, int to);
+    }
+
+    /**
+     * Finds and classifies triangles of one range of vertices, totals are kept locally
+     */
+    private static final class Counter {
+
+        private final int[] forward;
+        private final byte[] flags;
+        private final AtomicLongArray vertexTriangles;
+        private final AtomicLongArray vertexCycles;
+        private final AtomicLongArray vertexFeedForwardLoops;
+        private long triangles;
+        private long cycles;
+        private long feedForwardLoops;
+
+        Counter(int[] forward, byte[] flags, AtomicLongArray vertexTriangles,
+                AtomicLongArray vertexCycles, AtomicLongArray vertexFeedForwardLoops) {
+            this.forward = forward;
+            this.flags = flags;
+            this.vertexTriangles = vertexTriangles;
+            this.vertexCycles = vertexCycles;
+            this.vertexFeedForwardLoops = vertexFeedForwardLoops;
+        }
+
+        /**
+         * Find common forward neighbours of v and u, ranges are sorted by vertex index
+         */
+        void intersect(int v, int u, byte vu, int i, int iEnd, int j, int jEnd) {
+            int lengthV = iEnd - i;
+            int lengthU = jEnd - j;
+            if (lengthV == 0 || lengthU == 0) return;
+            if (lengthV > GALLOP_RATIO * lengthU) {
+                for (; j < jEnd && i < iEnd; ++j) {
+                    i = gallop(forward[j], i, iEnd);
+                    if (i < iEnd && forward[i] == forward[j]) found(v, u, forward[i], vu, flags[i], flags[j]);
+                }
+            } else if (lengthU > GALLOP_RATIO * lengthV) {
+                for (; i < iEnd && j < jEnd; ++i) {
+                    j = gallop(forward[i], j, jEnd);
+                    if (j < jEnd && forward[j] == forward[i]) found(v, u, forward[i], vu, flags[i], flags[j]);
+                }
+            } else {
+                while (i < iEnd && j < jEnd) {
+                    int a = forward[i];
+                    int b = forward[j];
+                    if (a < b) {
+                        ++i;
+                    } else if (a > b) {
+                        ++j;
+                    } else {
+                        found(v, u, a, vu, flags[i], flags[j]);
+                        ++i;
+                        ++j;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Find position of the first element not less than value with exponential and then binary search
+         */
+        private int gallop(int value, int from, int to) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < to && forward[high] < value) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, to);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (forward[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Classify triangle by directions of its edges, flags are from the point of view of the first vertex
+         */
+        private void found(int v, int u, int w, byte vu, byte vw, byte uw) {
+            boolean vToU = (vu & OUT) != 0;
+            boolean uToV = (vu & IN) != 0;
+            boolean vToW = (vw & OUT) != 0;
+            boolean wToV = (vw & IN) != 0;
+            boolean uToW = (uw & OUT) != 0;
+            boolean wToU = (uw & IN) != 0;
+            int cycle = (vToU && uToW && wToV ? 1 : 0) + (vToW && wToU && uToV ? 1 : 0);
+            int loops = (vToU && uToW && vToW ? 1 : 0) + (vToW && wToU && vToU ? 1 : 0)
+                + (uToV && vToW && uToW ? 1 : 0) + (uToW && wToV && uToV ? 1 : 0)
+                + (wToV && vToU && wToU ? 1 : 0) + (wToU && uToV && wToV ? 1 : 0);
+            ++triangles;
+            cycles += cycle;
+            feedForwardLoops += loops;
+            vertexTriangles.incrementAndGet(v);
+            vertexTriangles.incrementAndGet(u);
+            vertexTriangles.incrementAndGet(w);
+            if (cycle > 0) {
+                vertexCycles.addAndGet(v, cycle);
+                vertexCycles.addAndGet(u, cycle);
+                vertexCycles.addAndGet(w, cycle);
+            }
+            if (loops > 0) {
+                vertexFeedForwardLoops.addAndGet(v, loops);
+                vertexFeedForwardLoops.addAndGet(u, loops);
+                vertexFeedForwardLoops.addAndGet(w, loops);
+            }
+        }
+    }
+}
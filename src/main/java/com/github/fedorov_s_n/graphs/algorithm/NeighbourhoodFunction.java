@@ -0,0 +1,85 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+/**
+ * Estimated neighbourhood function of a graph: count of pairs of vertices within
+ * {@code t} hops for every {@code t}, and estimated reach of every vertex.
+ * Vertex arrays are indexed by {@code Vertex.getIndex()}, every vertex is counted
+ * as reachable from itself. Reach within every count of hops is kept in single
+ * precision to save memory. Getters return new arrays.
+ */
+public final class NeighbourhoodFunction {
+
+    private final double[] function;
+    private final float[][] history;
+    private final double[] reach;
+
+    NeighbourhoodFunction(double[] function, float[][] history, double[] reach) {
+        this.function = function;
+        this.history = history;
+        this.reach = reach;
+    }
+
+    /**
+     * Get estimated count of pairs of vertices within {@code t} hops, indexed by {@code t}.
+     * The last value is count of all reachable pairs.
+     *
+     * @return neighbourhood function
+     */
+    public double[] getFunction() {
+        return function.clone();
+    }
+
+    /**
+     * Get estimated count of vertices reachable from every vertex
+     *
+     * @return reach of vertices
+     */
+    public double[] getReach() {
+        return reach.clone();
+    }
+
+    /**
+     * Get estimated count of vertices reachable from every vertex within given count of hops
+     *
+     * @param hops maximal distance, non-negative
+     * @return reach of vertices within distance
+     * @throws IllegalArgumentException if hops is negative
+     */
+    public double[] getReach(int hops) {
+        if (hops < 0) {
+            throw new IllegalArgumentException("Hops should be non-negative, got " + hops);
+        }
+        float[] values = history[Math.min(hops, history.length - 1)];
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * Get effective diameter, the distance 90% of reachable pairs are within
+     *
+     * @return interpolated effective diameter
+     */
+    public double getEffectiveDiameter() {
+        return getEffectiveDiameter(0.9);
+    }
+
+    /**
+     * Get distance the given fraction of reachable pairs are within, interpolated
+     * linearly between integer distances
+     *
+     * @param fraction fraction of reachable pairs from 0 to 1
+     * @return interpolated distance
+     */
+    public double getEffectiveDiameter(double fraction) {
+        double total = function[function.length - 1] * fraction;
+        int t = 0;
+        while (t < function.length - 1 && function[t] < total) {
+            ++t;
+        }
+        if (t == 0 || function[t] == function[t - 1]) return t;
+        return t - 1 + (total - function[t - 1]) / (function[t] - function[t - 1]);
+    }
+}
@@ -0,0 +1,302 @@
+package com.github.fedorov_s_n.graphs.algorithm;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Permutation of graph vertices that places related vertices close to each other,
+ * so traversals of the reordered graph touch memory more locally. Edges are treated
+ * as undirected. Use {@code Graph.reorder} to create the reordered graph.
+ */
+public final class VertexOrder {
+
+    /**
+     * Count of recently placed vertices Gorder compares candidates with
+     */
+    private static final int GORDER_WINDOW = 5;
+
+    private final int[] order;
+    private final int[] positions;
+
+    VertexOrder(int[] order) {
+        this.order = order;
+        this.positions = new int[order.length];
+        for (int i = 0; i < order.length; ++i) {
+            positions[order[i]] = i;
+        }
+    }
+
+    /**
+     * Strategy to order vertices
+     */
+    public enum Strategy {
+
+        /**
+         * Reverse Cuthill-McKee: breadth-first search from a vertex of minimal degree
+         * visiting neighbours in order of increasing degree, reversed. Minimizes bandwidth
+         * of adjacency matrix, good for meshes and road-like graphs.
+         */
+        REVERSE_CUTHILL_MCKEE,
+
+        /**
+         * Breadth-first search from the first vertex of every component
+         */
+        BREADTH_FIRST,
+
+        /**
+         * Greedy Gorder: every next vertex is the one sharing most neighbours with and
+         * adjacent to most of the few vertices placed before it. Neighbours of vertices
+         * with degree above square root of vertices count are not counted.
+         */
+        GORDER,
+
+        /**
+         * Decreasing degree, so vertices with most edges are placed together
+         */
+        DEGREE
+    }
+
+    /**
+     * Calculate order of graph vertices
+     *
+     * @param graph    graph to order
+     * @param strategy strategy to order with
+     * @return new order of vertices
+     */
+    public static VertexOrder of(Graph<?, ?> graph, Strategy strategy) {
+        Adjacency neighbours = undirected(graph);
+        switch (strategy) {
+            case REVERSE_CUTHILL_MCKEE:
+                return new VertexOrder(reverseCuthillMcKee(neighbours));
+            case BREADTH_FIRST:
+                return new VertexOrder(breadthFirst(neighbours, identity(neighbours.size())));
+            case GORDER:
+                return new VertexOrder(gorder(neighbours));
+            default:
+                int[] ascending = byDegree(neighbours);
+                int n = ascending.length;
+                int[] descending = new int[n];
+                for (int i = 0; i < n; ++i) {
+                    descending[i] = ascending[n - 1 - i];
+                }
+                return new VertexOrder(descending);
+        }
+    }
+
+    /**
+     * Get old indexes of vertices in new order
+     *
+     * @return old vertex index for every new position
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Get new positions of vertices
+     *
+     * @return new position indexed by {@code Vertex.getIndex()} in the original graph
+     */
+    public int[] getPositions() {
+        return positions;
+    }
+
+    private static Adjacency undirected(Graph<?, ?> graph) {
+        int[][] endpoints = Adjacency.endpoints(graph);
+        int m = endpoints[0].length;
+        int[] sources = Arrays.copyOf(endpoints[0], m * 2);
+        int[] targets = Arrays.copyOf(endpoints[1], m * 2);
+        System.arraycopy(endpoints[1], 0, sources, m, m);
+        System.arraycopy(endpoints[0], 0, targets, m, m);
+        return Adjacency.of(graph.verticesCount(), sources, targets);
+    }
+
+    private static int[] identity(int n) {
+        int[] identity = new int[n];
+        for (int i = 0; i < n; ++i) {
+            identity[i] = i;
+        }
+        return identity;
+    }
+
+    /**
+     * Sort vertices by increasing degree with counting sort, keeping order of equal ones
+     */
+    private static int[] byDegree(Adjacency neighbours) {
+        int n = neighbours.size();
+        int maxDegree = 0;
+        for (int v = 0; v < n; ++v) {
+            maxDegree = Math.max(maxDegree, neighbours.degree(v));
+        }
+        int[] starts = new int[maxDegree + 2];
+        for (int v = 0; v < n; ++v) {
+            ++starts[neighbours.degree(v) + 1];
+        }
+        for (int d = 0; d <= maxDegree; ++d) {
+            starts[d + 1] += starts[d];
+        }
+        int[] sorted = new int[n];
+        for (int v = 0; v < n; ++v) {
+            sorted[starts[neighbours.degree(v)]++] = v;
+        }
+        return sorted;
+    }
+
+    /**
+     * Visit vertices breadth-first, starting new search from the first unvisited start
+     */
+    private static int[] breadthFirst(Adjacency neighbours, int[] starts) {
+        int n = neighbours.size();
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int tail = 0;
+        for (int start : starts) {
+            if (visited[start]) continue;
+            visited[start] = true;
+            int head = tail;
+            order[tail++] = start;
+            while (head < tail) {
+                int v = order[head++];
+                for (int j = neighbours.offsets[v]; j < neighbours.offsets[v + 1]; ++j) {
+                    int u = neighbours.targets[j];
+                    if (!visited[u]) {
+                        visited[u] = true;
+                        order[tail++] = u;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    private static int[] reverseCuthillMcKee(Adjacency neighbours) {
+        int n = neighbours.size();
+        int[] ascending = byDegree(neighbours);
+        // appending every vertex to rows of its neighbours in order of increasing degree
+        // sorts every row by degree in linear time
+        int[] sources = new int[neighbours.targets.length];
+        int[] targets = new int[neighbours.targets.length];
+        int i = 0;
+        for (int u : ascending) {
+            for (int j = neighbours.offsets[u]; j < neighbours.offsets[u + 1]; ++j) {
+                sources[i] = neighbours.targets[j];
+                targets[i++] = u;
+            }
+        }
+        int[] order = breadthFirst(Adjacency.of(n, sources, targets), ascending);
+        for (int left = 0, right = n - 1; left < right; ++left, --right) {
+            int t = order[left];
+            order[left] = order[right];
+            order[right] = t;
+        }
+        return order;
+    }
+
+    private static int[] gorder(Adjacency neighbours) {
+        int n = neighbours.size();
+        int hub = (int) Math.sqrt(n);
+        UnitHeap heap = new UnitHeap(n);
+        int[] order = new int[n];
+        int[] ascending = byDegree(neighbours);
+        // start from the vertex of maximal degree
+        int next = n == 0 ? -1 : ascending[n - 1];
+        for (int placed = 0; placed < n; ++placed) {
+            heap.remove(next);
+            order[placed] = next;
+            score(neighbours, heap, next, hub, 1);
+            if (placed >= GORDER_WINDOW) {
+                score(neighbours, heap, order[placed - GORDER_WINDOW], hub, -1);
+            }
+            next = heap.max();
+        }
+        return order;
+    }
+
+    /**
+     * Change scores of vertices that are neighbours or siblings of vertex
+     */
+    private static void score(Adjacency neighbours, UnitHeap heap, int vertex, int hub, int delta) {
+        for (int j = neighbours.offsets[vertex]; j < neighbours.offsets[vertex + 1]; ++j) {
+            int u = neighbours.targets[j];
+            heap.change(u, delta);
+            if (neighbours.degree(u) > hub) continue;
+            for (int k = neighbours.offsets[u]; k < neighbours.offsets[u + 1]; ++k) {
+                int sibling = neighbours.targets[k];
+                if (sibling != vertex) heap.change(sibling, delta);
+            }
+        }
+    }
+
+    /**
+     * Priority queue of vertices with integer keys changed by small steps,
+     * vertices with equal keys are kept in doubly linked lists
+     */
+    private static final class UnitHeap {
+
+        private final int[] keys;
+        private final int[] previous;
+        private final int[] next;
+        private final boolean[] removed;
+        private int[] heads;
+        private int top;
+
+        UnitHeap(int n) {
+            keys = new int[n];
+            previous = new int[n];
+            next = new int[n];
+            removed = new boolean[n];
+            heads = new int[16];
+            Arrays.fill(heads, -1);
+            for (int v = n - 1; v >= 0; --v) {
+                link(v);
+            }
+        }
+
+        void change(int vertex, int delta) {
+            if (removed[vertex]) return;
+            unlink(vertex);
+            keys[vertex] += delta;
+            link(vertex);
+        }
+
+        void remove(int vertex) {
+            unlink(vertex);
+            removed[vertex] = true;
+        }
+
+        /**
+         * Get vertex with maximal key or -1 if heap is empty
+         */
+        int max() {
+            while (top > 0 && heads[top] < 0) {
+                --top;
+            }
+            return heads[top];
+        }
+
+        private void link(int vertex) {
+            int key = keys[vertex];
+            if (key >= heads.length) {
+                int length = heads.length;
+                heads = Arrays.copyOf(heads, Math.max(key + 1, length * 2));
+                Arrays.fill(heads, length, heads.length, -1);
+            }
+            int head = heads[key];
+            previous[vertex] = -1;
+            next[vertex] = head;
+            if (head >= 0) previous[head] = vertex;
+            heads[key] = vertex;
+            if (key > top) top = key;
+        }
+
+        private void unlink(int vertex) {
+            if (previous[vertex] >= 0) {
+                next[previous[vertex]] = next[vertex];
+            } else {
+                heads[keys[vertex]] = next[vertex];
+            }
+            if (next[vertex] >= 0) previous[next[vertex]] = previous[vertex];
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.fedorov_s_n.graphs.partition;
+
+import java.util.Arrays;
+
+/**
+ * In-process transport that hands message arrays between partitions without copying
+ * when possible. Every sender writes only its own outbox, so no locking is needed.
+ */
+public final class LocalTransport implements Transport {
+
+    private final int[][][] outbox;
+    private final int[][] lengths;
+    private int[][][] inbox;
+
+    /**
+     * Create transport for the given count of partitions
+     *
+     * @param partitions count of partitions
+     */
+    public LocalTransport(int partitions) {
+        this.outbox = new int[partitions][partitions][];
+        this.lengths = new int[partitions][partitions];
+        this.inbox = new int[partitions][partitions][];
+    }
+
+    @Override
+    public void send(int from, int to, int[] message) {
+        int[] current = outbox[from][to];
+        int length = lengths[from][to];
+        if (current == null) {
+            outbox[from][to] = message;
+        } else if (message.length > 0) {
+            // the first message is owned by caller, so it's always copied before appending
+            if (current.length < length + message.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, length + message.length));
+                outbox[from][to] = current;
+            }
+            System.arraycopy(message, 0, current, length, message.length);
+        }
+        lengths[from][to] = length + message.length;
+    }
+
+    @Override
+    public void flush() {
+        int partitions = outbox.length;
+        int[][][] delivered = new int[partitions][partitions][];
+        for (int from = 0; from < partitions; ++from) {
+            for (int to = 0; to < partitions; ++to) {
+                int[] message = outbox[from][to];
+                if (message != null) {
+                    int length = lengths[from][to];
+                    delivered[to][from] = message.length == length ? message : Arrays.copyOf(message, length);
+                    outbox[from][to] = null;
+                    lengths[from][to] = 0;
+                }
+            }
+        }
+        inbox = delivered;
+    }
+
+    @Override
+    public int[][] receive(int to) {
+        int[][] messages = inbox[to];
+        inbox[to] = new int[inbox.length][];
+        return messages;
+    }
+}
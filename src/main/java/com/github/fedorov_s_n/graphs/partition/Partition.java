@@ -0,0 +1,127 @@
+package com.github.fedorov_s_n.graphs.partition;
+
+/**
+ * Part of a {@link PartitionedGraph}. Owned vertices have local indexes
+ * {@code 0..size()-1}, outgoing edges of owned vertices are kept in CSR form.
+ * Edges leading to vertices owned by other partitions point to ghost vertices with
+ * local indexes {@code size()..size()+ghostsCount()-1}. Ghosts are grouped by owner
+ * partition and sorted by local index at the owner. For every other partition the
+ * mirror table lists owned vertices that are ghosts there, in the same order,
+ * so boundary messages can be positional.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public final class Partition<V, E> {
+
+    final int id;
+    final int[] ids;
+    final Object[] parameters;
+    final int[] offsets;
+    final int[] targets;
+    final Object[] edgeParameters;
+    final int[] ghostOffsets;
+    final int[] ghostRemotes;
+    final int[] ghostIds;
+    int[] mirrorOffsets;
+    int[] mirrors;
+
+    Partition(int id, int[] ids, Object[] parameters, int[] offsets, int[] targets, Object[] edgeParameters,
+              int[] ghostOffsets, int[] ghostRemotes, int[] ghostIds) {
+        this.id = id;
+        this.ids = ids;
+        this.parameters = parameters;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.edgeParameters = edgeParameters;
+        this.ghostOffsets = ghostOffsets;
+        this.ghostRemotes = ghostRemotes;
+        this.ghostIds = ghostIds;
+    }
+
+    /**
+     * Get index of this partition
+     *
+     * @return index of partition
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get count of vertices owned by this partition
+     *
+     * @return count of owned vertices
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Get count of edges starting in this partition
+     *
+     * @return count of edges
+     */
+    public int edgesCount() {
+        return targets.length;
+    }
+
+    /**
+     * Get count of vertices of other partitions referenced by edges of this one
+     *
+     * @return count of ghost vertices
+     */
+    public int ghostsCount() {
+        return ghostIds.length;
+    }
+
+    /**
+     * Get index in the source graph of owned or ghost vertex
+     *
+     * @param local local index of vertex
+     * @return index of vertex in the graph this partition was built from
+     */
+    public int getVertexId(int local) {
+        return local < ids.length ? ids[local] : ghostIds[local - ids.length];
+    }
+
+    /**
+     * Get parameter of owned vertex
+     *
+     * @param local local index of vertex
+     * @return vertex parameter
+     */
+    @SuppressWarnings("unchecked")
+    public V getParameter(int local) {
+        return (V) parameters[local];
+    }
+
+    /**
+     * Get owner partition of a ghost vertex
+     *
+     * @param local local index of ghost vertex
+     * @return index of partition that owns the vertex
+     */
+    public int getOwner(int local) {
+        int ghost = local - ids.length;
+        int low = 0;
+        int high = ghostOffsets.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (ghostOffsets[middle] <= ghost) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    int countEdgesToGhosts() {
+        int count = 0;
+        for (int target : targets) {
+            if (target >= ids.length) ++count;
+        }
+        return count;
+    }
+}
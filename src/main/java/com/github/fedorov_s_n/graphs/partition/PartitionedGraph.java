@@ -0,0 +1,594 @@
+package com.github.fedorov_s_n.graphs.partition;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Graph split to partitions that are processed in parallel. Every partition owns a
+ * subset of vertices and their outgoing edges, see {@link Partition}. Partitions
+ * never read each other's data, everything they need to know about vertices of
+ * other partitions is passed through {@link Transport}, so the in-process
+ * transport may be replaced with a network one. Graphs derived with {@code map}
+ * and {@code filter} share the transport, so operations exchanging messages
+ * through it are serialized by locking the transport.
+ * <p>
+ * Vertices are identified by their index in the source graph the partitions were built
+ * from, identifiers are persisted by {@code map} and {@code filter}.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public final class PartitionedGraph<V, E> {
+
+    private final Partition<V, E>[] partitions;
+    private final int[] owners;
+    private final int[] locals;
+    private final Transport transport;
+
+    /**
+     * Split graph to partitions with default {@link Partitioner} and exchange
+     * boundary messages with {@link LocalTransport}
+     *
+     * @param graph      graph to split
+     * @param partitions count of partitions
+     * @return partitioned graph
+     */
+    public static <V, E> PartitionedGraph<V, E> of(Graph<V, E> graph, int partitions) {
+        int[] assignment = new Partitioner().partition(graph, partitions);
+        return new PartitionedGraph<>(graph, assignment, partitions, new LocalTransport(partitions));
+    }
+
+    /**
+     * Split graph to partitions
+     *
+     * @param graph      graph to split
+     * @param assignment partition of every vertex indexed by {@code Vertex.getIndex()}
+     * @param partitions count of partitions
+     * @param transport  transport for boundary messages
+     */
+    public PartitionedGraph(Graph<V, E> graph, int[] assignment, int partitions, Transport transport) {
+        int n = graph.verticesCount();
+        if (assignment.length != n) {
+            throw new IllegalArgumentException("Assignment is calculated for another graph");
+        }
+        this.transport = transport;
+        this.owners = assignment.clone();
+        this.locals = new int[n];
+        int[] starts = new int[partitions + 1];
+        for (int v = 0; v < n; ++v) {
+            if (assignment[v] < 0 || assignment[v] >= partitions) {
+                throw new IllegalArgumentException("Vertex " + v + " is assigned to absent partition " + assignment[v]);
+            }
+            locals[v] = starts[assignment[v] + 1]++;
+        }
+        for (int p = 0; p < partitions; ++p) {
+            starts[p + 1] += starts[p];
+        }
+        int[] members = new int[n];
+        for (int v = 0; v < n; ++v) {
+            members[starts[assignment[v]] + locals[v]] = v;
+        }
+        List<Vertex<V, E>> vertices = graph.vertices().collect(Collectors.toList());
+
+        // outgoing edges of all vertices grouped by parent
+        int m = graph.edgesCount();
+        int[] parents = new int[m];
+        int[] children = new int[m];
+        Object[] parameters = new Object[m];
+        int[] edgeOffsets = new int[n + 1];
+        Iterator<Edge<V, E>> iterator = graph.edges().iterator();
+        for (int i = 0; i < m; ++i) {
+            Edge<V, E> edge = iterator.next();
+            parents[i] = edge.getParent().getIndex();
+            children[i] = edge.getChild().getIndex();
+            parameters[i] = edge.getParameter();
+            ++edgeOffsets[parents[i] + 1];
+        }
+        for (int v = 0; v < n; ++v) {
+            edgeOffsets[v + 1] += edgeOffsets[v];
+        }
+        int[] fill = Arrays.copyOf(edgeOffsets, n);
+        int[] sortedChildren = new int[m];
+        Object[] sortedParameters = new Object[m];
+        for (int i = 0; i < m; ++i) {
+            int position = fill[parents[i]]++;
+            sortedChildren[position] = children[i];
+            sortedParameters[position] = parameters[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        Partition<V, E>[] built = new Partition[partitions];
+        parallel(partitions, p -> {
+            int size = starts[p + 1] - starts[p];
+            int[] ids = Arrays.copyOfRange(members, starts[p], starts[p + 1]);
+            Object[] vertexParameters = new Object[size];
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < size; ++i) {
+                vertexParameters[i] = vertices.get(ids[i]).getParameter();
+                offsets[i + 1] = offsets[i] + edgeOffsets[ids[i] + 1] - edgeOffsets[ids[i]];
+            }
+            // ghosts are keyed by owner and local index at owner, so sorting groups them by owner
+            long[] keys = new long[offsets[size]];
+            int count = 0;
+            for (int i = 0; i < size; ++i) {
+                for (int j = edgeOffsets[ids[i]]; j < edgeOffsets[ids[i] + 1]; ++j) {
+                    int child = sortedChildren[j];
+                    if (owners[child] != p) keys[count++] = key(owners[child], locals[child]);
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            int ghosts = 0;
+            for (int i = 0; i < count; ++i) {
+                if (i == 0 || keys[i] != keys[i - 1]) keys[ghosts++] = keys[i];
+            }
+            int[] ghostOffsets = new int[partitions + 1];
+            int[] ghostRemotes = new int[ghosts];
+            int[] ghostIds = new int[ghosts];
+            for (int g = 0; g < ghosts; ++g) {
+                int owner = (int) (keys[g] >>> 32);
+                ghostRemotes[g] = (int) keys[g];
+                ghostIds[g] = members[starts[owner] + ghostRemotes[g]];
+                ++ghostOffsets[owner + 1];
+            }
+            for (int q = 0; q < partitions; ++q) {
+                ghostOffsets[q + 1] += ghostOffsets[q];
+            }
+            int[] targets = new int[offsets[size]];
+            Object[] edgeParameters = new Object[offsets[size]];
+            for (int i = 0; i < size; ++i) {
+                int position = offsets[i];
+                for (int j = edgeOffsets[ids[i]]; j < edgeOffsets[ids[i] + 1]; ++j, ++position) {
+                    int child = sortedChildren[j];
+                    targets[position] = owners[child] == p
+                        ? locals[child]
+                        : size + Arrays.binarySearch(keys, 0, ghosts, key(owners[child], locals[child]));
+                    edgeParameters[position] = sortedParameters[j];
+                }
+            }
+            built[p] = new Partition<>(p, ids, vertexParameters, offsets, targets, edgeParameters,
+                ghostOffsets, ghostRemotes, ghostIds);
+        });
+
+        // mirrors of partition p for q are exactly ghosts of q owned by p
+        parallel(partitions, p -> {
+            int[] mirrorOffsets = new int[partitions + 1];
+            for (int q = 0; q < partitions; ++q) {
+                mirrorOffsets[q + 1] = mirrorOffsets[q] + built[q].ghostOffsets[p + 1] - built[q].ghostOffsets[p];
+            }
+            int[] mirrors = new int[mirrorOffsets[partitions]];
+            for (int q = 0; q < partitions; ++q) {
+                System.arraycopy(built[q].ghostRemotes, built[q].ghostOffsets[p],
+                    mirrors, mirrorOffsets[q], mirrorOffsets[q + 1] - mirrorOffsets[q]);
+            }
+            built[p].mirrorOffsets = mirrorOffsets;
+            built[p].mirrors = mirrors;
+        });
+        this.partitions = built;
+    }
+
+    private PartitionedGraph(Partition<V, E>[] partitions, int ids, Transport transport) {
+        this.partitions = partitions;
+        this.transport = transport;
+        this.owners = new int[ids];
+        this.locals = new int[ids];
+        Arrays.fill(owners, -1);
+        for (Partition<V, E> partition : partitions) {
+            for (int i = 0; i < partition.ids.length; ++i) {
+                owners[partition.ids[i]] = partition.id;
+                locals[partition.ids[i]] = i;
+            }
+        }
+    }
+
+    /**
+     * Get count of partitions
+     *
+     * @return count of partitions
+     */
+    public int partitionsCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Get partition by index
+     *
+     * @param index index of partition
+     * @return partition
+     */
+    public Partition<V, E> getPartition(int index) {
+        return partitions[index];
+    }
+
+    /**
+     * Get count of vertices in all partitions
+     *
+     * @return count of vertices
+     */
+    public int verticesCount() {
+        return Arrays.stream(partitions).mapToInt(Partition::size).sum();
+    }
+
+    /**
+     * Get count of edges in all partitions
+     *
+     * @return count of edges
+     */
+    public int edgesCount() {
+        return Arrays.stream(partitions).mapToInt(Partition::edgesCount).sum();
+    }
+
+    /**
+     * Get count of edges connecting vertices of different partitions
+     *
+     * @return edge cut
+     */
+    public int edgeCut() {
+        return Arrays.stream(partitions).mapToInt(Partition::countEdgesToGhosts).sum();
+    }
+
+    /**
+     * Get partition that owns a vertex
+     *
+     * @param id index of vertex in the source graph
+     * @return index of partition or -1 if there is no such vertex
+     */
+    public int getOwner(int id) {
+        return owners[id];
+    }
+
+    /**
+     * Get transport used to exchange boundary messages
+     *
+     * @return transport
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Create new partitioned graph with vertices and edges parametrized by mapped values,
+     * persisting graph structure and partitioning. Partitions are mapped in parallel.
+     *
+     * @param <V2>         type of created graph vertices parameters
+     * @param <E2>         type of created graph edges parameters
+     * @param vertexMapper function to map vertices parameters
+     * @param edgeMapper   function to map edges parameters
+     * @return new partitioned graph
+     */
+    public <V2, E2> PartitionedGraph<V2, E2> map(Function<V, V2> vertexMapper, Function<E, E2> edgeMapper) {
+        @SuppressWarnings("unchecked")
+        Partition<V2, E2>[] mapped = new Partition[partitions.length];
+        parallel(partitions.length, p -> {
+            Partition<V, E> partition = partitions[p];
+            Object[] vertexParameters = new Object[partition.parameters.length];
+            for (int i = 0; i < vertexParameters.length; ++i) {
+                vertexParameters[i] = vertexMapper.apply(partition.getParameter(i));
+            }
+            Object[] edgeParameters = new Object[partition.edgeParameters.length];
+            for (int i = 0; i < edgeParameters.length; ++i) {
+                @SuppressWarnings("unchecked")
+                E parameter = (E) partition.edgeParameters[i];
+                edgeParameters[i] = edgeMapper.apply(parameter);
+            }
+            mapped[p] = new Partition<>(p, partition.ids, vertexParameters, partition.offsets, partition.targets,
+                edgeParameters, partition.ghostOffsets, partition.ghostRemotes, partition.ghostIds);
+            mapped[p].mirrorOffsets = partition.mirrorOffsets;
+            mapped[p].mirrors = partition.mirrors;
+        });
+        return new PartitionedGraph<>(mapped, owners.length, transport);
+    }
+
+    /**
+     * Create new partitioned graph with vertices parametrized by mapped values
+     *
+     * @param <V2>         type of created graph vertices parameters
+     * @param vertexMapper function to map vertices parameters
+     * @return new partitioned graph
+     */
+    public <V2> PartitionedGraph<V2, E> map(Function<V, V2> vertexMapper) {
+        return map(vertexMapper, Function.identity());
+    }
+
+    /**
+     * Create new partitioned graph with edges parametrized by mapped values
+     *
+     * @param <E2>       type of created graph edges parameters
+     * @param edgeMapper function to map edges parameters
+     * @return new partitioned graph
+     */
+    public <E2> PartitionedGraph<V, E2> mapEdges(Function<E, E2> edgeMapper) {
+        return map(Function.identity(), edgeMapper);
+    }
+
+    /**
+     * Create new partitioned graph with vertices and edges that pass through filters.
+     * Edges connected to removed vertices are removed. Vertices stay in their partitions.
+     * Partitions learn which ghosts are removed from boundary messages.
+     *
+     * @param vertexPredicate function that determines if vertex with the parameter should persist
+     * @param edgePredicate   function that determines if edge with the parameter should persist
+     * @return new partitioned graph
+     */
+    public PartitionedGraph<V, E> filter(Predicate<V> vertexPredicate, Predicate<E> edgePredicate) {
+        synchronized (transport) {
+            int k = partitions.length;
+            int[][] renumbering = new int[k][];
+            // owners decide which vertices persist and send new local indexes to partitions having them as ghosts
+            parallel(k, p -> {
+                Partition<V, E> partition = partitions[p];
+                int[] renumber = new int[partition.size()];
+                int count = 0;
+                for (int i = 0; i < renumber.length; ++i) {
+                    renumber[i] = vertexPredicate.test(partition.getParameter(i)) ? count++ : -1;
+                }
+                renumbering[p] = renumber;
+                for (int q = 0; q < k; ++q) {
+                    int from = partition.mirrorOffsets[q];
+                    int to = partition.mirrorOffsets[q + 1];
+                    if (from == to) continue;
+                    int[] message = new int[to - from];
+                    for (int j = from; j < to; ++j) {
+                        message[j - from] = renumber[partition.mirrors[j]];
+                    }
+                    transport.send(p, q, message);
+                }
+            });
+            transport.flush();
+
+            // partitions rebuild their edges and tell owners which ghosts are still referenced
+            @SuppressWarnings("unchecked")
+            Partition<V, E>[] filtered = new Partition[k];
+            parallel(k, q -> {
+                Partition<V, E> partition = partitions[q];
+                int[][] received = transport.receive(q);
+                int size = partition.size();
+                int[] renumber = renumbering[q];
+                int[] ghostRemotes = new int[partition.ghostsCount()];
+                for (int o = 0; o < k; ++o) {
+                    for (int g = partition.ghostOffsets[o]; g < partition.ghostOffsets[o + 1]; ++g) {
+                        ghostRemotes[g] = received[o][g - partition.ghostOffsets[o]];
+                    }
+                }
+                int newSize = 0;
+                for (int value : renumber) {
+                    if (value >= 0) ++newSize;
+                }
+                int[] ids = new int[newSize];
+                Object[] vertexParameters = new Object[newSize];
+                int[] offsets = new int[newSize + 1];
+                int[] targets = new int[partition.targets.length];
+                Object[] edgeParameters = new Object[partition.targets.length];
+                int[] ghostRenumber = new int[ghostRemotes.length];
+                Arrays.fill(ghostRenumber, -1);
+                int count = 0;
+                for (int i = 0; i < size; ++i) {
+                    if (renumber[i] < 0) continue;
+                    ids[renumber[i]] = partition.ids[i];
+                    vertexParameters[renumber[i]] = partition.parameters[i];
+                    for (int j = partition.offsets[i]; j < partition.offsets[i + 1]; ++j) {
+                        int target = partition.targets[j];
+                        boolean persists = target < size ? renumber[target] >= 0 : ghostRemotes[target - size] >= 0;
+                        @SuppressWarnings("unchecked")
+                        E parameter = (E) partition.edgeParameters[j];
+                        if (persists && edgePredicate.test(parameter)) {
+                            if (target >= size) ghostRenumber[target - size] = 0;
+                            targets[count] = target;
+                            edgeParameters[count++] = parameter;
+                        }
+                    }
+                    offsets[renumber[i] + 1] = count;
+                }
+                int[] ghostOffsets = new int[k + 1];
+                int ghosts = 0;
+                for (int o = 0; o < k; ++o) {
+                    ghostOffsets[o] = ghosts;
+                    int from = partition.ghostOffsets[o];
+                    int used = 0;
+                    int[] positions = new int[partition.ghostOffsets[o + 1] - from];
+                    for (int g = from; g < partition.ghostOffsets[o + 1]; ++g) {
+                        if (ghostRenumber[g] < 0) continue;
+                        ghostRenumber[g] = ghosts++;
+                        positions[used++] = g - from;
+                    }
+                    if (used > 0) transport.send(q, o, Arrays.copyOf(positions, used));
+                }
+                ghostOffsets[k] = ghosts;
+                int[] newGhostRemotes = new int[ghosts];
+                int[] ghostIds = new int[ghosts];
+                for (int g = 0; g < ghostRenumber.length; ++g) {
+                    if (ghostRenumber[g] < 0) continue;
+                    newGhostRemotes[ghostRenumber[g]] = ghostRemotes[g];
+                    ghostIds[ghostRenumber[g]] = partition.ghostIds[g];
+                }
+                for (int j = 0; j < count; ++j) {
+                    int target = targets[j];
+                    targets[j] = target < size ? renumber[target] : newSize + ghostRenumber[target - size];
+                }
+                filtered[q] = new Partition<>(q, ids, vertexParameters, offsets, Arrays.copyOf(targets, count),
+                    Arrays.copyOf(edgeParameters, count), ghostOffsets, newGhostRemotes, ghostIds);
+            });
+            transport.flush();
+
+            // owners keep mirrors that are still ghosts somewhere
+            parallel(k, p -> {
+                Partition<V, E> partition = partitions[p];
+                int[][] received = transport.receive(p);
+                int[] renumber = renumbering[p];
+                int[] mirrorOffsets = new int[k + 1];
+                for (int q = 0; q < k; ++q) {
+                    mirrorOffsets[q + 1] = mirrorOffsets[q] + (received[q] == null ? 0 : received[q].length);
+                }
+                int[] mirrors = new int[mirrorOffsets[k]];
+                for (int q = 0; q < k; ++q) {
+                    for (int j = mirrorOffsets[q]; j < mirrorOffsets[q + 1]; ++j) {
+                        int position = received[q][j - mirrorOffsets[q]];
+                        mirrors[j] = renumber[partition.mirrors[partition.mirrorOffsets[q] + position]];
+                    }
+                }
+                filtered[p].mirrorOffsets = mirrorOffsets;
+                filtered[p].mirrors = mirrors;
+            });
+            return new PartitionedGraph<>(filtered, owners.length, transport);
+        }
+    }
+
+    /**
+     * Create new partitioned graph with vertices that pass through filter
+     *
+     * @param vertexPredicate function that determines if vertex with the parameter should persist
+     * @return new partitioned graph
+     */
+    public PartitionedGraph<V, E> filter(Predicate<V> vertexPredicate) {
+        return filter(vertexPredicate, any -> true);
+    }
+
+    /**
+     * Create new partitioned graph with edges that pass through filter
+     *
+     * @param edgePredicate function that determines if edge with the parameter should persist
+     * @return new partitioned graph
+     */
+    public PartitionedGraph<V, E> filterEdges(Predicate<E> edgePredicate) {
+        return filter(any -> true, edgePredicate);
+    }
+
+    /**
+     * Traverse graph along edges direction with level synchronous breadth-first search.
+     * Every level partitions expand their frontiers in parallel and send
+     * reached ghosts to their owners.
+     *
+     * @param source index of start vertex in the source graph
+     * @return distances from start vertex indexed by vertex index in the source graph,
+     * -1 for unreachable or absent vertices
+     */
+    public int[] bfs(int source) {
+        synchronized (transport) {
+            int k = partitions.length;
+            if (owners[source] < 0) {
+                throw new IllegalArgumentException("There is no vertex " + source);
+            }
+            int[][] distances = new int[k][];
+            int[][] frontiers = new int[k][];
+            int[] frontierSizes = new int[k];
+            parallel(k, p -> {
+                distances[p] = new int[partitions[p].size()];
+                Arrays.fill(distances[p], -1);
+                frontiers[p] = new int[16];
+            });
+            distances[owners[source]][locals[source]] = 0;
+            frontiers[owners[source]][0] = locals[source];
+            frontierSizes[owners[source]] = 1;
+            for (int level = 0; Arrays.stream(frontierSizes).anyMatch(s -> s > 0); ++level) {
+                int next = level + 1;
+                int[][] nextFrontiers = new int[k][];
+                parallel(k, p -> {
+                    Partition<V, E> partition = partitions[p];
+                    int size = partition.size();
+                    int[] distance = distances[p];
+                    int[] frontier = frontiers[p];
+                    int[] reached = new int[16];
+                    int count = 0;
+                    int[][] outgoing = new int[k][];
+                    int[] outgoingSizes = new int[k];
+                    for (int f = 0; f < frontierSizes[p]; ++f) {
+                        int u = frontier[f];
+                        for (int j = partition.offsets[u]; j < partition.offsets[u + 1]; ++j) {
+                            int target = partition.targets[j];
+                            if (target < size) {
+                                if (distance[target] >= 0) continue;
+                                distance[target] = next;
+                                if (count == reached.length) reached = Arrays.copyOf(reached, count * 2);
+                                reached[count++] = target;
+                            } else {
+                                int ghost = target - size;
+                                int owner = partition.getOwner(target);
+                                if (outgoing[owner] == null) outgoing[owner] = new int[16];
+                                if (outgoingSizes[owner] == outgoing[owner].length) {
+                                    outgoing[owner] = Arrays.copyOf(outgoing[owner], outgoingSizes[owner] * 2);
+                                }
+                                outgoing[owner][outgoingSizes[owner]++] = partition.ghostRemotes[ghost];
+                            }
+                        }
+                    }
+                    for (int q = 0; q < k; ++q) {
+                        if (outgoing[q] != null) transport.send(p, q, Arrays.copyOf(outgoing[q], outgoingSizes[q]));
+                    }
+                    nextFrontiers[p] = reached;
+                    frontierSizes[p] = count;
+                });
+                transport.flush();
+                parallel(k, p -> {
+                    int[] distance = distances[p];
+                    int[] reached = nextFrontiers[p];
+                    int count = frontierSizes[p];
+                    for (int[] message : transport.receive(p)) {
+                        if (message == null) continue;
+                        for (int u : message) {
+                            if (distance[u] >= 0) continue;
+                            distance[u] = next;
+                            if (count == reached.length) reached = Arrays.copyOf(reached, count * 2);
+                            reached[count++] = u;
+                        }
+                    }
+                    frontiers[p] = reached;
+                    frontierSizes[p] = count;
+                });
+            }
+            int[] result = new int[owners.length];
+            Arrays.fill(result, -1);
+            for (Partition<V, E> partition : partitions) {
+                for (int i = 0; i < partition.ids.length; ++i) {
+                    result[partition.ids[i]] = distances[partition.id][i];
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Collect partitions to a single graph. Vertices are ordered by their identifiers.
+     *
+     * @return new graph
+     */
+    public Graph<V, E> toGraph() {
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] byId = new Vertex[owners.length];
+        for (Partition<V, E> partition : partitions) {
+            for (int i = 0; i < partition.ids.length; ++i) {
+                byId[partition.ids[i]] = new Vertex<>(partition.getParameter(i));
+            }
+        }
+        List<Vertex<V, E>> vertices = Arrays.stream(byId).filter(v -> v != null).collect(Collectors.toList());
+        List<Edge<V, E>> edges = new ArrayList<>(edgesCount());
+        for (Partition<V, E> partition : partitions) {
+            for (int i = 0; i < partition.ids.length; ++i) {
+                for (int j = partition.offsets[i]; j < partition.offsets[i + 1]; ++j) {
+                    @SuppressWarnings("unchecked")
+                    E parameter = (E) partition.edgeParameters[j];
+                    Vertex<V, E> child = byId[partition.getVertexId(partition.targets[j])];
+                    edges.add(new Edge<>(byId[partition.ids[i]], child, parameter));
+                }
+            }
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private static long key(int owner, int local) {
+        return (long) owner << 32 | local;
+    }
+
+    private static void parallel(int count, IntConsumer action) {
+        IntStream.range(0, count).parallel().forEach(action);
+    }
+}
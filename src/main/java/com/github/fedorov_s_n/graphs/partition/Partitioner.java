@@ -0,0 +1,119 @@
+package com.github.fedorov_s_n.graphs.partition;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Streaming linear deterministic greedy (LDG) partitioner. Vertices are taken in
+ * {@code vertices()} order and every vertex is placed to the partition holding most
+ * of its already placed neighbours, penalized by how full the partition is.
+ * Additional passes re-stream vertices using the previous assignment of not yet
+ * visited neighbours, which usually lowers the edge cut.
+ */
+public class Partitioner {
+
+    private int passes = 3;
+    private double slack = 0.05;
+
+    /**
+     * Assign vertices of graph to partitions
+     *
+     * @param graph      graph to partition
+     * @param partitions count of partitions
+     * @return partition of every vertex indexed by {@code Vertex.getIndex()}
+     */
+    public int[] partition(Graph<?, ?> graph, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Count of partitions should be positive");
+        }
+        int n = graph.verticesCount();
+        int[] offsets = new int[n + 1];
+        int[] neighbours = neighbours(graph, offsets);
+        int capacity = (int) Math.ceil((double) n / partitions * (1 + slack));
+        int[] assignment = new int[n];
+        int[] previous = null;
+        int[] sizes = new int[partitions];
+        double[] scores = new double[partitions];
+        for (int pass = 0; pass < Math.max(1, passes); ++pass) {
+            Arrays.fill(sizes, 0);
+            for (int v = 0; v < n; ++v) {
+                Arrays.fill(scores, 0);
+                for (int i = offsets[v]; i < offsets[v + 1]; ++i) {
+                    int u = neighbours[i];
+                    if (u < v) {
+                        scores[assignment[u]] += 1;
+                    } else if (previous != null && u > v) {
+                        scores[previous[u]] += 1;
+                    }
+                }
+                int best = -1;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int p = 0; p < partitions; ++p) {
+                    if (sizes[p] >= capacity) continue;
+                    double score = scores[p] * (1 - (double) sizes[p] / capacity);
+                    if (score > bestScore || score == bestScore && sizes[p] < sizes[best]) {
+                        best = p;
+                        bestScore = score;
+                    }
+                }
+                assignment[v] = best;
+                ++sizes[best];
+            }
+            previous = assignment.clone();
+        }
+        return assignment;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public void setPasses(int passes) {
+        this.passes = passes;
+    }
+
+    /**
+     * Get allowed excess of partition size over the average one
+     *
+     * @return fraction of average partition size, not negative
+     */
+    public double getSlack() {
+        return slack;
+    }
+
+    public void setSlack(double slack) {
+        if (!(slack >= 0)) {
+            throw new IllegalArgumentException("Slack should not be negative");
+        }
+        this.slack = slack;
+    }
+
+    // undirected adjacency in CSR form, offsets are filled in place
+    private static int[] neighbours(Graph<?, ?> graph, int[] offsets) {
+        int n = offsets.length - 1;
+        int m = graph.edgesCount();
+        int[] parents = new int[m];
+        int[] children = new int[m];
+        Iterator<? extends Edge<?, ?>> edges = graph.edges().iterator();
+        for (int i = 0; i < m; ++i) {
+            Edge<?, ?> edge = edges.next();
+            parents[i] = edge.getParent().getIndex();
+            children[i] = edge.getChild().getIndex();
+            ++offsets[parents[i] + 1];
+            ++offsets[children[i] + 1];
+        }
+        for (int v = 0; v < n; ++v) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] neighbours = new int[2 * m];
+        for (int i = 0; i < m; ++i) {
+            neighbours[fill[parents[i]]++] = children[i];
+            neighbours[fill[children[i]]++] = parents[i];
+        }
+        return neighbours;
+    }
+}
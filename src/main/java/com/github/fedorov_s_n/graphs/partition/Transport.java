@@ -0,0 +1,37 @@
+package com.github.fedorov_s_n.graphs.partition;
+
+/**
+ * Exchange of boundary messages between partitions in bulk synchronous steps.
+ * During a step every partition sends messages, then {@link #flush()} is called
+ * once and every partition receives what was sent to it. Messages are plain int
+ * arrays so they can be passed over a network without extra serialization.
+ * <p>
+ * {@code send} and {@code receive} are called concurrently for different partitions,
+ * but never concurrently with {@code flush}.
+ */
+public interface Transport {
+
+    /**
+     * Send message to another partition. Messages sent by one partition to the same
+     * receiver during a step are concatenated in the order they were sent.
+     *
+     * @param from    sender partition
+     * @param to      receiver partition
+     * @param message message content, not copied and should not be changed afterwards
+     */
+    void send(int from, int to, int[] message);
+
+    /**
+     * Finish the current step making all messages sent during it available to receivers
+     */
+    void flush();
+
+    /**
+     * Take messages delivered to a partition by the last flush
+     *
+     * @param to receiver partition
+     * @return array of messages indexed by sender partition, null items for senders
+     * that sent nothing
+     */
+    int[][] receive(int to);
+}
@@ -0,0 +1,167 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact binary form of a graph. Layout is
+ * <pre>
+ * version, vertex count, edge count    (varints)
+ * vertex parameters                    (in vertices() order)
+ * for every vertex:
+ *     out degree                       (varint)
+ *     child index delta, edge param    (children sorted by index)
+ * </pre>
+ * Restored graph has the same {@code vertices()} order while edges are ordered
+ * by parent and child indexes.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class BinaryGraphRepresentation<V, E> implements GraphRestorableRepresentation<byte[], V, E> {
+
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ParameterCodec<V> vertexCodec;
+    private final ParameterCodec<E> edgeCodec;
+
+    /**
+     * Create representation with given parameters codecs
+     *
+     * @param vertexCodec codec for vertices parameters
+     * @param edgeCodec   codec for edges parameters
+     */
+    public BinaryGraphRepresentation(ParameterCodec<V> vertexCodec, ParameterCodec<E> edgeCodec) {
+        this.vertexCodec = Objects.requireNonNull(vertexCodec);
+        this.edgeCodec = Objects.requireNonNull(edgeCodec);
+    }
+
+    @Override
+    public byte[] represent(Graph<V, E> graph) {
+        BinaryOutput out = new BinaryOutput(BUFFER_SIZE);
+        write(graph, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Write graph to channel using fixed size buffer, so the whole
+     * representation never resides in memory
+     *
+     * @param graph   graph to write
+     * @param channel destination channel, not closed by this method
+     * @throws IOException if channel fails
+     */
+    public void write(Graph<V, E> graph, WritableByteChannel channel) throws IOException {
+        try {
+            BinaryOutput out = new BinaryOutput(channel, BUFFER_SIZE);
+            write(graph, out);
+            out.flush();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public Graph<V, E> restore(byte[] representation) {
+        return restore(ByteBuffer.wrap(representation));
+    }
+
+    /**
+     * Restore graph from buffer, reading it from current position
+     *
+     * @param representation buffer with binary representation
+     * @return restored graph
+     */
+    public Graph<V, E> restore(ByteBuffer representation) {
+        BinaryInput in = new BinaryInput(representation);
+        int version = in.readVarInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        }
+        int verticesCount = in.readVarInt();
+        int edgesCount = in.readVarInt();
+        List<Vertex<V, E>> vertices = new ArrayList<>(verticesCount);
+        for (int i = 0; i < verticesCount; ++i) {
+            vertices.add(new Vertex<>(vertexCodec.decode(in)));
+        }
+        List<Edge<V, E>> edges = new ArrayList<>(edgesCount);
+        for (Vertex<V, E> parent : vertices) {
+            int degree = in.readVarInt();
+            int child = 0;
+            for (int j = 0; j < degree; ++j) {
+                child += in.readVarInt();
+                edges.add(new Edge<>(parent, vertices.get(child), edgeCodec.decode(in)));
+            }
+        }
+        if (edges.size() != edgesCount) {
+            throw new IllegalArgumentException("Expected " + edgesCount + " edges, found " + edges.size());
+        }
+        return new Graph<>(vertices, edges);
+    }
+
+    private void write(Graph<V, E> graph, BinaryOutput out) {
+        int n = graph.verticesCount();
+        @SuppressWarnings("unchecked")
+        Edge<V, E>[] edges = graph.edges().toArray(Edge[]::new);
+        int m = edges.length;
+        int[] parents = new int[m];
+        int[] children = new int[m];
+        int[] byChild = new int[n];
+        int[] byParent = new int[n];
+        for (int i = 0; i < m; ++i) {
+            ++byParent[parents[i] = edges[i].getParent().getIndex()];
+            ++byChild[children[i] = edges[i].getChild().getIndex()];
+        }
+        prefixSums(byChild);
+        prefixSums(byParent);
+
+        // two stable counting sorts: by child, then by parent
+        int[] order = new int[m];
+        for (int i = 0; i < m; ++i) {
+            order[byChild[children[i]]++] = i;
+        }
+        int[] sortedChildren = new int[m];
+        int[] sortedEdges = new int[m];
+        for (int i : order) {
+            int slot = byParent[parents[i]]++;
+            sortedChildren[slot] = children[i];
+            sortedEdges[slot] = i;
+        }
+
+        out.writeVarInt(VERSION);
+        out.writeVarInt(n);
+        out.writeVarInt(m);
+        graph.vertices().forEach(v -> vertexCodec.encode(v.getParameter(), out));
+        int position = 0;
+        for (int parent = 0; parent < n; ++parent) {
+            int end = byParent[parent];
+            out.writeVarInt(end - position);
+            int previous = 0;
+            for (; position < end; ++position) {
+                out.writeVarInt(sortedChildren[position] - previous);
+                edgeCodec.encode(edges[sortedEdges[position]].getParameter(), out);
+                previous = sortedChildren[position];
+            }
+        }
+    }
+
+    // turns counts into start offsets
+    private static void prefixSums(int[] counts) {
+        int sum = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Byte source used by {@link BinaryGraphRepresentation} and {@link ParameterCodec}.
+ * Reads values in the same layout {@link BinaryOutput} writes them.
+ */
+public final class BinaryInput {
+
+    private final ByteBuffer buffer;
+
+    BinaryInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Read single byte
+     *
+     * @return byte read, in range [0, 255]
+     */
+    public int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Read unsigned LEB128 varint
+     *
+     * @return value read
+     */
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            // the fifth byte holds the last 4 bits and ends the value
+            if (shift == 28 && (b & 0xFF) > 0x0F) break;
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Read unsigned LEB128 varint of long
+     *
+     * @return value read
+     */
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            // the tenth byte holds the last bit and ends the value
+            if (shift == 63 && (b & 0xFF) > 0x01) break;
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Read zigzag-encoded varint of long
+     *
+     * @return value read
+     */
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read long written as fixed 8 bytes
+     *
+     * @return value read
+     */
+    public long readLong() {
+        // big-endian by hand like BinaryOutput, whatever the order of the buffer is
+        long value = 0;
+        for (int i = 0; i < 8; ++i) {
+            value = value << 8 | buffer.get() & 0xFF;
+        }
+        return value;
+    }
+
+    /**
+     * Read double written as fixed 8 bytes
+     *
+     * @return value read
+     */
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Read raw bytes
+     *
+     * @param count number of bytes to read
+     * @return bytes read
+     */
+    public byte[] readBytes(int count) {
+        byte[] bytes = new byte[count];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Byte sink used by {@link BinaryGraphRepresentation} and {@link ParameterCodec}.
+ * Either grows in memory or flushes to a channel when its buffer is full.
+ * I/O failures are rethrown as {@link UncheckedIOException}.
+ */
+public final class BinaryOutput {
+
+    private final WritableByteChannel channel;
+    private byte[] buffer;
+    private int position;
+
+    BinaryOutput(int capacity) {
+        this(null, capacity);
+    }
+
+    BinaryOutput(WritableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Write single byte
+     *
+     * @param value byte to write
+     */
+    public void writeByte(int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Write non-negative int as unsigned LEB128 varint
+     *
+     * @param value value to write, treated as unsigned
+     */
+    public void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Write long as unsigned LEB128 varint
+     *
+     * @param value value to write, treated as unsigned
+     */
+    public void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Write long as zigzag-encoded varint, so small negative values stay short
+     *
+     * @param value value to write
+     */
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Write long as fixed 8 bytes
+     *
+     * @param value value to write
+     */
+    public void writeLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Write double as fixed 8 bytes
+     *
+     * @param value value to write
+     */
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Write raw bytes
+     *
+     * @param bytes bytes to write
+     */
+    public void writeBytes(byte[] bytes) {
+        if (channel != null && bytes.length > buffer.length) {
+            flush();
+            write(ByteBuffer.wrap(bytes));
+        } else {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    void flush() {
+        write(ByteBuffer.wrap(buffer, 0, position));
+        position = 0;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void write(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void ensure(int count) {
+        if (buffer.length - position >= count) return;
+        if (channel != null) {
+            flush();
+            if (buffer.length >= count) return;
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + count));
+    }
+}
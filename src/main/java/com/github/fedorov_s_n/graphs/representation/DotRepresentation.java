@@ -0,0 +1,80 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.io.IOException;
+
+/**
+ * Graphviz DOT representation. Vertices are identified by index and labelled
+ * by formatted parameters, vertices and edges formatted as null have no label.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class DotRepresentation<V, E> extends TextGraphRepresentation<V, E> {
+
+    private String name = "G";
+
+    @Override
+    public void write(Graph<V, E> graph, Appendable out) throws IOException {
+        out.append("digraph ");
+        appendQuoted(out, name);
+        out.append(" {\n");
+        for (Vertex<V, E> vertex : (Iterable<Vertex<V, E>>) graph.vertices()::iterator) {
+            out.append("  ");
+            appendInt(out, vertex.getIndex());
+            String label = formatVertex(vertex.getParameter());
+            if (label != null) {
+                out.append(" [label=");
+                appendQuoted(out, label);
+                out.append(']');
+            }
+            out.append(";\n");
+        }
+        for (Edge<V, E> edge : (Iterable<Edge<V, E>>) graph.edges()::iterator) {
+            out.append("  ");
+            appendInt(out, edge.getParent().getIndex());
+            out.append(" -> ");
+            appendInt(out, edge.getChild().getIndex());
+            String label = formatEdge(edge.getParameter());
+            if (label != null) {
+                out.append(" [label=");
+                appendQuoted(out, label);
+                out.append(']');
+            }
+            out.append(";\n");
+        }
+        out.append("}\n");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    private static void appendQuoted(Appendable out, String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    out.append('\\').append(c);
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
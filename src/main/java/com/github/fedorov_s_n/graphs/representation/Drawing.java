@@ -0,0 +1,68 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.Iterator;
+
+/**
+ * Vertex positions scaled to a canvas and edges sampled for drawing,
+ * shared by headless image representations.
+ */
+final class Drawing {
+
+    final int width;
+    final int height;
+    final float[] x;
+    final float[] y;
+    final int[] parents;
+    final int[] children;
+    final int edges;
+
+    private Drawing(int width, int height, float[] x, float[] y, int[] parents, int[] children, int edges) {
+        this.width = width;
+        this.height = height;
+        this.x = x;
+        this.y = y;
+        this.parents = parents;
+        this.children = children;
+        this.edges = edges;
+    }
+
+    /**
+     * Fit positions into canvas and keep at most maxEdges edges.
+     * Sampling is deterministic: edge is kept if hash of its position is below a threshold.
+     */
+    static Drawing of(Graph<?, ?> graph, VertexPositions positions, int width, int height, float margin, int maxEdges) {
+        int n = graph.verticesCount();
+        if (positions.size() != n) {
+            throw new IllegalArgumentException("Positions are calculated for another graph");
+        }
+        double spanX = Math.max(positions.getMaxX() - positions.getMinX(), 1e-9);
+        double spanY = Math.max(positions.getMaxY() - positions.getMinY(), 1e-9);
+        double scale = Math.min((width - 2 * margin) / spanX, (height - 2 * margin) / spanY);
+        float[] x = new float[n];
+        float[] y = new float[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = (float) (margin + (positions.getX(i) - positions.getMinX()) * scale);
+            y[i] = (float) (margin + (positions.getY(i) - positions.getMinY()) * scale);
+        }
+
+        int m = graph.edgesCount();
+        int capacity = Math.min(m, maxEdges);
+        long threshold = m <= maxEdges ? Long.MAX_VALUE : (long) ((double) maxEdges / m * 0x100000000L);
+        int[] parents = new int[capacity];
+        int[] children = new int[capacity];
+        int count = 0;
+        Iterator<? extends Edge<?, ?>> iterator = graph.edges().iterator();
+        for (int i = 0; iterator.hasNext() && count < capacity; ++i) {
+            Edge<?, ?> edge = iterator.next();
+            if (((i * 0x9E3779B9L) & 0xFFFFFFFFL) < threshold) {
+                parents[count] = edge.getParent().getIndex();
+                children[count] = edge.getChild().getIndex();
+                ++count;
+            }
+        }
+        return new Drawing(width, height, x, y, parents, children, count);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.io.IOException;
+
+/**
+ * Tab separated edge list. Every edge is written as
+ * {@code parent<TAB>child[<TAB>parameter]} line, edge parameter is omitted if formatted
+ * as null. Vertices without edges are written as single column lines.
+ * Vertices are identified by formatted parameters, so parameters should be non-null
+ * and formatter should produce unique non-null values. Backslashes, tabs and line breaks in formatted values are escaped
+ * as {@code \\}, {@code \t}, {@code \n} and {@code \r}.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class EdgeListRepresentation<V, E> extends TextGraphRepresentation<V, E> {
+
+    @Override
+    public void write(Graph<V, E> graph, Appendable out) throws IOException {
+        for (Vertex<V, E> vertex : (Iterable<Vertex<V, E>>) graph.vertices()::iterator) {
+            if (!vertex.getNeighbourEdges().findAny().isPresent()) {
+                appendVertex(out, vertex);
+                out.append('\n');
+            }
+        }
+        for (Edge<V, E> edge : (Iterable<Edge<V, E>>) graph.edges()::iterator) {
+            appendVertex(out, edge.getParent());
+            out.append('\t');
+            appendVertex(out, edge.getChild());
+            String parameter = formatEdge(edge.getParameter());
+            if (parameter != null) {
+                out.append('\t');
+                appendEscaped(out, parameter);
+            }
+            out.append('\n');
+        }
+    }
+
+    private void appendVertex(Appendable out, Vertex<V, E> vertex) throws IOException {
+        String value = formatVertex(vertex.getParameter());
+        if (value == null) {
+            throw new IllegalArgumentException("Vertex " + vertex.getParameter() + " is formatted as null");
+        }
+        appendEscaped(out, value);
+    }
+
+    private static void appendEscaped(Appendable out, String value) throws IOException {
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+}
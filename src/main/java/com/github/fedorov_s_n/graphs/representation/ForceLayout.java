@@ -0,0 +1,438 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Multilevel spring-electrical layout. The graph is coarsened by matching
+ * neighbour vertices until it is small, the coarsest graph is laid out first
+ * and every finer level starts from positions of the coarser one.
+ * Repulsion is approximated with Barnes-Hut quadtree, so an iteration takes
+ * O(n log n + m) time instead of O(n^2). Edge directions are ignored.
+ */
+public class ForceLayout {
+
+    private static final int BLOCK = 256;
+    private static final double REPULSION = 0.2;
+    private static final double COOLING = 0.92;
+
+    private int iterations = 60;
+    private int coarsestSize = 32;
+    private double theta = 1.0;
+    private int progressInterval = 10;
+    private long seed = 1;
+
+    /**
+     * Calculate positions of graph vertices in the calling thread
+     *
+     * @param graph    graph to lay out
+     * @param progress consumer of intermediate positions, can be null
+     * @return final positions
+     */
+    public VertexPositions layout(Graph<?, ?> graph, Consumer<VertexPositions> progress) {
+        return layout(graph, progress, () -> false);
+    }
+
+    /**
+     * Calculate positions of graph vertices with given executor.
+     * Cancelling returned future stops calculation at the next iteration.
+     *
+     * @param graph    graph to lay out
+     * @param executor executor to run calculation in
+     * @param progress consumer of intermediate positions, called from the calculating thread, can be null
+     * @return future of final positions
+     */
+    public CompletableFuture<VertexPositions> layoutAsync(Graph<?, ?> graph, Executor executor,
+                                                          Consumer<VertexPositions> progress) {
+        CompletableFuture<VertexPositions> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(layout(graph, progress, result::isDone));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getCoarsestSize() {
+        return coarsestSize;
+    }
+
+    public void setCoarsestSize(int coarsestSize) {
+        this.coarsestSize = coarsestSize;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    public void setTheta(double theta) {
+        this.theta = theta;
+    }
+
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    public void setProgressInterval(int progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    private VertexPositions layout(Graph<?, ?> graph, Consumer<VertexPositions> progress, BooleanSupplier cancelled) {
+        List<Level> levels = new ArrayList<>();
+        levels.add(Level.of(graph));
+        while (levels.get(levels.size() - 1).n > coarsestSize) {
+            Level coarse = levels.get(levels.size() - 1).coarsen();
+            if (coarse == null) break;
+            levels.add(coarse);
+        }
+
+        // ideal edge length shrinks by sqrt(4/7) on every finer level
+        double k = Math.pow(Math.sqrt(7.0 / 4.0), levels.size() - 1);
+        Level coarsest = levels.get(levels.size() - 1);
+        Random random = new Random(seed);
+        double[] x = new double[coarsest.n];
+        double[] y = new double[coarsest.n];
+        double spread = k * Math.sqrt(coarsest.n);
+        for (int i = 0; i < coarsest.n; ++i) {
+            x[i] = random.nextDouble() * spread;
+            y[i] = random.nextDouble() * spread;
+        }
+        double step = spread / 4;
+        for (int l = levels.size() - 1; l >= 0; --l) {
+            Level level = levels.get(l);
+            if (l != levels.size() - 1) {
+                Level coarse = levels.get(l + 1);
+                double[] fx = new double[level.n];
+                double[] fy = new double[level.n];
+                for (int i = 0; i < level.n; ++i) {
+                    fx[i] = x[level.parent[i]] + (random.nextDouble() - 0.5) * k * 0.1;
+                    fy[i] = y[level.parent[i]] + (random.nextDouble() - 0.5) * k * 0.1;
+                }
+                x = fx;
+                y = fy;
+                k /= Math.sqrt(7.0 / 4.0);
+                step = k * 2;
+                coarse.parent = null;
+            }
+            QuadTree tree = new QuadTree(level.n);
+            for (int iteration = 0; iteration < iterations; ++iteration) {
+                if (cancelled.getAsBoolean()) return snapshot(levels, l, x, y);
+                iterate(level, x, y, k, step, tree);
+                step *= COOLING;
+                if (progress != null && l == 0 && progressInterval > 0 && (iteration + 1) % progressInterval == 0) {
+                    progress.accept(snapshot(levels, l, x, y));
+                }
+            }
+            if (progress != null && l != 0) {
+                progress.accept(snapshot(levels, l, x, y));
+            }
+        }
+        VertexPositions result = new VertexPositions(x, y);
+        if (progress != null) progress.accept(result);
+        return result;
+    }
+
+    private void iterate(Level level, double[] x, double[] y, double k, double step, QuadTree tree) {
+        int n = level.n;
+        tree.build(x, y, level.mass, n);
+        double[] dx = new double[n];
+        double[] dy = new double[n];
+        double repulsion = REPULSION * k * k;
+        double theta2 = theta * theta;
+        IntStream.range(0, (n + BLOCK - 1) / BLOCK).parallel().forEach(block -> {
+            int[] stack = new int[QuadTree.MAX_DEPTH * 4 + 4];
+            double[] force = new double[2];
+            for (int v = block * BLOCK, end = Math.min(n, v + BLOCK); v < end; ++v) {
+                tree.force(v, x[v], y[v], level.mass[v] * repulsion, theta2, stack, force);
+                double fx = force[0];
+                double fy = force[1];
+                for (int j = level.offsets[v]; j < level.offsets[v + 1]; ++j) {
+                    int u = level.targets[j];
+                    double ex = x[u] - x[v];
+                    double ey = y[u] - y[v];
+                    double d = Math.sqrt(ex * ex + ey * ey);
+                    fx += ex * d / k;
+                    fy += ey * d / k;
+                }
+                dx[v] = fx;
+                dy[v] = fy;
+            }
+        });
+        for (int v = 0; v < n; ++v) {
+            double length = Math.sqrt(dx[v] * dx[v] + dy[v] * dy[v]);
+            if (length > 0) {
+                double move = Math.min(step, length) / length;
+                x[v] += dx[v] * move;
+                y[v] += dy[v] * move;
+            }
+        }
+    }
+
+    private static VertexPositions snapshot(List<Level> levels, int level, double[] x, double[] y) {
+        int n = levels.get(0).n;
+        double[] sx = new double[n];
+        double[] sy = new double[n];
+        for (int i = 0; i < n; ++i) {
+            int v = i;
+            for (int l = 0; l < level; ++l) v = levels.get(l).parent[v];
+            sx[i] = x[v];
+            sy[i] = y[v];
+        }
+        return new VertexPositions(sx, sy);
+    }
+
+    // undirected graph in compressed sparse rows form
+    private static final class Level {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] mass;
+        int[] parent;
+
+        Level(int n, int[] offsets, int[] targets, double[] mass) {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.mass = mass;
+        }
+
+        static Level of(Graph<?, ?> graph) {
+            int n = graph.verticesCount();
+            int[] parents = graph.edges().mapToInt(e -> e.getParent().getIndex()).toArray();
+            int[] children = graph.edges().mapToInt(e -> e.getChild().getIndex()).toArray();
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < parents.length; ++i) {
+                if (parents[i] == children[i]) continue;
+                ++offsets[parents[i] + 1];
+                ++offsets[children[i] + 1];
+            }
+            for (int i = 0; i < n; ++i) offsets[i + 1] += offsets[i];
+            int[] targets = new int[offsets[n]];
+            int[] position = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < parents.length; ++i) {
+                if (parents[i] == children[i]) continue;
+                targets[position[parents[i]]++] = children[i];
+                targets[position[children[i]]++] = parents[i];
+            }
+            double[] mass = new double[n];
+            Arrays.fill(mass, 1);
+            return new Level(n, offsets, targets, mass);
+        }
+
+        // matches every vertex with its lightest unmatched neighbour, null if it doesn't shrink the graph
+        Level coarsen() {
+            int[] coarse = new int[n];
+            Arrays.fill(coarse, -1);
+            int[] first = new int[n];
+            int[] second = new int[n];
+            int count = 0;
+            for (int v = 0; v < n; ++v) {
+                if (coarse[v] >= 0) continue;
+                int best = -1;
+                for (int j = offsets[v]; j < offsets[v + 1]; ++j) {
+                    int u = targets[j];
+                    if (u != v && coarse[u] < 0 && (best < 0 || mass[u] < mass[best])) best = u;
+                }
+                first[count] = v;
+                second[count] = best;
+                coarse[v] = count;
+                if (best >= 0) coarse[best] = count;
+                ++count;
+            }
+            if (count > n * 0.9) return null;
+
+            int[] coarseOffsets = new int[count + 1];
+            int[] coarseTargets = new int[targets.length];
+            int[] marks = new int[count];
+            Arrays.fill(marks, -1);
+            double[] coarseMass = new double[count];
+            int size = 0;
+            for (int c = 0; c < count; ++c) {
+                marks[c] = c;
+                for (int member : new int[]{first[c], second[c]}) {
+                    if (member < 0) continue;
+                    coarseMass[c] += mass[member];
+                    for (int j = offsets[member]; j < offsets[member + 1]; ++j) {
+                        int target = coarse[targets[j]];
+                        if (marks[target] != c) {
+                            marks[target] = c;
+                            coarseTargets[size++] = target;
+                        }
+                    }
+                }
+                coarseOffsets[c + 1] = size;
+            }
+            parent = coarse;
+            return new Level(count, coarseOffsets, Arrays.copyOf(coarseTargets, size), coarseMass);
+        }
+    }
+
+    // Barnes-Hut quadtree stored in flat arrays, children of a node are four consecutive nodes
+    private static final class QuadTree {
+        static final int MAX_DEPTH = 48;
+        private static final int EMPTY = -1;
+        private static final int INTERNAL = -2;
+
+        double[] cx;
+        double[] cy;
+        double[] mass;
+        double[] originX;
+        double[] originY;
+        double[] size;
+        int[] point;
+        int[] firstChild;
+        int nodes;
+
+        QuadTree(int n) {
+            allocate(Math.max(16, n * 2));
+        }
+
+        void build(double[] x, double[] y, double[] m, int n) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; ++i) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            nodes = 0;
+            newNode(minX, minY, Math.max(maxX - minX, maxY - minY) + 1e-9);
+            for (int i = 0; i < n; ++i) {
+                insert(i, x, y, m);
+            }
+            for (int node = nodes - 1; node >= 0; --node) {
+                if (mass[node] > 0) {
+                    cx[node] /= mass[node];
+                    cy[node] /= mass[node];
+                }
+            }
+        }
+
+        // accumulates repulsion from all points except v into force
+        void force(int v, double px, double py, double strength, double theta2, int[] stack, double[] force) {
+            double fx = 0;
+            double fy = 0;
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                if (mass[node] == 0 || point[node] == v) continue;
+                double ex = px - cx[node];
+                double ey = py - cy[node];
+                double d2 = ex * ex + ey * ey;
+                if (point[node] != INTERNAL || size[node] * size[node] < theta2 * d2) {
+                    if (d2 > 0) {
+                        double f = strength * mass[node] / d2;
+                        fx += ex * f;
+                        fy += ey * f;
+                    }
+                } else {
+                    int child = firstChild[node];
+                    stack[top++] = child;
+                    stack[top++] = child + 1;
+                    stack[top++] = child + 2;
+                    stack[top++] = child + 3;
+                }
+            }
+            force[0] = fx;
+            force[1] = fy;
+        }
+
+        private void insert(int i, double[] x, double[] y, double[] m) {
+            int node = 0;
+            for (int depth = 0; ; ++depth) {
+                if (point[node] == INTERNAL) {
+                    cx[node] += x[i] * m[i];
+                    cy[node] += y[i] * m[i];
+                    mass[node] += m[i];
+                    node = firstChild[node] + quadrant(node, x[i], y[i]);
+                } else if (point[node] == EMPTY) {
+                    point[node] = i;
+                    cx[node] = x[i] * m[i];
+                    cy[node] = y[i] * m[i];
+                    mass[node] = m[i];
+                    return;
+                } else if (depth >= MAX_DEPTH) {
+                    // coincident points are merged into one leaf
+                    cx[node] += x[i] * m[i];
+                    cy[node] += y[i] * m[i];
+                    mass[node] += m[i];
+                    return;
+                } else {
+                    int existing = point[node];
+                    double half = size[node] / 2;
+                    int child = nodes;
+                    for (int q = 0; q < 4; ++q) {
+                        newNode(originX[node] + (q & 1) * half, originY[node] + (q >> 1) * half, half);
+                    }
+                    firstChild[node] = child;
+                    point[node] = INTERNAL;
+                    int target = child + quadrant(node, x[existing], y[existing]);
+                    point[target] = existing;
+                    cx[target] = cx[node];
+                    cy[target] = cy[node];
+                    mass[target] = mass[node];
+                }
+            }
+        }
+
+        private int quadrant(int node, double px, double py) {
+            double half = size[node] / 2;
+            return (px >= originX[node] + half ? 1 : 0) + (py >= originY[node] + half ? 2 : 0);
+        }
+
+        private void newNode(double ox, double oy, double s) {
+            if (nodes == point.length) allocate(nodes * 2);
+            originX[nodes] = ox;
+            originY[nodes] = oy;
+            size[nodes] = s;
+            cx[nodes] = 0;
+            cy[nodes] = 0;
+            mass[nodes] = 0;
+            point[nodes] = EMPTY;
+            firstChild[nodes] = 0;
+            ++nodes;
+        }
+
+        private void allocate(int capacity) {
+            cx = cx == null ? new double[capacity] : Arrays.copyOf(cx, capacity);
+            cy = cy == null ? new double[capacity] : Arrays.copyOf(cy, capacity);
+            mass = mass == null ? new double[capacity] : Arrays.copyOf(mass, capacity);
+            originX = originX == null ? new double[capacity] : Arrays.copyOf(originX, capacity);
+            originY = originY == null ? new double[capacity] : Arrays.copyOf(originY, capacity);
+            size = size == null ? new double[capacity] : Arrays.copyOf(size, capacity);
+            point = point == null ? new int[capacity] : Arrays.copyOf(point, capacity);
+            firstChild = firstChild == null ? new int[capacity] : Arrays.copyOf(firstChild, capacity);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.io.IOException;
+
+/**
+ * GraphML representation. Vertices get {@code n<index>} ids, formatted
+ * parameters are stored as {@code label} data of nodes and edges,
+ * vertices and edges formatted as null have no data. Characters that are
+ * not allowed in XML 1.0 are dropped from labels.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class GraphMLRepresentation<V, E> extends TextGraphRepresentation<V, E> {
+
+    @Override
+    public void write(Graph<V, E> graph, Appendable out) throws IOException {
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.append("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        out.append("  <key id=\"v\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>\n");
+        out.append("  <key id=\"e\" for=\"edge\" attr.name=\"label\" attr.type=\"string\"/>\n");
+        out.append("  <graph edgedefault=\"directed\">\n");
+        for (Vertex<V, E> vertex : (Iterable<Vertex<V, E>>) graph.vertices()::iterator) {
+            out.append("    <node id=\"n");
+            appendInt(out, vertex.getIndex());
+            String label = formatVertex(vertex.getParameter());
+            if (label == null) {
+                out.append("\"/>\n");
+            } else {
+                out.append("\"><data key=\"v\">");
+                appendXml(out, label);
+                out.append("</data></node>\n");
+            }
+        }
+        for (Edge<V, E> edge : (Iterable<Edge<V, E>>) graph.edges()::iterator) {
+            out.append("    <edge source=\"n");
+            appendInt(out, edge.getParent().getIndex());
+            out.append("\" target=\"n");
+            appendInt(out, edge.getChild().getIndex());
+            String label = formatEdge(edge.getParameter());
+            if (label == null) {
+                out.append("\"/>\n");
+            } else {
+                out.append("\"><data key=\"e\">");
+                appendXml(out, label);
+                out.append("</data></edge>\n");
+            }
+        }
+        out.append("  </graph>\n");
+        out.append("</graphml>\n");
+    }
+}
@@ -3,12 +3,15 @@ package com.github.fedorov_s_n.graphs.representation;
 import com.github.fedorov_s_n.graphs.Edge;
 import com.github.fedorov_s_n.graphs.Graph;
 import com.github.fedorov_s_n.graphs.Vertex;
-import edu.uci.ics.jung.algorithms.layout.FRLayout;
-import edu.uci.ics.jung.algorithms.layout.Layout;
+import com.github.fedorov_s_n.graphs.algorithm.Components;
+import edu.uci.ics.jung.algorithms.layout.StaticLayout;
 import edu.uci.ics.jung.graph.SparseMultigraph;
+import edu.uci.ics.jung.graph.util.Context;
 import edu.uci.ics.jung.graph.util.EdgeType;
 import edu.uci.ics.jung.visualization.DefaultVisualizationModel;
 import edu.uci.ics.jung.visualization.GraphZoomScrollPane;
+import edu.uci.ics.jung.visualization.Layer;
+import edu.uci.ics.jung.visualization.MultiLayerTransformer;
 import edu.uci.ics.jung.visualization.VisualizationModel;
 import edu.uci.ics.jung.visualization.VisualizationViewer;
 import edu.uci.ics.jung.visualization.control.DefaultModalGraphMouse;
@@ -16,17 +19,33 @@ import edu.uci.ics.jung.visualization.control.ModalGraphMouse;
 import edu.uci.ics.jung.visualization.decorators.ToStringLabeller;
 import edu.uci.ics.jung.visualization.renderers.GradientVertexRenderer;
 import edu.uci.ics.jung.visualization.renderers.VertexLabelAsShapeRenderer;
+import org.apache.commons.collections15.Predicate;
 import org.apache.commons.collections15.Transformer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.geom.Point2D;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Interactive Swing view of a graph. Layout is calculated by {@link ForceLayout}
+ * in background and the view is refreshed as the layout is refined.
+ * Large graphs are drawn with one vertex per weakly connected component when zoomed out.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
 public class JPanelRepresentation<V, E> implements GraphRepresentation<JPanel, V, E> {
 
     private Function<V, String> vertexCaptionProducer = String::valueOf;
@@ -35,20 +54,52 @@ public class JPanelRepresentation<V, E> implements GraphRepresentation<JPanel, V
 
     private String[] colors = {"#000000", "#0000cc", "#006600", "#cc0000", "#660066", "#994400"};
 
+    private ForceLayout forceLayout = new ForceLayout();
+
+    private Executor layoutExecutor = ForkJoinPool.commonPool();
+
+    private int detailThreshold = 1000;
+
+    private double detailScale = 0.5;
+
     @Override
     public JPanel represent(Graph<V, E> input) {
         edu.uci.ics.jung.graph.Graph<Vertex<V, E>, Edge<V, E>> graph;
         VisualizationViewer<Vertex<V, E>, Edge<V, E>> vv;
-        Layout<Vertex<V, E>, Edge<V, E>> layout;
+        StaticLayout<Vertex<V, E>, Edge<V, E>> layout;
         graph = new SparseMultigraph<>();
         input.vertices().forEach(graph::addVertex);
         input.edges().forEach(ref -> graph.addEdge(ref, ref.getParent(), ref.getChild(), EdgeType.DIRECTED));
-        layout = new FRLayout<>(graph);
         DisplayMode displayMode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode();
         Dimension preferredSize = new Dimension(displayMode.getWidth(), displayMode.getHeight());
+        layout = new StaticLayout<>(graph, v -> new Point2D.Double(preferredSize.width / 2.0, preferredSize.height / 2.0), preferredSize);
         final VisualizationModel<Vertex<V, E>, Edge<V, E>> visualizationModel
             = new DefaultVisualizationModel<>(layout, preferredSize);
         vv = new VisualizationViewer<>(visualizationModel, preferredSize);
+        CompletableFuture<VertexPositions> positions = startLayout(input, layout, vv, preferredSize);
+        vv.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !vv.isDisplayable()) {
+                positions.cancel(false);
+            }
+        });
+        // the first vertex of every weakly connected component stands for it when collapsed
+        Components components = Components.of(input);
+        int[] labels = components.getLabels();
+        int[] componentSizes = components.getSizes();
+        int[] representatives = new int[components.count()];
+        Arrays.fill(representatives, -1);
+        for (int i = 0; i < labels.length; ++i) {
+            if (representatives[labels[i]] < 0) representatives[labels[i]] = i;
+        }
+        MultiLayerTransformer transformer = vv.getRenderContext().getMultiLayerTransformer();
+        BooleanSupplier collapsed = () -> input.verticesCount() > detailThreshold
+            && transformer.getTransformer(Layer.VIEW).getScale() * transformer.getTransformer(Layer.LAYOUT).getScale() < detailScale;
+        Predicate<Context<edu.uci.ics.jung.graph.Graph<Vertex<V, E>, Edge<V, E>>, Vertex<V, E>>> vertexIncluded
+            = context -> !collapsed.getAsBoolean() || representatives[labels[context.element.getIndex()]] == context.element.getIndex();
+        Predicate<Context<edu.uci.ics.jung.graph.Graph<Vertex<V, E>, Edge<V, E>>, Edge<V, E>>> edgeIncluded
+            = context -> !collapsed.getAsBoolean();
+        vv.getRenderContext().setVertexIncludePredicate(vertexIncluded);
+        vv.getRenderContext().setEdgeIncludePredicate(edgeIncluded);
 
         // this class will provide both label drawing and vertex shapes
         VertexLabelAsShapeRenderer<Vertex<V, E>, Edge<V, E>> vlasr
@@ -56,7 +107,9 @@ public class JPanelRepresentation<V, E> implements GraphRepresentation<JPanel, V
         // customize the render context
         vv.getRenderContext().setVertexLabelTransformer(node
             -> "<html><center>"
-            + (node == null ? null : vertexCaptionProducer.apply(node.getParameter()))
+            + (node == null ? null : collapsed.getAsBoolean()
+            ? componentSizes[labels[node.getIndex()]] + " vertices"
+            : vertexCaptionProducer.apply(node.getParameter()))
             + "</center></html>"
         );
         vv.getRenderContext().setVertexShapeTransformer(vlasr);
@@ -92,6 +145,31 @@ public class JPanelRepresentation<V, E> implements GraphRepresentation<JPanel, V
         return new GraphZoomScrollPane(vv);
     }
 
+    private CompletableFuture<VertexPositions> startLayout(Graph<V, E> input,
+                                                           StaticLayout<Vertex<V, E>, Edge<V, E>> layout,
+                                                           VisualizationViewer<Vertex<V, E>, Edge<V, E>> vv,
+                                                           Dimension size) {
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] vertices = input.vertices().toArray(Vertex[]::new);
+        AtomicReference<VertexPositions> pending = new AtomicReference<>();
+        return forceLayout.layoutAsync(input, layoutExecutor, update -> {
+            // coalesce updates that come faster than the view repaints
+            if (pending.getAndSet(update) != null) return;
+            SwingUtilities.invokeLater(() -> {
+                VertexPositions latest = pending.getAndSet(null);
+                double width = Math.max(latest.getMaxX() - latest.getMinX(), 1e-9);
+                double height = Math.max(latest.getMaxY() - latest.getMinY(), 1e-9);
+                double scale = Math.min(size.width * 0.9 / width, size.height * 0.9 / height);
+                for (Vertex<V, E> vertex : vertices) {
+                    int i = vertex.getIndex();
+                    layout.setLocation(vertex, new Point2D.Double(
+                        size.width * 0.05 + (latest.getX(i) - latest.getMinX()) * scale,
+                        size.height * 0.05 + (latest.getY(i) - latest.getMinY()) * scale));
+                }
+                vv.repaint();
+            });
+        });
+    }
 
     public Function<V, String> getVertexCaptionProducer() {
         return vertexCaptionProducer;
@@ -116,4 +194,36 @@ public class JPanelRepresentation<V, E> implements GraphRepresentation<JPanel, V
     public void setColors(String[] colors) {
         this.colors = colors;
     }
+
+    public ForceLayout getForceLayout() {
+        return forceLayout;
+    }
+
+    public void setForceLayout(ForceLayout forceLayout) {
+        this.forceLayout = forceLayout;
+    }
+
+    public Executor getLayoutExecutor() {
+        return layoutExecutor;
+    }
+
+    public void setLayoutExecutor(Executor layoutExecutor) {
+        this.layoutExecutor = layoutExecutor;
+    }
+
+    public int getDetailThreshold() {
+        return detailThreshold;
+    }
+
+    public void setDetailThreshold(int detailThreshold) {
+        this.detailThreshold = detailThreshold;
+    }
+
+    public double getDetailScale() {
+        return detailScale;
+    }
+
+    public void setDetailScale(double detailScale) {
+        this.detailScale = detailScale;
+    }
 }
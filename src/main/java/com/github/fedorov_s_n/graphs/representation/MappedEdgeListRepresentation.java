@@ -0,0 +1,313 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Edge list file with integer vertex ids and optional integer edge parameters,
+ * as written by {@link EdgeListRepresentation}. Lines are {@code parent child [parameter]}
+ * or single {@code vertex}, separated by spaces or tabs; empty lines and lines
+ * starting with {@code #} are skipped.
+ * <p>
+ * Restoring maps the file into memory, splits it into line-aligned chunks and
+ * parses them with {@code parallelism} threads into growing primitive arrays,
+ * resolving vertex ids through chunk-local open addressing hashes. Local hashes
+ * are then merged into one and
+ * the graph is built in a single pass. Restored graph has vertices in order of
+ * their first appearance in the file.
+ */
+public class MappedEdgeListRepresentation implements GraphRestorableRepresentation<Path, Long, Long> {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 1 << 28;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Write graph to a new temporary file. The file belongs to the caller, who should
+     * delete it when it is not needed; otherwise it is deleted when the JVM exits.
+     *
+     * @param graph graph to write
+     * @return path of created file
+     */
+    @Override
+    public Path represent(Graph<Long, Long> graph) {
+        Path path = null;
+        try {
+            path = Files.createTempFile("graph", ".edges");
+            path.toFile().deleteOnExit();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                new EdgeListRepresentation<Long, Long>().write(graph, channel);
+            }
+            return path;
+        } catch (IOException | RuntimeException ex) {
+            if (path != null) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException suppressed) {
+                    ex.addSuppressed(suppressed);
+                }
+            }
+            if (ex instanceof IOException) throw new UncheckedIOException((IOException) ex);
+            throw (RuntimeException) ex;
+        }
+    }
+
+    @Override
+    public Graph<Long, Long> restore(Path representation) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(representation, StandardOpenOption.READ)) {
+            long[] bounds = split(channel);
+            return pool.submit(() -> {
+                Chunk[] chunks = IntStream.range(0, bounds.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parse(channel, bounds[i], bounds[i + 1]))
+                    .toArray(Chunk[]::new);
+                return build(chunks);
+            }).get();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while restoring " + representation, ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Get count of threads parsing the file, it is split into four chunks per thread
+     *
+     * @return count of threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    private long[] split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (4L * parallelism) + 1));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            long lineEnd = nextLine(channel, position, window);
+            if (lineEnd >= size) break;
+            bounds.add(lineEnd);
+            position = lineEnd + chunkSize;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // position right after the first line feed at or after given position
+    private static long nextLine(FileChannel channel, long position, ByteBuffer window) throws IOException {
+        while (true) {
+            ((Buffer) window).clear();
+            int read = channel.read(window, position);
+            if (read <= 0) return channel.size();
+            for (int i = 0; i < read; ++i) {
+                if (window.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+    }
+
+    private static Chunk parse(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Chunk chunk = new Chunk(INITIAL_CAPACITY);
+        int limit = buffer.limit();
+        long[] values = new long[3];
+        int position = 0;
+        while (position < limit) {
+            int count = 0;
+            boolean comment = false;
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b == '\n') {
+                    ++position;
+                    break;
+                } else if (comment || b == ' ' || b == '\t' || b == '\r') {
+                    ++position;
+                } else if (b == '#' && count == 0) {
+                    comment = true;
+                    ++position;
+                } else {
+                    if (count == 3) throw malformed(start + position);
+                    boolean negative = b == '-';
+                    if (negative || b == '+') ++position;
+                    // accumulated negatively to fit Long.MIN_VALUE
+                    long bound = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+                    long value = 0;
+                    int digits = 0;
+                    for (; position < limit; ++position, ++digits) {
+                        int digit = buffer.get(position) - '0';
+                        if (digit < 0 || digit > 9) break;
+                        if (value < bound / 10 || value * 10 < bound + digit) {
+                            throw new IllegalArgumentException("Number out of range at byte " + (start + position));
+                        }
+                        value = value * 10 - digit;
+                    }
+                    if (digits == 0) throw malformed(start + position);
+                    values[count++] = negative ? value : -value;
+                }
+            }
+            if (count == 1) {
+                chunk.addVertex(values[0]);
+            } else if (count > 1) {
+                chunk.addEdge(values[0], values[1], count == 3, values[2]);
+            }
+        }
+        return chunk;
+    }
+
+    private static Graph<Long, Long> build(Chunk[] chunks) {
+        IdIndex index = new IdIndex(1024);
+        int[][] toGlobal = new int[chunks.length][];
+        int[] offsets = new int[chunks.length];
+        int edgesCount = 0;
+        for (int i = 0; i < chunks.length; ++i) {
+            IdIndex local = chunks[i].index;
+            toGlobal[i] = new int[local.size];
+            for (int j = 0; j < local.size; ++j) {
+                toGlobal[i][j] = index.add(local.ids[j]);
+            }
+            offsets[i] = edgesCount;
+            edgesCount += chunks[i].edges;
+        }
+        List<Vertex<Long, Long>> vertices = new ArrayList<>(index.size);
+        for (int i = 0; i < index.size; ++i) {
+            vertices.add(new Vertex<>(index.ids[i]));
+        }
+        @SuppressWarnings("unchecked")
+        Edge<Long, Long>[] edges = new Edge[edgesCount];
+        IntStream.range(0, chunks.length).parallel().forEach(i -> {
+            Chunk chunk = chunks[i];
+            int[] mapping = toGlobal[i];
+            for (int j = 0; j < chunk.edges; ++j) {
+                edges[offsets[i] + j] = new Edge<>(
+                    vertices.get(mapping[chunk.parents[j]]),
+                    vertices.get(mapping[chunk.children[j]]),
+                    chunk.hasParameter[j] ? chunk.parameters[j] : null);
+            }
+        });
+        return new Graph<>(vertices, Arrays.asList(edges));
+    }
+
+    private static IllegalArgumentException malformed(long offset) {
+        return new IllegalArgumentException("Malformed edge list at byte " + offset);
+    }
+
+    // open addressing hash from vertex id to its position in order of appearance
+    private static final class IdIndex {
+        long[] ids;
+        int size;
+        private int[] slots;
+        private int mask;
+
+        IdIndex(int capacity) {
+            ids = new long[capacity];
+            slots = new int[Integer.highestOneBit(Math.max(capacity, 2)) << 1];
+            mask = slots.length - 1;
+        }
+
+        int add(long id) {
+            int slot = slot(id);
+            for (int value; (value = slots[slot]) != 0; slot = (slot + 1) & mask) {
+                if (ids[value - 1] == id) return value - 1;
+            }
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size] = id;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) rehash();
+            return size - 1;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            mask = slots.length - 1;
+            for (int i = 0; i < size; ++i) {
+                int slot = slot(ids[i]);
+                while (slots[slot] != 0) slot = (slot + 1) & mask;
+                slots[slot] = i + 1;
+            }
+        }
+
+        private int slot(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    private static final class Chunk {
+        final IdIndex index;
+        int[] parents;
+        int[] children;
+        long[] parameters;
+        boolean[] hasParameter;
+        int edges;
+
+        Chunk(int capacity) {
+            index = new IdIndex(capacity);
+            parents = new int[capacity];
+            children = new int[capacity];
+            parameters = new long[capacity];
+            hasParameter = new boolean[capacity];
+        }
+
+        void addVertex(long id) {
+            index.add(id);
+        }
+
+        void addEdge(long parent, long child, boolean parametrized, long parameter) {
+            if (edges == parents.length) {
+                int capacity = edges * 2;
+                parents = Arrays.copyOf(parents, capacity);
+                children = Arrays.copyOf(children, capacity);
+                parameters = Arrays.copyOf(parameters, capacity);
+                hasParameter = Arrays.copyOf(hasParameter, capacity);
+            }
+            parents[edges] = index.add(parent);
+            children[edges] = index.add(child);
+            parameters[edges] = parameter;
+            hasParameter[edges] = parametrized;
+            ++edges;
+        }
+    }
+}
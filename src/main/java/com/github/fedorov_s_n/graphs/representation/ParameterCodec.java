@@ -0,0 +1,15 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+/**
+ * Binary codec for vertices or edges parameters.
+ * Codecs are responsible for encoding null values themselves.
+ * Common codecs are available in {@link ParameterCodecs}.
+ *
+ * @param <T> type of parameters
+ */
+public interface ParameterCodec<T> {
+
+    void encode(T value, BinaryOutput out);
+
+    T decode(BinaryInput in);
+}
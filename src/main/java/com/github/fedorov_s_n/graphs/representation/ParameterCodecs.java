@@ -0,0 +1,126 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Factory of common {@link ParameterCodec} instances
+ */
+public final class ParameterCodecs {
+
+    private ParameterCodecs() {
+    }
+
+    /**
+     * Codec that writes nothing and always decodes null
+     *
+     * @param <T> type of parameters
+     * @return codec instance
+     */
+    public static <T> ParameterCodec<T> nulls() {
+        return new ParameterCodec<T>() {
+            @Override
+            public void encode(T value, BinaryOutput out) {
+            }
+
+            @Override
+            public T decode(BinaryInput in) {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Codec for nullable integers, small absolute values take one byte
+     *
+     * @return codec instance
+     */
+    public static ParameterCodec<Integer> integers() {
+        return new ParameterCodec<Integer>() {
+            @Override
+            public void encode(Integer value, BinaryOutput out) {
+                // zigzag shifted by one to reserve zero for null
+                out.writeVarLong(value == null ? 0 : (((long) value << 1) ^ (value >> 31)) + 1);
+            }
+
+            @Override
+            public Integer decode(BinaryInput in) {
+                long raw = in.readVarLong() - 1;
+                return raw < 0 ? null : (int) ((raw >>> 1) ^ -(raw & 1));
+            }
+        };
+    }
+
+    /**
+     * Codec for nullable longs, small absolute values take two bytes
+     *
+     * @return codec instance
+     */
+    public static ParameterCodec<Long> longs() {
+        return new ParameterCodec<Long>() {
+            @Override
+            public void encode(Long value, BinaryOutput out) {
+                if (value == null) {
+                    out.writeByte(0);
+                } else {
+                    out.writeByte(1);
+                    out.writeSignedVarLong(value);
+                }
+            }
+
+            @Override
+            public Long decode(BinaryInput in) {
+                return in.readByte() == 0 ? null : in.readSignedVarLong();
+            }
+        };
+    }
+
+    /**
+     * Codec for nullable doubles
+     *
+     * @return codec instance
+     */
+    public static ParameterCodec<Double> doubles() {
+        return new ParameterCodec<Double>() {
+            @Override
+            public void encode(Double value, BinaryOutput out) {
+                if (value == null) {
+                    out.writeByte(0);
+                } else {
+                    out.writeByte(1);
+                    out.writeDouble(value);
+                }
+            }
+
+            @Override
+            public Double decode(BinaryInput in) {
+                return in.readByte() == 0 ? null : in.readDouble();
+            }
+        };
+    }
+
+    /**
+     * Codec for nullable strings stored as UTF-8
+     *
+     * @return codec instance
+     */
+    public static ParameterCodec<String> strings() {
+        return new ParameterCodec<String>() {
+            @Override
+            public void encode(String value, BinaryOutput out) {
+                if (value == null) {
+                    out.writeVarInt(0);
+                } else {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeVarInt(bytes.length + 1);
+                    out.writeBytes(bytes);
+                }
+            }
+
+            @Override
+            public String decode(BinaryInput in) {
+                int length = in.readVarInt();
+                return length == 0 ? null : new String(in.readBytes(length - 1), StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
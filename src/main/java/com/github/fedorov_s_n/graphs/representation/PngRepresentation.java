@@ -0,0 +1,386 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Vector;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Headless PNG picture of a graph. The canvas is rendered in horizontal strips
+ * of {@code tileHeight} rows when the encoder asks for them, so only one strip
+ * is kept in memory regardless of canvas size. Positions are taken from a
+ * precomputed layout or calculated with {@link ForceLayout} if none is set.
+ * Graphs with more than {@code maxEdges} edges are drawn with a uniform sample of edges.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class PngRepresentation<V, E> implements GraphRepresentation<byte[], V, E> {
+
+    private VertexPositions positions;
+    private ForceLayout forceLayout = new ForceLayout();
+    private int width = 1920;
+    private int height = 1080;
+    private int tileHeight = 256;
+    private float vertexRadius = 3;
+    private int maxEdges = 200_000;
+    private int maxLabels = 500;
+    private Color edgeColor = new Color(0x99, 0x99, 0x99);
+    private Color vertexColor = Color.BLUE;
+    private Function<V, String> vertexCaptionProducer = String::valueOf;
+
+    @Override
+    public byte[] represent(Graph<V, E> graph) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(graph, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encode picture of graph into a stream, stream is not closed
+     *
+     * @param graph graph to draw
+     * @param out target stream
+     */
+    public void write(Graph<V, E> graph, OutputStream out) {
+        VertexPositions layout = positions == null ? forceLayout.layout(graph, null) : positions;
+        Drawing drawing = Drawing.of(graph, layout, width, height, vertexRadius * 4, maxEdges);
+        List<String> captions = drawing.x.length > maxLabels ? null : graph.vertices()
+            .map(Vertex::getParameter)
+            .map(vertexCaptionProducer)
+            .collect(Collectors.toList());
+        try {
+            if (!ImageIO.write(new StripImage(drawing, captions), "png", out)) {
+                throw new IllegalStateException("No PNG writer available");
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Encode picture of graph into a channel, channel is not closed
+     *
+     * @param graph graph to draw
+     * @param channel target channel
+     */
+    public void write(Graph<V, E> graph, WritableByteChannel channel) {
+        OutputStream out = Channels.newOutputStream(channel);
+        write(graph, out);
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public VertexPositions getPositions() {
+        return positions;
+    }
+
+    public void setPositions(VertexPositions positions) {
+        this.positions = positions;
+    }
+
+    public ForceLayout getForceLayout() {
+        return forceLayout;
+    }
+
+    public void setForceLayout(ForceLayout forceLayout) {
+        this.forceLayout = forceLayout;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    public void setTileHeight(int tileHeight) {
+        this.tileHeight = tileHeight;
+    }
+
+    public float getVertexRadius() {
+        return vertexRadius;
+    }
+
+    public void setVertexRadius(float vertexRadius) {
+        this.vertexRadius = vertexRadius;
+    }
+
+    public int getMaxEdges() {
+        return maxEdges;
+    }
+
+    public void setMaxEdges(int maxEdges) {
+        this.maxEdges = maxEdges;
+    }
+
+    public int getMaxLabels() {
+        return maxLabels;
+    }
+
+    public void setMaxLabels(int maxLabels) {
+        this.maxLabels = maxLabels;
+    }
+
+    public Color getEdgeColor() {
+        return edgeColor;
+    }
+
+    public void setEdgeColor(Color edgeColor) {
+        this.edgeColor = edgeColor;
+    }
+
+    public Color getVertexColor() {
+        return vertexColor;
+    }
+
+    public void setVertexColor(Color vertexColor) {
+        this.vertexColor = vertexColor;
+    }
+
+    public Function<V, String> getVertexCaptionProducer() {
+        return vertexCaptionProducer;
+    }
+
+    public void setVertexCaptionProducer(Function<V, String> vertexCaptionProducer) {
+        this.vertexCaptionProducer = vertexCaptionProducer;
+    }
+
+    /**
+     * Image of full canvas size that is backed by a single strip buffer.
+     * Encoders read rows top to bottom, so every strip is rendered once.
+     */
+    private class StripImage implements RenderedImage {
+
+        private final Drawing drawing;
+        private final List<String> captions;
+        private final int stripHeight;
+        private final BufferedImage strip;
+        private final Line2D.Float line = new Line2D.Float();
+        private final Ellipse2D.Float circle = new Ellipse2D.Float();
+        private int current = -1;
+
+        StripImage(Drawing drawing, List<String> captions) {
+            this.drawing = drawing;
+            this.captions = captions;
+            this.stripHeight = Math.max(1, Math.min(tileHeight, drawing.height));
+            this.strip = new BufferedImage(drawing.width, stripHeight, BufferedImage.TYPE_INT_RGB);
+        }
+
+        private Raster render(int index) {
+            int top = index * stripHeight;
+            if (index != current) {
+                Graphics2D g = strip.createGraphics();
+                try {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, drawing.width, stripHeight);
+                    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                    g.translate(0, -top);
+                    float from = top - vertexRadius - 1;
+                    float to = top + stripHeight + vertexRadius + 1;
+                    g.setColor(edgeColor);
+                    g.setStroke(new BasicStroke(0.5f));
+                    for (int i = 0; i < drawing.edges; ++i) {
+                        float y1 = drawing.y[drawing.parents[i]];
+                        float y2 = drawing.y[drawing.children[i]];
+                        if (Math.max(y1, y2) >= from && Math.min(y1, y2) <= to) {
+                            line.setLine(drawing.x[drawing.parents[i]], y1, drawing.x[drawing.children[i]], y2);
+                            g.draw(line);
+                        }
+                    }
+                    g.setColor(vertexColor);
+                    for (int i = 0; i < drawing.x.length; ++i) {
+                        if (drawing.y[i] >= from && drawing.y[i] <= to) {
+                            circle.setFrame(drawing.x[i] - vertexRadius, drawing.y[i] - vertexRadius,
+                                2 * vertexRadius, 2 * vertexRadius);
+                            g.fill(circle);
+                        }
+                    }
+                    if (captions != null) {
+                        g.setColor(Color.BLACK);
+                        int fontHeight = g.getFontMetrics().getHeight();
+                        for (int i = 0; i < drawing.x.length; ++i) {
+                            float baseline = drawing.y[i] - vertexRadius;
+                            if (baseline >= from - fontHeight && baseline - fontHeight <= to + fontHeight) {
+                                g.drawString(captions.get(i), drawing.x[i] + vertexRadius, baseline);
+                            }
+                        }
+                    }
+                } finally {
+                    g.dispose();
+                }
+                current = index;
+            }
+            return strip.getRaster().createTranslatedChild(0, top);
+        }
+
+        @Override
+        public Vector<RenderedImage> getSources() {
+            return null;
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return Image.UndefinedProperty;
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            return null;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return strip.getColorModel();
+        }
+
+        @Override
+        public SampleModel getSampleModel() {
+            return strip.getSampleModel();
+        }
+
+        @Override
+        public int getWidth() {
+            return drawing.width;
+        }
+
+        @Override
+        public int getHeight() {
+            return drawing.height;
+        }
+
+        @Override
+        public int getMinX() {
+            return 0;
+        }
+
+        @Override
+        public int getMinY() {
+            return 0;
+        }
+
+        @Override
+        public int getNumXTiles() {
+            return 1;
+        }
+
+        @Override
+        public int getNumYTiles() {
+            return (drawing.height + stripHeight - 1) / stripHeight;
+        }
+
+        @Override
+        public int getMinTileX() {
+            return 0;
+        }
+
+        @Override
+        public int getMinTileY() {
+            return 0;
+        }
+
+        @Override
+        public int getTileWidth() {
+            return drawing.width;
+        }
+
+        @Override
+        public int getTileHeight() {
+            return stripHeight;
+        }
+
+        @Override
+        public int getTileGridXOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getTileGridYOffset() {
+            return 0;
+        }
+
+        @Override
+        public Raster getTile(int tileX, int tileY) {
+            return render(tileY);
+        }
+
+        @Override
+        public Raster getData() {
+            return getData(new Rectangle(0, 0, drawing.width, drawing.height));
+        }
+
+        @Override
+        public Raster getData(Rectangle rect) {
+            int first = rect.y / stripHeight;
+            int last = (rect.y + rect.height - 1) / stripHeight;
+            if (first == last) {
+                // the usual case: encoder reads row by row, no copy is needed
+                return render(first).createChild(rect.x, rect.y, rect.width, rect.height, rect.x, rect.y, null);
+            }
+            return copyData(createRaster(rect));
+        }
+
+        private WritableRaster createRaster(Rectangle rect) {
+            return Raster.createWritableRaster(
+                strip.getSampleModel().createCompatibleSampleModel(rect.width, rect.height),
+                new Point(rect.x, rect.y));
+        }
+
+        @Override
+        public WritableRaster copyData(WritableRaster raster) {
+            if (raster == null) {
+                raster = createRaster(new Rectangle(0, 0, drawing.width, drawing.height));
+            }
+            Rectangle bounds = raster.getBounds().intersection(new Rectangle(0, 0, drawing.width, drawing.height));
+            if (bounds.isEmpty()) {
+                return raster;
+            }
+            for (int index = bounds.y / stripHeight; index * stripHeight < bounds.y + bounds.height; ++index) {
+                Rectangle part = bounds.intersection(new Rectangle(0, index * stripHeight, drawing.width, stripHeight));
+                raster.setRect(render(index).createChild(part.x, part.y, part.width, part.height, part.x, part.y, null));
+            }
+            return raster;
+        }
+    }
+}
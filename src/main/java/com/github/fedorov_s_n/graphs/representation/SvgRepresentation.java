@@ -0,0 +1,172 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Headless SVG picture of a graph. Positions are taken from a precomputed layout
+ * or calculated with {@link ForceLayout} if none is set. Graphs with more than
+ * {@code maxEdges} edges are drawn with a uniform sample of edges, vertices are
+ * labelled only if there are no more than {@code maxLabels} of them, vertices
+ * formatted as null have no label.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class SvgRepresentation<V, E> extends TextGraphRepresentation<V, E> {
+
+    private VertexPositions positions;
+    private ForceLayout forceLayout = new ForceLayout();
+    private int width = 1920;
+    private int height = 1080;
+    private float vertexRadius = 3;
+    private int maxEdges = 200_000;
+    private int maxLabels = 500;
+    private String edgeColor = "#999999";
+    private String vertexColor = "#0000cc";
+
+    @Override
+    public void write(Graph<V, E> graph, Appendable out) throws IOException {
+        VertexPositions layout = positions == null ? forceLayout.layout(graph, null) : positions;
+        Drawing drawing = Drawing.of(graph, layout, width, height, vertexRadius * 4, maxEdges);
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"");
+        appendInt(out, width);
+        out.append("\" height=\"");
+        appendInt(out, height);
+        out.append("\">\n<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+        out.append("<g stroke=\"");
+        appendXml(out, edgeColor);
+        out.append("\" stroke-width=\"0.5\">\n");
+        for (int i = 0; i < drawing.edges; ++i) {
+            out.append("<line x1=\"");
+            appendCoordinate(out, drawing.x[drawing.parents[i]]);
+            out.append("\" y1=\"");
+            appendCoordinate(out, drawing.y[drawing.parents[i]]);
+            out.append("\" x2=\"");
+            appendCoordinate(out, drawing.x[drawing.children[i]]);
+            out.append("\" y2=\"");
+            appendCoordinate(out, drawing.y[drawing.children[i]]);
+            out.append("\"/>\n");
+        }
+        out.append("</g>\n<g fill=\"");
+        appendXml(out, vertexColor);
+        out.append("\">\n");
+        for (int i = 0; i < drawing.x.length; ++i) {
+            out.append("<circle cx=\"");
+            appendCoordinate(out, drawing.x[i]);
+            out.append("\" cy=\"");
+            appendCoordinate(out, drawing.y[i]);
+            out.append("\" r=\"");
+            appendCoordinate(out, vertexRadius);
+            out.append("\"/>\n");
+        }
+        out.append("</g>\n");
+        if (drawing.x.length <= maxLabels) {
+            out.append("<g font-family=\"sans-serif\" font-size=\"10\">\n");
+            Iterator<Vertex<V, E>> vertices = graph.vertices().iterator();
+            while (vertices.hasNext()) {
+                Vertex<V, E> vertex = vertices.next();
+                String label = formatVertex(vertex.getParameter());
+                if (label == null) continue;
+                out.append("<text x=\"");
+                appendCoordinate(out, drawing.x[vertex.getIndex()] + vertexRadius);
+                out.append("\" y=\"");
+                appendCoordinate(out, drawing.y[vertex.getIndex()] - vertexRadius);
+                out.append("\">");
+                appendXml(out, label);
+                out.append("</text>\n");
+            }
+            out.append("</g>\n");
+        }
+        out.append("</svg>\n");
+    }
+
+    public VertexPositions getPositions() {
+        return positions;
+    }
+
+    public void setPositions(VertexPositions positions) {
+        this.positions = positions;
+    }
+
+    public ForceLayout getForceLayout() {
+        return forceLayout;
+    }
+
+    public void setForceLayout(ForceLayout forceLayout) {
+        this.forceLayout = forceLayout;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public float getVertexRadius() {
+        return vertexRadius;
+    }
+
+    public void setVertexRadius(float vertexRadius) {
+        this.vertexRadius = vertexRadius;
+    }
+
+    public int getMaxEdges() {
+        return maxEdges;
+    }
+
+    public void setMaxEdges(int maxEdges) {
+        this.maxEdges = maxEdges;
+    }
+
+    public int getMaxLabels() {
+        return maxLabels;
+    }
+
+    public void setMaxLabels(int maxLabels) {
+        this.maxLabels = maxLabels;
+    }
+
+    public String getEdgeColor() {
+        return edgeColor;
+    }
+
+    public void setEdgeColor(String edgeColor) {
+        this.edgeColor = edgeColor;
+    }
+
+    public String getVertexColor() {
+        return vertexColor;
+    }
+
+    public void setVertexColor(String vertexColor) {
+        this.vertexColor = vertexColor;
+    }
+
+    // one decimal digit is enough for pixels
+    private static void appendCoordinate(Appendable out, float value) throws IOException {
+        int tenths = Math.round(value * 10);
+        if (tenths < 0) {
+            out.append('-');
+            tenths = -tenths;
+        }
+        appendInt(out, tenths / 10);
+        if (tenths % 10 != 0) {
+            out.append('.').append((char) ('0' + tenths % 10));
+        }
+    }
+}
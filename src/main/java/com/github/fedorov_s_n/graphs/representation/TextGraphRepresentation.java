@@ -0,0 +1,139 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Base class for text formats that are written sequentially, vertex by vertex
+ * and edge by edge, so writing to a stream takes constant memory. Formatters are
+ * not called for null parameters of vertices and edges, those are formatted as null.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public abstract class TextGraphRepresentation<V, E> implements GraphRepresentation<String, V, E> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Function<V, String> vertexFormatter = String::valueOf;
+
+    private Function<E, String> edgeFormatter = String::valueOf;
+
+    /**
+     * Write graph to given destination
+     *
+     * @param graph graph to write
+     * @param out   destination
+     * @throws IOException if destination fails
+     */
+    public abstract void write(Graph<V, E> graph, Appendable out) throws IOException;
+
+    @Override
+    public String represent(Graph<V, E> graph) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            write(graph, builder);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write graph to writer and flush it
+     *
+     * @param graph  graph to write
+     * @param writer destination, not closed by this method
+     * @throws IOException if writer fails
+     */
+    public void write(Graph<V, E> graph, Writer writer) throws IOException {
+        write(graph, (Appendable) writer);
+        writer.flush();
+    }
+
+    /**
+     * Write graph to channel in UTF-8
+     *
+     * @param graph   graph to write
+     * @param channel destination, not closed by this method
+     * @throws IOException if channel fails
+     */
+    public void write(Graph<V, E> graph, WritableByteChannel channel) throws IOException {
+        Writer writer = new BufferedWriter(
+            Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE),
+            BUFFER_SIZE);
+        write(graph, writer);
+    }
+
+    public Function<V, String> getVertexFormatter() {
+        return vertexFormatter;
+    }
+
+    public void setVertexFormatter(Function<V, String> vertexFormatter) {
+        this.vertexFormatter = vertexFormatter;
+    }
+
+    public Function<E, String> getEdgeFormatter() {
+        return edgeFormatter;
+    }
+
+    public void setEdgeFormatter(Function<E, String> edgeFormatter) {
+        this.edgeFormatter = edgeFormatter;
+    }
+
+    String formatVertex(V parameter) {
+        return parameter == null ? null : vertexFormatter.apply(parameter);
+    }
+
+    String formatEdge(E parameter) {
+        return parameter == null ? null : edgeFormatter.apply(parameter);
+    }
+
+    static void appendInt(Appendable out, int value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Integer.toString(value));
+        }
+    }
+
+    /**
+     * Append value escaped for XML text and attributes, dropping characters
+     * that are not allowed in XML 1.0
+     */
+    static void appendXml(Appendable out, String value) throws IOException {
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                default:
+                    if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        out.append(c).append(value.charAt(++i));
+                    } else if (c == '\t' || c == '\n' || c == '\r'
+                        || c >= 0x20 && c <= 0xD7FF || c >= 0xE000 && c <= 0xFFFD) {
+                        out.append(c);
+                    }
+            }
+        }
+    }
+}
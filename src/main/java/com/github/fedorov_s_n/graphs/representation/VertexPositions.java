@@ -0,0 +1,70 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+/**
+ * Immutable positions of graph vertices on a plane, indexed by {@code Vertex.getIndex()}
+ */
+public final class VertexPositions {
+
+    private final double[] x;
+    private final double[] y;
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /**
+     * Create positions from coordinates arrays, arrays are not copied
+     *
+     * @param x abscissas of vertices
+     * @param y ordinates of vertices
+     */
+    public VertexPositions(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Coordinates arrays have different lengths");
+        }
+        this.x = x;
+        this.y = y;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < x.length; ++i) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        this.minX = x.length == 0 ? 0 : minX;
+        this.minY = x.length == 0 ? 0 : minY;
+        this.maxX = x.length == 0 ? 0 : maxX;
+        this.maxY = x.length == 0 ? 0 : maxY;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.fedorov_s_n.graphs.representation;
+
+import com.github.fedorov_s_n.graphs.Graph;
+
+import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle of a graph shown in a desktop window
+ */
+public final class Visualization {
+
+    private final JFrame frame;
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private Visualization(JFrame frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Show graph in a new maximized window without waiting for it to be closed
+     *
+     * @param graph          graph to show
+     * @param representation representation producing window content
+     * @param <V>            type of vertices parameters
+     * @param <E>            type of edges parameters
+     * @return handle of shown window
+     */
+    public static <V, E> Visualization show(Graph<V, E> graph, JPanelRepresentation<V, E> representation) {
+        JFrame frame = new JFrame();
+        Visualization visualization = new Visualization(frame);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                visualization.closed.countDown();
+            }
+        });
+        frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+        frame.setVisible(true);
+        frame.setContentPane(representation.represent(graph));
+        frame.pack();
+        frame.repaint();
+        return visualization;
+    }
+
+    public JFrame getFrame() {
+        return frame;
+    }
+
+    /**
+     * Check if window is closed
+     *
+     * @return true if window is closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed.getCount() == 0;
+    }
+
+    /**
+     * Wait until window is closed
+     *
+     * @throws InterruptedException if current thread is interrupted while waiting
+     */
+    public void await() throws InterruptedException {
+        closed.await();
+    }
+
+    /**
+     * Wait until window is closed or timeout expires
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of timeout
+     * @return true if window is closed, false if timeout expired
+     * @throws InterruptedException if current thread is interrupted while waiting
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return closed.await(timeout, unit);
+    }
+
+    /**
+     * Close window, background layout is stopped as well
+     */
+    public void close() {
+        SwingUtilities.invokeLater(frame::dispose);
+    }
+}
@@ -0,0 +1,405 @@
+package com.github.fedorov_s_n.graphs.streaming;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graph of timestamped edges from the last {@code window} time units. Edge with
+ * timestamp {@code t} is kept while the current time is less than {@code t + window}.
+ * Timestamps of added edges should not decrease, so edges expire in the order they
+ * were added: edges are kept in a ring buffer and every vertex keeps rings of its
+ * parent and child edges, expiry removes the oldest entries only.
+ * <p>
+ * Vertices are identified by parameters and exist while they have edges, their slots
+ * are reused after that. Degrees and the degree histogram are updated with every edge,
+ * connected components are united on insertion and recalculated lazily after expiry.
+ * The structure is not thread safe, {@link #snapshot()} returns an independent {@link Graph}.
+ *
+ * @param <V> type of vertices parameters
+ * @param <E> type of edges parameters
+ */
+public class SlidingWindowGraph<V, E> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final long window;
+    private long now = Long.MIN_VALUE;
+
+    // edges ring, edge with sequence number s is at s & mask
+    private long[] times = new long[16];
+    private int[] parents = new int[16];
+    private int[] children = new int[16];
+    private Object[] parameters = new Object[16];
+    private int mask = 15;
+    private int first;
+    private int next;
+
+    // vertices, rings of edge sequence numbers per vertex
+    private final Map<V, Integer> ids = new HashMap<>();
+    private Object[] vertices = new Object[16];
+    private int[][] childEdges = new int[16][];
+    private int[][] parentEdges = new int[16][];
+    private int[] childStarts = new int[16];
+    private int[] parentStarts = new int[16];
+    private int[] outDegrees = new int[16];
+    private int[] inDegrees = new int[16];
+    private int[] free = new int[16];
+    private int freeCount;
+    private int allocated;
+    private int verticesCount;
+
+    private int[] histogram = new int[16];
+    private int maxDegree;
+
+    private int[] components = new int[16];
+    private int[] componentSizes = new int[16];
+    private int componentsCount;
+    private boolean componentsDirty;
+
+    /**
+     * Create empty window
+     *
+     * @param window length of window in units of edges timestamps
+     */
+    public SlidingWindowGraph(long window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window should be positive");
+        }
+        this.window = window;
+    }
+
+    /**
+     * Add edge and expire edges that are out of window at its timestamp
+     *
+     * @param parent    parameter of parent vertex
+     * @param child     parameter of child vertex
+     * @param parameter parameter of edge
+     * @param timestamp time of edge, not less than current time
+     */
+    public void add(V parent, V child, E parameter, long timestamp) {
+        advance(timestamp);
+        if (next - first == times.length) grow();
+        int p = vertex(parent);
+        int c = vertex(child);
+        int slot = next & mask;
+        times[slot] = timestamp;
+        parents[slot] = p;
+        children[slot] = c;
+        parameters[slot] = parameter;
+        childEdges[p] = push(childEdges[p], childStarts, p, outDegrees[p], next);
+        parentEdges[c] = push(parentEdges[c], parentStarts, c, inDegrees[c], next);
+        ++next;
+        changeDegree(p, 1, 0);
+        changeDegree(c, 0, 1);
+        if (!componentsDirty) union(p, c);
+    }
+
+    /**
+     * Move current time forward and expire edges that are out of window
+     *
+     * @param timestamp new current time, not less than current time
+     */
+    public void advance(long timestamp) {
+        if (timestamp < now) {
+            throw new IllegalArgumentException("Time " + timestamp + " is before current time " + now);
+        }
+        now = timestamp;
+        // time never goes back, so the difference is exact when read as unsigned
+        while (first != next && Long.compareUnsigned(timestamp - times[first & mask], window) >= 0) {
+            int slot = first & mask;
+            int p = parents[slot];
+            int c = children[slot];
+            parameters[slot] = null;
+            // the oldest edge of the window is the oldest edge of its vertices too
+            childStarts[p] = (childStarts[p] + 1) % childEdges[p].length;
+            parentStarts[c] = (parentStarts[c] + 1) % parentEdges[c].length;
+            ++first;
+            changeDegree(p, -1, 0);
+            changeDegree(c, 0, -1);
+            componentsDirty = true;
+        }
+    }
+
+    /**
+     * Get count of edges in window
+     *
+     * @return count of edges
+     */
+    public int edgesCount() {
+        return next - first;
+    }
+
+    /**
+     * Get count of vertices that have edges in window
+     *
+     * @return count of vertices
+     */
+    public int verticesCount() {
+        return verticesCount;
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Get current time, the latest timestamp passed to {@code add} or {@code advance}
+     *
+     * @return current time
+     */
+    public long getNow() {
+        return now;
+    }
+
+    /**
+     * Check if vertex has edges in window
+     *
+     * @param vertex parameter of vertex
+     * @return true if vertex is in window
+     */
+    public boolean contains(V vertex) {
+        return ids.containsKey(vertex);
+    }
+
+    public int getOutDegree(V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? 0 : outDegrees[id];
+    }
+
+    public int getInDegree(V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? 0 : inDegrees[id];
+    }
+
+    /**
+     * Get children of vertex from the oldest edge to the newest one
+     *
+     * @param vertex parameter of vertex
+     * @return parameters of children, repeated for parallel edges
+     */
+    public List<V> getChildren(V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? Collections.emptyList() : neighbours(childEdges[id], childStarts[id], outDegrees[id], children);
+    }
+
+    /**
+     * Get parents of vertex from the oldest edge to the newest one
+     *
+     * @param vertex parameter of vertex
+     * @return parameters of parents, repeated for parallel edges
+     */
+    public List<V> getParents(V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? Collections.emptyList() : neighbours(parentEdges[id], parentStarts[id], inDegrees[id], parents);
+    }
+
+    /**
+     * Get count of vertices of every total degree, both parent and child edges are counted
+     *
+     * @return histogram indexed by degree, from 0 to the maximal degree
+     */
+    public int[] getDegreeHistogram() {
+        return Arrays.copyOf(histogram, maxDegree + 1);
+    }
+
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * Get count of weakly connected components of graph in window
+     *
+     * @return count of components
+     */
+    public int getComponentsCount() {
+        updateComponents();
+        return componentsCount;
+    }
+
+    /**
+     * Get count of vertices in the largest weakly connected component
+     *
+     * @return size of the largest component
+     */
+    public int getLargestComponentSize() {
+        updateComponents();
+        int largest = 0;
+        for (int id = 0; id < allocated; ++id) {
+            if (vertices[id] != null && components[id] == id) largest = Math.max(largest, componentSizes[id]);
+        }
+        return largest;
+    }
+
+    /**
+     * Create graph of edges in window. Vertices are ordered by their slots,
+     * edges are ordered from the oldest to the newest.
+     *
+     * @return new graph
+     */
+    @SuppressWarnings("unchecked")
+    public Graph<V, E> snapshot() {
+        List<Vertex<V, E>> vertexList = new ArrayList<>(verticesCount);
+        @SuppressWarnings("unchecked")
+        Vertex<V, E>[] copies = new Vertex[allocated];
+        for (int id = 0; id < allocated; ++id) {
+            if (vertices[id] != null) {
+                copies[id] = new Vertex<>((V) vertices[id]);
+                vertexList.add(copies[id]);
+            }
+        }
+        List<Edge<V, E>> edgeList = new ArrayList<>(next - first);
+        for (int s = first; s != next; ++s) {
+            int slot = s & mask;
+            edgeList.add(new Edge<>(copies[parents[slot]], copies[children[slot]], (E) parameters[slot]));
+        }
+        return new Graph<>(vertexList, edgeList);
+    }
+
+    private int vertex(V parameter) {
+        Integer id = ids.get(parameter);
+        if (id != null) return id;
+        int created;
+        if (freeCount > 0) {
+            created = free[--freeCount];
+        } else {
+            if (allocated == vertices.length) growVertices();
+            created = allocated++;
+        }
+        ids.put(parameter, created);
+        vertices[created] = parameter;
+        childStarts[created] = parentStarts[created] = 0;
+        ++verticesCount;
+        if (!componentsDirty) {
+            components[created] = created;
+            componentSizes[created] = 1;
+            ++componentsCount;
+        }
+        return created;
+    }
+
+    private void changeDegree(int id, int out, int in) {
+        int before = outDegrees[id] + inDegrees[id];
+        outDegrees[id] += out;
+        inDegrees[id] += in;
+        int after = before + out + in;
+        if (before > 0) --histogram[before];
+        if (after > 0) {
+            if (after == histogram.length) histogram = Arrays.copyOf(histogram, after * 2);
+            ++histogram[after];
+        }
+        if (after > maxDegree) {
+            maxDegree = after;
+        }
+        while (maxDegree > 0 && histogram[maxDegree] == 0) {
+            --maxDegree;
+        }
+        if (after == 0) {
+            // the vertex has left the window, its slot is reused
+            ids.remove(vertices[id]);
+            vertices[id] = null;
+            --verticesCount;
+            if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+            free[freeCount++] = id;
+        }
+    }
+
+    private int[] push(int[] ring, int[] starts, int id, int size, int sequence) {
+        if (ring == null) ring = EMPTY;
+        if (size == ring.length) {
+            int[] grown = new int[Math.max(4, size * 2)];
+            for (int i = 0; i < size; ++i) {
+                grown[i] = ring[(starts[id] + i) % size];
+            }
+            starts[id] = 0;
+            ring = grown;
+        }
+        ring[(starts[id] + size) % ring.length] = sequence;
+        return ring;
+    }
+
+    private List<V> neighbours(int[] ring, int start, int size, int[] endpoints) {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            @SuppressWarnings("unchecked")
+            V parameter = (V) vertices[endpoints[ring[(start + i) % ring.length] & mask]];
+            result.add(parameter);
+        }
+        return result;
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        long[] newTimes = new long[capacity];
+        int[] newParents = new int[capacity];
+        int[] newChildren = new int[capacity];
+        Object[] newParameters = new Object[capacity];
+        int newMask = capacity - 1;
+        for (int s = first; s != next; ++s) {
+            newTimes[s & newMask] = times[s & mask];
+            newParents[s & newMask] = parents[s & mask];
+            newChildren[s & newMask] = children[s & mask];
+            newParameters[s & newMask] = parameters[s & mask];
+        }
+        times = newTimes;
+        parents = newParents;
+        children = newChildren;
+        parameters = newParameters;
+        mask = newMask;
+    }
+
+    private void growVertices() {
+        int capacity = vertices.length * 2;
+        vertices = Arrays.copyOf(vertices, capacity);
+        childEdges = Arrays.copyOf(childEdges, capacity);
+        parentEdges = Arrays.copyOf(parentEdges, capacity);
+        childStarts = Arrays.copyOf(childStarts, capacity);
+        parentStarts = Arrays.copyOf(parentStarts, capacity);
+        outDegrees = Arrays.copyOf(outDegrees, capacity);
+        inDegrees = Arrays.copyOf(inDegrees, capacity);
+        components = Arrays.copyOf(components, capacity);
+        componentSizes = Arrays.copyOf(componentSizes, capacity);
+    }
+
+    private void updateComponents() {
+        if (!componentsDirty) return;
+        for (int id = 0; id < allocated; ++id) {
+            components[id] = id;
+            componentSizes[id] = 1;
+        }
+        componentsCount = verticesCount;
+        for (int s = first; s != next; ++s) {
+            union(parents[s & mask], children[s & mask]);
+        }
+        componentsDirty = false;
+    }
+
+    private int find(int id) {
+        while (components[id] != id) {
+            components[id] = components[components[id]];
+            id = components[id];
+        }
+        return id;
+    }
+
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) return;
+        if (componentSizes[a] < componentSizes[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        components[b] = a;
+        componentSizes[a] += componentSizes[b];
+        --componentsCount;
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.fedorov_s_n.graphs
+
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class GraphDiffTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    @Unroll
+    def "patch(#from, diff) -> (#to)"() {
+        given:
+        def old = parser.restore(from)
+        def current = parser.restore(to)
+
+        expect:
+        old.patch(old.diff(current)) == current
+        where:
+        from                       | to
+        "1->2->3"                  | "1->2->3"
+        "1 -/1/-> 2 -> 3"          | "1 -/5/-> 2, 4 -> 1"
+        "1->2, 1->2, 1 -/3/-> 2"   | "1 -/3/-> 2, 1 -/4/-> 2"
+        "1->2->3->1"               | "3->2->1->3, 5"
+        "1, 2"                     | "7 -/1/-> 8"
+    }
+
+    def "reports added, removed and changed vertices and edges"() {
+        when:
+        def diff = parser.restore("1 -/1/-> 2 -> 3, 2 -/7/-> 2").diff(parser.restore("1 -/5/-> 2, 4 -> 1, 2 -/7/-> 2"))
+
+        then:
+        !diff.empty
+        diff.addedVertices == [4]
+        diff.removedVertices == [3]
+        diff.changedVertices.empty
+        diff.changedEdges.collect { [it.parent, it.child, it.before, it.after] } == [[1, 2, 1, 5]]
+        diff.removedEdges.collect { [it.parent, it.child, it.before] } == [[2, 3, null]]
+        diff.addedEdges.collect { [it.parent, it.child, it.after] } == [[4, 1, null]]
+    }
+
+    def "matches vertices by key"() {
+        given:
+        def old = parser.restore("10 -> 21 -> 30")
+        def current = parser.restore("10 -> 22 -> 30")
+
+        when:
+        def diff = GraphDiff.of(old, current, { it.intdiv(10) })
+
+        then:
+        diff.changedVertices.collect { [it.before, it.after] } == [[21, 22]]
+        diff.addedVertices.empty
+        diff.addedEdges.empty
+        diff.removedEdges.empty
+        diff.apply(old) == current
+    }
+
+    def "equal graphs have empty difference"() {
+        expect:
+        parser.restore("1 -> 2 -/3/-> 3, 4").diff(parser.restore("4, 2 -/3/-> 3, 1 -> 2")).empty
+    }
+
+    def "fails to apply difference to unrelated graph"() {
+        given:
+        def diff = parser.restore("1 -> 2").diff(parser.restore("1"))
+
+        when:
+        parser.restore("3 -> 4").patch(diff)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "rejects duplicate keys"() {
+        when:
+        parser.restore("1 -> 1, 2").diff(parser.restore("1"))
+        GraphDiff.of(parser.restore("11, 12"), parser.restore("1"), { it.intdiv(10) })
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "rejects duplicate keys of new graph"() {
+        when:
+        GraphDiff.of(parser.restore("10 -> 20"), parser.restore("11 -> 21, 12"), { it.intdiv(10) })
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
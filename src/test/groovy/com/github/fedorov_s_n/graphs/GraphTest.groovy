@@ -54,6 +54,104 @@ class GraphTest extends Specification {
     }
 
 
+    @Unroll
+    def "union(#inputs) -> (#output)"() {
+        expect:
+        assert Graph.union(inputs.collect { parser.restore(it) }) == parser.restore(output)
+        where:
+        inputs                           | output
+        ["1->2", "2->3", "3->1"]         | "1->2->3->1"
+        ["1 -/1/-> 2", "1 -/1/-> 2, 4"]  | "1 -/1/-> 2, 1 -/1/-> 2, 4"
+        ["1->1, 1"]                      | "1->1"
+        ["5"]                            | "5"
+    }
+
+    def "union merges parallel edges with reducer"() {
+        when:
+        def graphs = ["1 -/1/-> 2 -/2/-> 3", "1 -/4/-> 2, 3 -/8/-> 4", "2 -/16/-> 3 -/32/-> 4, 3 -/64/-> 2"].collect { parser.restore(it) }
+        def union = Graph.union(graphs, { a, b -> a + b })
+
+        then:
+        union == parser.restore("1 -/5/-> 2 -/18/-> 3 -/40/-> 4, 3 -/64/-> 2")
+        union.vertices().collect { it.parameter } == [1, 2, 3, 4]
+        union.edges().collect { it.parameter } == [5, 18, 40, 64]
+    }
+
+    def "union keeps order of first appearance and does not share vertices"() {
+        when:
+        def first = parser.restore("3->1")
+        def second = parser.restore("2->1, 4")
+        def union = Graph.union([first, second])
+
+        then:
+        union.vertices().collect { it.parameter } == first.vertices().collect { it.parameter } + [2, 4]
+        union.edges().collect { [it.parent.parameter, it.child.parameter] } == [[3, 1], [2, 1]]
+        union.vertices().noneMatch { v -> first.vertices().anyMatch { it.is(v) } }
+        Graph.union([]).size() == 0
+    }
+
+    @Unroll
+    def "egoNetwork(#input, #center, #hops, #direction) -> (#output)"() {
+        given:
+        def graph = parser.restore(input)
+        def vertex = graph.vertices().filter { it.parameter == center }.findFirst().get()
+
+        expect:
+        assert graph.egoNetwork(vertex, hops, direction) == parser.restore(output)
+        where:
+        input                      | center | hops | direction          | output
+        "1->2->3->4, 5->2"         | 2      | 1    | Direction.CHILDREN | "2->3"
+        "1->2->3->4, 5->2"         | 2      | 1    | Direction.PARENTS  | "1->2, 5->2"
+        "1->2->3->4, 5->2"         | 2      | 1    | Direction.BOTH     | "1->2->3, 5->2"
+        "1->2->3->4, 5->2"         | 2      | 0    | Direction.BOTH     | "2"
+        "1->2->3->4, 5->2"         | 1      | 9    | Direction.CHILDREN | "1->2->3->4"
+        "1->2->3, 1->3, 3->1"      | 1      | 1    | Direction.CHILDREN | "1->2->3->1, 1->3"
+        "1->1->2 -/7/-> 3->4->2"   | 2      | 2    | Direction.CHILDREN | "2 -/7/-> 3->4->2"
+    }
+
+    def "egoNetwork matches filter by distance"() {
+        given:
+        def random = new Random(7)
+        def vertices = (0..<200).collect { new Vertex<Integer, Integer>(it) }
+        def edges = (0..<500).collect { new Edge<Integer, Integer>(vertices[random.nextInt(200)], vertices[random.nextInt(200)], it) }
+        def graph = new Graph<Integer, Integer>(vertices, edges)
+
+        expect:
+        (0..<50).every { i ->
+            def center = vertices[random.nextInt(200)]
+            def reached = [center] as Set
+            def frontier = [center]
+            2.times {
+                frontier = frontier.collectMany { v -> v.neighbourNodes.collect() }.findAll { reached.add(it) }
+            }
+            graph.egoNetwork(center, 2, Direction.BOTH) == graph.filter { reached.contains(it) }
+        }
+    }
+
+    def "egoNetwork alternates between large and small graphs"() {
+        given:
+        def vertices = (0..<100000).collect { new Vertex<Integer, Integer>(it) }
+        def large = new Graph<Integer, Integer>(vertices, [new Edge<Integer, Integer>(vertices[99998], vertices[99999], 0)])
+        def small = parser.restore("1->2->3")
+        def center = small.vertices().filter { it.parameter == 2 }.findFirst().get()
+
+        expect:
+        large.egoNetwork(vertices[99999], 1, Direction.BOTH) == parser.restore("99998 -/0/-> 99999")
+        small.egoNetwork(center, 1, Direction.CHILDREN) == parser.restore("2->3")
+        large.egoNetwork(vertices[99998], 1, Direction.PARENTS) == parser.restore("99998")
+    }
+
+    def "egoNetwork rejects vertex of another graph"() {
+        when:
+        parser.restore("1->2").egoNetwork(vertex, 1, Direction.BOTH)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        vertex << [new Vertex<Integer, Integer>(1), new Vertex<Integer, Integer>(1).with { index = -1; it }]
+    }
+
     @Unroll
     def "#split(#input) -> (#output)"() {
         expect:
@@ -82,5 +180,80 @@ class GraphTest extends Specification {
         "4->3->2->1"       | "4321"
         "1->2->1"          | null
         "1->2, 1->2, 1->2" | "12"
+        "1->2->4, 1->3->4" | "1324"
+        "1->2->3->2"       | null
+    }
+
+    def "derived results are memoized until invalidated"() {
+        given:
+        def graph = parser.restore("1->2->3, 3->4")
+
+        expect:
+        graph.topsort().is(graph.topsort())
+        graph.splitEdges().first().is(graph.splitEdges().first())
+        graph.outDegrees().is(graph.outDegrees())
+        graph.inDegrees() as List == graph.vertices().collect { it.parentEdges.count() as int }
+        graph.outDegrees() as List == graph.vertices().collect { it.childEdges.count() as int }
+
+        when:
+        def vertices = graph.vertices().collect()
+        def edges = graph.edges().collect()
+        def mutated = new Graph<>(vertices, edges)
+        def sorted = mutated.topsort()
+        def hash = mutated.hashCode()
+        edges.add(new Edge<>(vertices[3], vertices[0]))
+        mutated.invalidate()
+
+        then:
+        sorted != null
+        mutated.topsort() == null
+        mutated.hashCode() != hash
+        mutated.outDegrees()[3] == 1
+    }
+
+    def "cyclic topsort result is memoized too"() {
+        given:
+        def source = parser.restore("1->2->1")
+        def edges = source.edges().collect()
+        def graph = new Graph<>(source.vertices().collect(), edges)
+        graph.memoization = Memoization.STRONG
+
+        when:
+        def cyclic = graph.topsort()
+        // unlink the back edge everywhere, so only the memoized result can still be cyclic
+        def back = edges.find { it.parent.parameter == 2 }
+        edges.remove(back)
+        back.parent.children.remove(back)
+        back.child.parents.remove(back)
+
+        then:
+        cyclic == null
+        graph.topsort() == null
+
+        when:
+        graph.invalidate()
+
+        then:
+        graph.topsort() != null
+    }
+
+    def "no memoization recalculates results"() {
+        given:
+        def graph = parser.restore("1->2->3")
+        graph.memoization = Memoization.NONE
+
+        expect:
+        !graph.topsort().is(graph.topsort())
+        graph.topsort() == graph.topsort()
+        graph.hashCode() == graph.clone().hashCode()
+    }
+
+    def "strong memoization keeps results"() {
+        given:
+        def graph = parser.restore("1->2->3")
+        graph.memoization = Memoization.STRONG
+
+        expect:
+        graph.topsort().is(graph.topsort())
     }
 }
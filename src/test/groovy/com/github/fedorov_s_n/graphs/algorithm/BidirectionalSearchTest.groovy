@@ -0,0 +1,88 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class BidirectionalSearchTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "finds path with the least count of edges"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3 -> 4 -> 5 -> 6, 1 -> 7 -> 5, 6 -> 1")
+        def vertex = graph.vertices().collect().collectEntries { [it.parameter, it] }
+        def search = new BidirectionalSearch(graph)
+
+        expect:
+        hops(search.shortestPath(vertex[1], vertex[6])) == [1, 7, 5, 6]
+        hops(search.shortestPath(vertex[5], vertex[2])) == [5, 6, 1, 2]
+        search.shortestPath(vertex[3], vertex[3]) == []
+        search.hasPath(vertex[4], vertex[7])
+    }
+
+    def "returns null if there is no path"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3, 4 -> 3")
+        def vertex = graph.vertices().collect().collectEntries { [it.parameter, it] }
+        def search = new BidirectionalSearch(graph)
+
+        expect:
+        search.shortestPath(vertex[3], vertex[1]) == null
+        search.shortestPath(vertex[1], vertex[4]) == null
+        !search.hasPath(vertex[2], vertex[4])
+        search.shortestPath(vertex[3], vertex[4], { 1d }) == null
+    }
+
+    def "finds path with the least total weight"() {
+        given: "edge parameter is weight"
+        def graph = parser.restore("1 -/1/-> 2 -/1/-> 3 -/1/-> 4, 1 -/5/-> 4, 2 -/1/-> 5 -/0/-> 4, 3 -/7/-> 5")
+        def vertex = graph.vertices().collect().collectEntries { [it.parameter, it] }
+        def search = new BidirectionalSearch(graph)
+
+        when:
+        def path = search.shortestPath(vertex[1], vertex[4], { it as double })
+
+        then:
+        hops(path) == [1, 2, 5, 4]
+        path.collect { it.parameter as double }.sum() == 2
+    }
+
+    def "agrees with plain breadth-first search on random graph"() {
+        given:
+        def random = new Random(7)
+        def description = (0..<300).collect { "${random.nextInt(100)} -> ${random.nextInt(100)}" }.join(", ")
+        def graph = parser.restore(description)
+        def vertices = graph.vertices().collect()
+        def search = new BidirectionalSearch(graph)
+
+        expect:
+        (0..<200).every {
+            def source = vertices[random.nextInt(vertices.size())]
+            def target = vertices[random.nextInt(vertices.size())]
+            def path = search.shortestPath(source, target)
+            def weighted = search.shortestPath(source, target, { 1d })
+            def expected = distance(source, target)
+            expected == null ? path == null && weighted == null : path.size() == expected && weighted.size() == expected
+        }
+    }
+
+    private static List hops(List path) {
+        path.empty ? [] : [path[0].parent.parameter] + path.collect { it.child.parameter }
+    }
+
+    private static Integer distance(source, target) {
+        def distances = [(source): 0]
+        def queue = [source] as LinkedList
+        while (!queue.empty) {
+            def vertex = queue.poll()
+            if (vertex.is(target)) return distances[vertex]
+            vertex.childNodes.each {
+                if (!distances.containsKey(it)) {
+                    distances[it] = distances[vertex] + 1
+                    queue.add(it)
+                }
+            }
+        }
+        null
+    }
+}
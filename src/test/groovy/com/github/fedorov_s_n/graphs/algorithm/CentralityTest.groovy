@@ -0,0 +1,118 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.Edge
+import com.github.fedorov_s_n.graphs.Graph
+import com.github.fedorov_s_n.graphs.Vertex
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class CentralityTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+    private final Centrality centrality = new Centrality()
+
+    private static Graph<Integer, Integer> random(int n, int m, long seed) {
+        def random = new Random(seed)
+        def vertices = (0..<n).collect { new Vertex<Integer, Integer>(it) }
+        def edges = (0..<m).collect {
+            new Edge<Integer, Integer>(vertices[random.nextInt(n)], vertices[random.nextInt(n)], 1 + random.nextInt(5))
+        }
+        new Graph<>(vertices, edges)
+    }
+
+    // straightforward power iteration over vertex objects
+    private static double[] reference(Graph<Integer, Integer> graph, boolean weighted) {
+        def vertices = graph.vertices().collect()
+        int n = vertices.size()
+        double[] rank = new double[n]
+        Arrays.fill(rank, 1.0 / n)
+        200.times {
+            double dangling = vertices.findAll { it.childEdges.count() == 0 }.sum(0.0) { rank[it.index] }
+            double[] next = new double[n]
+            vertices.each { v ->
+                double sum = v.parentEdges.collect { e ->
+                    double total = e.parent.childEdges.collect { weighted ? it.parameter : 1 }.sum(0.0)
+                    rank[e.parent.index] * (weighted ? e.parameter : 1) / total
+                }.sum(0.0)
+                next[v.index] = 0.15 / n + 0.85 * (sum + dangling / n)
+            }
+            rank = next
+        }
+        rank
+    }
+
+    def "pagerank of a cycle is uniform"() {
+        given:
+        def graph = parser.restore("1->2->3->4->1")
+
+        expect:
+        centrality.pageRank(graph).every { Math.abs(it - 0.25) < 1e-9 }
+    }
+
+    def "pagerank matches straightforward iteration"() {
+        given:
+        def graph = random(200, 600, 1)
+
+        when:
+        def plain = centrality.pageRank(graph)
+        def weighted = centrality.pageRank(graph, { it as double })
+        def plainReference = reference(graph, false)
+        def weightedReference = reference(graph, true)
+
+        then:
+        Math.abs(plain.sum() - 1) < 1e-9
+        (0..<200).every { Math.abs(plain[it] - plainReference[it]) < 1e-8 }
+        (0..<200).every { Math.abs(weighted[it] - weightedReference[it]) < 1e-8 }
+    }
+
+    def "personalized pagerank ranks only vertices reachable from sources"() {
+        given:
+        def graph = parser.restore("1->2->3, 4->5")
+        def vertices = graph.vertices().collect()
+        def one = vertices.find { it.parameter == 1 }
+
+        when:
+        def rank = centrality.personalizedPageRank(graph, [one])
+
+        then:
+        rank[one.index] > 0
+        rank[vertices.find { it.parameter == 3 }.index] > 0
+        rank[vertices.find { it.parameter == 5 }.index] == 0
+        Math.abs(rank.sum() - 1) < 1e-9
+    }
+
+    def "negative weights are rejected"() {
+        when:
+        centrality.pageRank(parser.restore("1 -/2/-> 2"), { -it as double })
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "hits separates hubs and authorities"() {
+        given:
+        def graph = parser.restore("1->3, 1->4, 2->3, 2->4, 2->5")
+        def index = graph.vertices().collect { it.parameter }
+
+        when:
+        def hits = centrality.hits(graph)
+
+        then:
+        hits.hubs[index.indexOf(2)] > hits.hubs[index.indexOf(1)]
+        hits.hubs[index.indexOf(3)] == 0
+        hits.authorities[index.indexOf(3)] > hits.authorities[index.indexOf(5)]
+        hits.authorities[index.indexOf(1)] == 0
+        Math.abs(hits.hubs.collect { it * it }.sum() - 1) < 1e-9
+    }
+
+    def "degree centrality"() {
+        given:
+        def graph = parser.restore("1->2, 1->3, 3->2")
+        def index = graph.vertices().collect { it.parameter }
+
+        expect:
+        centrality.outDegree(graph)[index.indexOf(1)] == 1.0
+        centrality.inDegree(graph)[index.indexOf(2)] == 1.0
+        centrality.inDegree(graph)[index.indexOf(1)] == 0.0
+    }
+}
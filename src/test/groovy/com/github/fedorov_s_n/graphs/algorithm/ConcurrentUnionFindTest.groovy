@@ -0,0 +1,83 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.Edge
+import com.github.fedorov_s_n.graphs.Graph
+import com.github.fedorov_s_n.graphs.Vertex
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class ConcurrentUnionFindTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "components are labelled in order of first vertex"() {
+        given:
+        def graph = parser.restore("1->2, 3, 4->1, 5->6->5")
+        def index = graph.vertices().collect { it.parameter }
+
+        when:
+        def components = Components.of(graph)
+        def labels = components.labels
+
+        then:
+        components.count() == 3
+        labels[index.indexOf(1)] == labels[index.indexOf(2)]
+        labels[index.indexOf(1)] == labels[index.indexOf(4)]
+        labels[index.indexOf(5)] == labels[index.indexOf(6)]
+        labels[index.indexOf(3)] != labels[index.indexOf(1)]
+        labels[0] == 0
+        (components.sizes as List).sort() == [1, 2, 3]
+    }
+
+    def "components match split on large random graph"() {
+        given:
+        def random = new Random(5)
+        def vertices = (0..<20000).collect { new Vertex<Integer, Integer>(it) }
+        def edges = (0..<12000).collect { new Edge<Integer, Integer>(vertices[random.nextInt(20000)], vertices[random.nextInt(20000)]) }
+        def graph = new Graph<>(vertices, edges)
+
+        when:
+        def components = Components.of(graph)
+        def split = graph.split()
+
+        then:
+        components.count() == split.size()
+        components.sizes as List == split.collect { it.size() }
+        split.sum { it.edgesCount() } == 12000
+    }
+
+    def "concurrent unions build a single set"() {
+        given:
+        def set = new ConcurrentUnionFind(100000)
+
+        when:
+        def threads = (0..<4).collect { t -> Thread.start { for (int i = t; i < 99999; i += 4) set.union(i + 1, i) } }
+        threads*.join()
+
+        then:
+        set.components().count() == 1
+        (0..<100000).every { set.find(it) == 0 }
+    }
+
+    def "incremental unions absorb new edges"() {
+        given:
+        def graph = parser.restore("1->2, 3->4, 5")
+        def vertices = graph.vertices().collect()
+        def set = ConcurrentUnionFind.of(graph)
+
+        expect:
+        set.components().count() == 3
+
+        when:
+        set.union([new Edge<>(vertices[1], vertices[2])])
+        set.grow(2)
+        set.union(5, 4)
+
+        then:
+        set.connected(0, 3)
+        !set.connected(0, 4)
+        set.connected(4, 5)
+        set.components().count() == 3
+        set.components().sizes as List == [4, 2, 1]
+    }
+}
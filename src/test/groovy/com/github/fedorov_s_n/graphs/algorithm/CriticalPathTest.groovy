@@ -0,0 +1,52 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class CriticalPathTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "finds critical path, slack and critical edges"() {
+        given: "vertex parameter is task duration, edge parameter is delay"
+        def graph = parser.restore("1 -/2/-> 4 -> 5, 1 -> 3 -> 5, 2 -> 5")
+        def index = graph.vertices().collect { it.parameter }
+        def edges = graph.edges().collect { [it.parent.parameter, it.child.parameter] }
+
+        when:
+        def result = CriticalPath.of(graph, { it as double }, { it == null ? 0 : it as double })
+
+        then:
+        result.duration == 12
+        result.path.collect { index[it] } == [1, 4, 5]
+        result.earliestStart[index.indexOf(4)] == 3
+        result.earliestStart[index.indexOf(5)] == 7
+        result.slack[index.indexOf(3)] == 3
+        result.latestStart[index.indexOf(3)] == 4
+        result.slack[index.indexOf(2)] == 5
+        result.slack[index.indexOf(1)] == 0
+        result.criticalEdges.toList().withIndex().findAll { it[0] }.collect { edges[it[1]] } as Set == [[1, 4], [4, 5]] as Set
+    }
+
+    def "returns null for cyclic graph"() {
+        expect:
+        CriticalPath.of(parser.restore("1 -> 2 -> 1"), { 1d }, { 0d }) == null
+    }
+
+    def "handles diamonds and independent tasks"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 4, 1 -> 3 -> 4, 9")
+        def index = graph.vertices().collect { it.parameter }
+
+        when:
+        def result = CriticalPath.of(graph, { it as double }, { 0d })
+
+        then:
+        result.duration == 9
+        result.path.collect { index[it] } == [9]
+        result.slack[index.indexOf(1)] == 1
+        result.slack[index.indexOf(2)] == 2
+        result.slack[index.indexOf(3)] == 1
+        result.slack[index.indexOf(9)] == 0
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.Graph
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static com.github.fedorov_s_n.graphs.algorithm.DagExecutor.State.FAILED
+import static com.github.fedorov_s_n.graphs.algorithm.DagExecutor.State.SKIPPED
+import static com.github.fedorov_s_n.graphs.algorithm.DagExecutor.State.SUCCEEDED
+
+class DagExecutorTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "runs every task after all its parents"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 4 -> 6, 1 -> 3 -> 4, 3 -> 5, 7")
+        def parents = graph.edges().collect { [it.parent.parameter, it.child.parameter] }
+            .groupBy { it[1] }.collectEntries { k, v -> [k, v.collect { it[0] }] }
+        def finished = ConcurrentHashMap.newKeySet()
+        def executor = new DagExecutor()
+        executor.executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def execution = executor.execute(graph, { v ->
+            assert finished.containsAll(parents[v] ?: [])
+            finished.add(v)
+            v * 10
+        })
+
+        then:
+        execution.succeeded
+        execution.results == graph.vertices().collect { it.parameter * 10 }
+        execution.startTimes.every { it >= 0 }
+        (0..<graph.verticesCount()).every { execution.finishTimes[it] >= execution.startTimes[it] }
+        execution.elapsed >= (execution.finishTimes as List).max()
+
+        cleanup:
+        executor.executor.shutdown()
+    }
+
+    def "limits count of tasks in progress"() {
+        given:
+        def graph = parser.restore((1..40).join(", "))
+        def running = new AtomicInteger()
+        def max = new AtomicInteger()
+        def executor = new DagExecutor()
+        executor.executor = Executors.newFixedThreadPool(8)
+        executor.parallelism = 3
+
+        when:
+        def execution = executor.execute(graph, { v ->
+            int current = running.incrementAndGet()
+            max.accumulateAndGet(current, { a, b -> Math.max(a, b) })
+            Thread.sleep(2)
+            running.decrementAndGet()
+            v
+        })
+
+        then:
+        execution.succeeded
+        max.get() <= 3
+
+        cleanup:
+        executor.executor.shutdown()
+    }
+
+    def "skips descendants of failed task and continues with others"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3, 1 -> 4, 5 -> 3")
+        def index = graph.vertices().collect { it.parameter }
+        def executor = new DagExecutor()
+        executor.errorPolicy = DagExecutor.ErrorPolicy.CONTINUE
+
+        when:
+        def execution = executor.execute(graph, { v ->
+            if (v == 2) throw new IllegalStateException("boom")
+            v
+        })
+
+        then:
+        !execution.succeeded
+        execution.states[index.indexOf(1)] == SUCCEEDED
+        execution.states[index.indexOf(2)] == FAILED
+        execution.states[index.indexOf(3)] == SKIPPED
+        execution.states[index.indexOf(4)] == SUCCEEDED
+        execution.states[index.indexOf(5)] == SUCCEEDED
+        execution.errors[index.indexOf(2)] instanceof IllegalStateException
+        execution.results[index.indexOf(3)] == null
+        execution.startTimes[index.indexOf(3)] == -1
+    }
+
+    def "starts no tasks after failure when failing fast"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3 -> 4, 1 -> 5 -> 6 -> 7")
+        def index = graph.vertices().collect { it.parameter }
+        def executor = new DagExecutor()
+        executor.parallelism = 1
+        executor.executor = { it.run() } as Executor
+
+        when:
+        def execution = executor.execute(graph, { v ->
+            if (v == 1) throw new IllegalStateException("boom")
+            v
+        })
+
+        then:
+        execution.states[index.indexOf(1)] == FAILED
+        (2..7).every { execution.states[index.indexOf(it)] == SKIPPED }
+    }
+
+    def "waits for asynchronous tasks"() {
+        given:
+        def graph = parser.restore("1 -> 2, 1 -> 3 -> 4")
+        def executor = new DagExecutor()
+
+        when:
+        def execution = executor.submit(graph, { v -> CompletableFuture.supplyAsync { v + 1 } }).get()
+
+        then:
+        execution.succeeded
+        execution.results == graph.vertices().collect { it.parameter + 1 }
+    }
+
+    def "runs long chain on the calling thread"() {
+        given:
+        def graph = parser.restore((1..5000).join(" -> "))
+        def executor = new DagExecutor()
+        executor.executor = { it.run() } as Executor
+
+        when:
+        def execution = executor.execute(graph, { v -> v + 1 })
+
+        then:
+        execution.succeeded
+        execution.results == graph.vertices().collect { it.parameter + 1 }
+    }
+
+    def "fails tasks rejected by executor"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3, 4 -> 5, 6")
+        def accepted = new AtomicInteger()
+        def executor = new DagExecutor()
+        executor.errorPolicy = DagExecutor.ErrorPolicy.CONTINUE
+        executor.parallelism = 1
+        executor.executor = { Runnable task ->
+            if (accepted.incrementAndGet() % 2 == 0) throw new RejectedExecutionException("full")
+            task.run()
+        } as Executor
+
+        when:
+        def execution = executor.submit(graph, { v -> CompletableFuture.completedFuture(v) }).get(10, TimeUnit.SECONDS)
+        def states = graph.vertices().collect { it.parameter }.withIndex().collectEntries { p, i -> [p, execution.states[i]] }
+
+        then:
+        states.values().count { it == FAILED } == execution.errors.count { it instanceof RejectedExecutionException }
+        states.values().count { it == FAILED } > 0
+        states.every { p, state -> state != null }
+        graph.edges().every { states[it.parent.parameter] == SUCCEEDED || states[it.child.parameter] == SKIPPED }
+    }
+
+    def "fails fast when executor rejects everything"() {
+        given:
+        def graph = parser.restore("1 -> 2, 3")
+        def executor = new DagExecutor()
+        executor.executor = { throw new RejectedExecutionException("shut down") } as Executor
+
+        when:
+        def execution = executor.submit(graph, { v -> CompletableFuture.completedFuture(v) }).get(10, TimeUnit.SECONDS)
+
+        then:
+        !execution.succeeded
+        execution.states.count { it == FAILED } >= 1
+        execution.states.every { it == FAILED || it == SKIPPED }
+        execution.errors.findAll().every { it instanceof RejectedExecutionException }
+    }
+
+    def "handles empty graph"() {
+        expect:
+        new DagExecutor().execute(new Graph([], []), { it }).results.empty
+    }
+
+    def "returns null for cyclic graph"() {
+        expect:
+        new DagExecutor().execute(parser.restore("1 -> 2 -> 1, 3"), { it }) == null
+    }
+
+    def "runs tasks on virtual threads when supported"() {
+        given:
+        def service = DagExecutor.virtualThreadExecutor()
+        def executor = new DagExecutor()
+        if (service != null) executor.executor = service
+
+        expect:
+        executor.execute(parser.restore("1 -> 2"), { it }).succeeded
+
+        cleanup:
+        service?.shutdown()
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class DynamicDagTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    private static boolean valid(DynamicDag dag, List<List<Integer>> edges) {
+        edges.every { dag.getPosition(it[0]) < dag.getPosition(it[1]) } &&
+            (dag.order() as List).withIndex().every { v, i -> dag.getPosition(v) == i }
+    }
+
+    def "keeps topological order while edges are added"() {
+        given:
+        def dag = new DynamicDag<Integer, String>()
+        (0..<5).each { dag.addVertex(it) }
+
+        when:
+        dag.addEdge(4, 3, "a")
+        dag.addEdge(3, 2, "b")
+        dag.addEdge(1, 0, "c")
+        dag.addEdge(2, 1, "d")
+
+        then:
+        dag.order() as List == [4, 3, 2, 1, 0]
+        dag.toGraph().vertices().collect { it.parameter } == [4, 3, 2, 1, 0]
+        dag.toGraph().edges().collect { it.parameter } as Set == ["a", "b", "c", "d"] as Set
+    }
+
+    def "rejects edge creating a cycle and reports it"() {
+        given:
+        def dag = new DynamicDag<Integer, Integer>()
+        (0..<5).each { dag.addVertex(it) }
+        dag.addEdge(0, 1)
+        dag.addEdge(1, 2)
+        dag.addEdge(2, 3)
+        def before = dag.order()
+
+        when:
+        dag.addEdge(3, 1)
+
+        then:
+        def ex = thrown(CycleException)
+        ex.cycle as List == [3, 1, 2]
+        dag.order() == before
+        dag.edgesCount() == 3
+        !dag.canAddEdge(3, 0)
+        dag.canAddEdge(4, 0)
+    }
+
+    def "self loop is a cycle"() {
+        given:
+        def dag = new DynamicDag<Integer, Integer>()
+        dag.addVertex(0)
+
+        when:
+        dag.addEdge(0, 0)
+
+        then:
+        def ex = thrown(CycleException)
+        ex.cycle as List == [0]
+    }
+
+    def "random insertions agree with topsort"() {
+        given:
+        def random = new Random(11)
+        def dag = new DynamicDag<Integer, Integer>()
+        int n = 60
+        (0..<n).each { dag.addVertex(it) }
+        def accepted = []
+
+        expect:
+        600.times {
+            int a = random.nextInt(n)
+            int b = random.nextInt(n)
+            boolean acyclic = dag.canAddEdge(a, b)
+            try {
+                dag.addEdge(a, b)
+                assert acyclic
+                accepted << [a, b]
+            } catch (CycleException ex) {
+                assert !acyclic
+                def cycle = ex.cycle as List
+                assert cycle[0] == a && (cycle.size() == 1 || cycle[1] == b)
+                for (int i = 2; i < cycle.size(); ++i) assert accepted.contains([cycle[i - 1], cycle[i]])
+                assert cycle.size() == 1 || accepted.contains([cycle[-1], a])
+            }
+            assert valid(dag, accepted)
+        }
+        dag.toGraph().topsort() != null
+    }
+
+    def "removed edges no longer constrain order"() {
+        given:
+        def dag = DynamicDag.of(parser.restore("1 -> 2 -> 3"))
+        def index = (0..<3).collectEntries { [(dag.getParameter(it)): it] }
+
+        when:
+        dag.removeEdge(index[2], index[3])
+        dag.addEdge(index[3], index[1])
+
+        then:
+        dag.edgesCount() == 2
+        dag.toGraph().vertices().collect { it.parameter }.indexOf(3) < dag.toGraph().vertices().collect { it.parameter }.indexOf(1)
+    }
+
+    def "cyclic graph is rejected on creation"() {
+        when:
+        DynamicDag.of(parser.restore("1 -> 2 -> 1"))
+
+        then:
+        thrown(CycleException)
+    }
+}
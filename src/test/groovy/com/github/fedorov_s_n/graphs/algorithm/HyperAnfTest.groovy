@@ -0,0 +1,113 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.Direction
+import com.github.fedorov_s_n.graphs.Graph
+import com.github.fedorov_s_n.graphs.Vertex
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class HyperAnfTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "counts reach of vertices on a chain"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3 -> 4 -> 5")
+        def index = graph.vertices().collect { it.parameter }
+        def anf = new HyperAnf()
+        anf.precision = 10
+
+        when:
+        def result = anf.run(graph)
+
+        then: "small counts are exact up to hash collisions"
+        result.function.length == 5
+        (result.function as List).collect { Math.round(it) } == [5, 9, 12, 14, 15]
+        Math.round(result.reach[index.indexOf(1)]) == 5
+        Math.round(result.reach[index.indexOf(5)]) == 1
+        Math.round(result.getReach(2)[index.indexOf(1)]) == 3
+        Math.round(result.getReach(100)[index.indexOf(2)]) == 4
+        result.effectiveDiameter > 2 && result.effectiveDiameter <= 4
+    }
+
+    def "follows edges in requested direction"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3, 4 -> 3")
+        def index = graph.vertices().collect { it.parameter }
+        def anf = new HyperAnf()
+        anf.precision = 10
+        anf.direction = direction
+
+        when:
+        def reach = anf.run(graph).reach.collect { Math.round(it) }
+
+        then:
+        [1, 2, 3, 4].collect { reach[index.indexOf(it)] } == expected
+
+        where:
+        direction          | expected
+        Direction.CHILDREN | [3, 2, 1, 2]
+        Direction.PARENTS  | [1, 2, 4, 1]
+        Direction.BOTH     | [4, 4, 4, 4]
+    }
+
+    def "estimates reach of large cycle within error bound"() {
+        given:
+        def size = 3000
+        def graph = parser.restore((0..<size).collect { "$it -> ${(it + 1) % size}" }.join(", "))
+        def anf = new HyperAnf()
+        anf.maxIterations = 50
+        anf.precision = 8
+
+        when:
+        def result = anf.run(graph)
+        def reach = result.reach as List
+
+        then:
+        result.function.length == 51
+        reach.every { Math.abs(it - 51) < 51 * 0.25 }
+        Math.abs(reach.sum() / size - 51) < 51 * 0.05
+    }
+
+    def "handles empty graph"() {
+        expect:
+        new HyperAnf().run(parser.restore("1").filter({ false })).reach.length == 0
+    }
+
+    def "rejects counters that don't fit an array"() {
+        given:
+        def vertices = (0..<262144).collect { new Vertex<Integer, Integer>(it) }
+        def anf = new HyperAnf()
+        anf.precision = 16
+
+        when:
+        anf.run(new Graph<Integer, Integer>(vertices, []))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "getters return copies"() {
+        given:
+        def result = new HyperAnf().run(parser.restore("1 -> 2"))
+
+        when:
+        result.reach[0] = -1
+        result.function[0] = -1
+        result.getReach(1)[0] = -1
+
+        then:
+        result.reach[0] > 0
+        result.function[0] > 0
+        Math.abs(result.getReach(1)[0] - result.reach[0]) < 1e-6
+        result.getReach(0) instanceof double[]
+    }
+
+    def "rejects negative hops"() {
+        when:
+        new HyperAnf().run(parser.restore("1 -> 2")).getReach(-1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
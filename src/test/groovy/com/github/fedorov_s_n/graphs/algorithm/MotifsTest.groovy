@@ -0,0 +1,114 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class MotifsTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    @Unroll
+    def "counts motifs of #input"() {
+        when:
+        def motifs = Motifs.of(parser.restore(input))
+
+        then:
+        [motifs.triangles, motifs.cycles, motifs.feedForwardLoops, motifs.reciprocalPairs] == counts
+
+        where:
+        input                          | counts
+        "1 -> 2 -> 3 -> 1"             | [1, 1, 0, 0]
+        "1 -> 2 -> 3, 1 -> 3"          | [1, 0, 1, 0]
+        "1 -> 2 -> 1"                  | [0, 0, 0, 1]
+        "1 -> 2 -> 3 -> 1, 1 -> 3"     | [1, 1, 1, 1]
+        "1 -> 2 -> 3, 1 -> 3, 1 -> 3"  | [1, 0, 1, 0]
+        "1 -> 1 -> 2, 3"               | [0, 0, 0, 0]
+        "1 -> 2 -> 3 -> 4 -> 1, 1 -> 3" | [2, 1, 1, 0]
+    }
+
+    def "counts motifs every vertex takes part in"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3 -> 1, 3 -> 4 -> 1, 4 -> 5 -> 4")
+        def index = graph.vertices().collect { it.parameter }
+
+        when:
+        def motifs = Motifs.of(graph)
+
+        then:
+        [1, 2, 3, 4, 5].collect { motifs.vertexTriangles[index.indexOf(it)] } == [2, 1, 2, 1, 0]
+        [1, 2, 3, 4, 5].collect { motifs.vertexCycles[index.indexOf(it)] } == [1, 1, 1, 0, 0]
+        [1, 2, 3, 4, 5].collect { motifs.vertexFeedForwardLoops[index.indexOf(it)] } == [1, 0, 1, 1, 0]
+        [1, 2, 3, 4, 5].collect { motifs.vertexReciprocalPairs[index.indexOf(it)] } == [0, 0, 0, 1, 1]
+    }
+
+    def "getters return copies"() {
+        given:
+        def motifs = Motifs.of(parser.restore("1 -> 2 -> 3 -> 1, 2 -> 1"))
+
+        when:
+        motifs.vertexTriangles[0] = -1
+        motifs.vertexCycles[0] = -1
+        motifs.vertexFeedForwardLoops[0] = -1
+        motifs.vertexReciprocalPairs[0] = -1
+
+        then:
+        motifs.vertexTriangles[0] == 1
+        motifs.vertexCycles[0] == 1
+        motifs.vertexFeedForwardLoops[0] == 1
+        motifs.vertexReciprocalPairs[0] == 1
+    }
+
+    def "counts triangles of complete graph where neighbour arrays differ in length"() {
+        given: "transitive tournament, every triangle is a feed-forward loop"
+        def edges = []
+        for (int a = 0; a < 40; ++a) {
+            for (int b = a + 1; b < 40; ++b) {
+                edges << "$a -> $b"
+            }
+        }
+
+        when:
+        def motifs = Motifs.of(parser.restore(edges.join(", ")))
+
+        then:
+        motifs.triangles == 9880
+        motifs.feedForwardLoops == 9880
+        motifs.cycles == 0
+        motifs.vertexTriangles.every { it == 741 }
+    }
+
+    def "agrees with brute force on random graph with hubs"() {
+        given:
+        def random = new Random(3)
+        def edges = (0..<2000).collect {
+            def parent = random.nextInt(10) == 0 ? random.nextInt(3) : random.nextInt(200)
+            "$parent -> ${random.nextInt(200)}"
+        }
+        def graph = parser.restore(edges.join(", "))
+        def n = graph.verticesCount()
+        def adjacent = new boolean[n][n]
+        graph.edges().each { adjacent[it.parent.index][it.child.index] = true }
+
+        when:
+        def motifs = Motifs.of(graph)
+        def triangles = 0, cycles = 0, loops = 0
+        for (int a = 0; a < n; ++a) {
+            for (int b = 0; b < n; ++b) {
+                for (int c = 0; c < n; ++c) {
+                    if (a == b || b == c || a == c) continue
+                    if (adjacent[a][b] && adjacent[b][c] && adjacent[a][c]) ++loops
+                    if (a < b && a < c && adjacent[a][b] && adjacent[b][c] && adjacent[c][a]) ++cycles
+                    if (a < b && b < c && (adjacent[a][b] || adjacent[b][a]) && (adjacent[b][c] || adjacent[c][b])
+                        && (adjacent[a][c] || adjacent[c][a])) ++triangles
+                }
+            }
+        }
+
+        then:
+        motifs.triangles == triangles
+        motifs.cycles == cycles
+        motifs.feedForwardLoops == loops
+        motifs.vertexTriangles.toList().sum() == 3 * triangles
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.fedorov_s_n.graphs.algorithm
+
+import com.github.fedorov_s_n.graphs.Edge
+import com.github.fedorov_s_n.graphs.Graph
+import com.github.fedorov_s_n.graphs.Vertex
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class VertexOrderTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    @Unroll
+    def "#strategy order is a permutation keeping the graph"() {
+        given:
+        def graph = parser.restore("1 -/1/-> 2 -/2/-> 3 -/3/-> 1, 3 -> 4, 5 -> 5, 6, 7 -> 2")
+
+        when:
+        def order = VertexOrder.of(graph, strategy)
+        def reordered = graph.reorder(order)
+        def parameters = graph.vertices().collect { it.parameter }
+
+        then:
+        (order.order as List).sort() == (0..<7)
+        (0..<7).every { order.positions[order.order[it]] == it }
+        reordered.vertices().collect { it.parameter } == order.order.collect { parameters[it] }
+        reordered == graph
+        graph.reorder(strategy) == graph
+        where:
+        strategy << VertexOrder.Strategy.values()
+    }
+
+    def "reverse Cuthill-McKee restores band of shuffled grid"() {
+        given:
+        def graph = shuffledGrid(20, 30)
+
+        when:
+        def reordered = graph.reorder(VertexOrder.Strategy.REVERSE_CUTHILL_MCKEE)
+
+        then:
+        bandwidth(graph) > 100
+        bandwidth(reordered) <= 21
+        reordered.edgesCount() == graph.edgesCount()
+    }
+
+    def "breadth-first order visits levels in turn"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 4, 1 -> 3 -> 5, 6")
+        def parameters = graph.vertices().collect { it.parameter }
+
+        when:
+        def order = VertexOrder.of(graph, VertexOrder.Strategy.BREADTH_FIRST).order.collect { parameters[it] }
+
+        then:
+        order[0] == 1
+        order[1..2] as Set == [2, 3] as Set
+        order[3..4] as Set == [4, 5] as Set
+        order[5] == 6
+    }
+
+    def "degree order places hubs first"() {
+        given:
+        def graph = parser.restore("1 -> 2, 3 -> 2, 4 -> 2, 1 -> 4, 5")
+        def parameters = graph.vertices().collect { it.parameter }
+
+        when:
+        def order = VertexOrder.of(graph, VertexOrder.Strategy.DEGREE).order.collect { parameters[it] }
+
+        then:
+        order[0] == 2
+        order[1..2] as Set == [1, 4] as Set
+        order[3] == 3
+        order[4] == 5
+    }
+
+    def "Gorder keeps dense groups together"() {
+        given:
+        def vertices = (0..<12).collect { new Vertex<Integer, Integer>(it) }
+        def edges = []
+        for (int i = 0; i < 12; ++i) {
+            for (int j = i + 1; j < 12; ++j) {
+                if (i % 2 == j % 2) edges << new Edge<Integer, Integer>(vertices[i], vertices[j])
+            }
+        }
+        def graph = new Graph<Integer, Integer>(vertices, edges)
+
+        when:
+        def order = VertexOrder.of(graph, VertexOrder.Strategy.GORDER).order
+
+        then:
+        order[0..5].collect { it % 2 }.unique().size() == 1
+        order[6..11].collect { it % 2 }.unique().size() == 1
+    }
+
+    def "empty graph has empty order"() {
+        expect:
+        VertexOrder.of(new Graph([], []), strategy).order.length == 0
+        where:
+        strategy << VertexOrder.Strategy.values()
+    }
+
+    private static Graph<Integer, Integer> shuffledGrid(int rows, int columns) {
+        def vertices = (0..<rows * columns).collect { new Vertex<Integer, Integer>(it) }
+        def edges = []
+        for (int r = 0; r < rows; ++r) {
+            for (int c = 0; c < columns; ++c) {
+                if (c + 1 < columns) edges << new Edge<Integer, Integer>(vertices[r * columns + c], vertices[r * columns + c + 1])
+                if (r + 1 < rows) edges << new Edge<Integer, Integer>(vertices[r * columns + c], vertices[(r + 1) * columns + c])
+            }
+        }
+        Collections.shuffle(vertices, new Random(3))
+        new Graph<Integer, Integer>(vertices, edges)
+    }
+
+    private static int bandwidth(Graph<?, ?> graph) {
+        graph.edges().mapToInt { Math.abs(it.parent.index - it.child.index) }.max().orElse(0)
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.fedorov_s_n.graphs.partition
+
+import com.github.fedorov_s_n.graphs.Edge
+import com.github.fedorov_s_n.graphs.Graph
+import com.github.fedorov_s_n.graphs.Vertex
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PartitionedGraphTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    private static Graph<Integer, Integer> random(int n, int m, long seed) {
+        def random = new Random(seed)
+        def vertices = (0..<n).collect { new Vertex<Integer, Integer>(it) }
+        def edges = (0..<m).collect {
+            new Edge<Integer, Integer>(vertices[random.nextInt(n)], vertices[random.nextInt(n)], random.nextInt(10))
+        }
+        new Graph<>(vertices, edges)
+    }
+
+    private static int[] reference(Graph<Integer, Integer> graph, int source) {
+        def vertices = graph.vertices().collect()
+        int[] distances = new int[vertices.size()]
+        Arrays.fill(distances, -1)
+        distances[source] = 0
+        def queue = new ArrayDeque<Vertex<Integer, Integer>>([vertices[source]])
+        while (!queue.isEmpty()) {
+            def vertex = queue.poll()
+            vertex.childNodes.each {
+                if (distances[it.index] < 0) {
+                    distances[it.index] = distances[vertex.index] + 1
+                    queue.add(it)
+                }
+            }
+        }
+        distances
+    }
+
+    @Unroll
+    def "partitioning to #parts parts is balanced and keeps the graph"() {
+        given:
+        def graph = random(500, 1500, parts)
+
+        when:
+        def partitioned = PartitionedGraph.of(graph, parts)
+
+        then:
+        partitioned.partitionsCount() == parts
+        partitioned.verticesCount() == 500
+        partitioned.edgesCount() == 1500
+        (0..<parts).every { partitioned.getPartition(it).size() <= Math.ceil(500 / parts * 1.05) }
+        partitioned.toGraph() == graph
+
+        where:
+        parts << [1, 2, 3, 8]
+    }
+
+    def "streaming partitioner cuts fewer edges than random assignment on clustered graph"() {
+        given:
+        def random = new Random(1)
+        def vertices = (0..<400).collect { new Vertex<Integer, Integer>(it) }
+        def edges = (0..<2000).collect {
+            int cluster = random.nextInt(4)
+            int a = cluster * 100 + random.nextInt(100)
+            int b = random.nextInt(20) == 0 ? random.nextInt(400) : cluster * 100 + random.nextInt(100)
+            new Edge<Integer, Integer>(vertices[a], vertices[b])
+        }
+        Collections.shuffle(vertices, random)
+        def graph = new Graph<>(vertices, edges)
+        int[] shuffled = (0..<400).collect { random.nextInt(4) } as int[]
+
+        expect:
+        PartitionedGraph.of(graph, 4).edgeCut() < new PartitionedGraph<>(graph, shuffled, 4, new LocalTransport(4)).edgeCut() / 2
+    }
+
+    def "map and filter match graph operations"() {
+        given:
+        def graph = random(300, 900, 7)
+        def partitioned = PartitionedGraph.of(graph, 4)
+
+        expect:
+        partitioned.map({ it * 2 }, { it + 1 }).toGraph() == graph.map({ it * 2 }, { it + 1 })
+        partitioned.filter({ it % 3 != 0 }, { it < 5 }).toGraph() ==
+            graph.filter({ it.parameter % 3 != 0 }, { it.parameter < 5 })
+        partitioned.filter({ it % 3 != 0 }).filterEdges({ it > 2 }).filter({ it % 5 != 0 }).toGraph() ==
+            graph.filter({ it.parameter % 3 != 0 }).filterEdges({ it.parameter > 2 }).filter({ it.parameter % 5 != 0 })
+    }
+
+    def "filtered partitions keep ghost and mirror tables consistent"() {
+        given:
+        def partitioned = PartitionedGraph.of(random(300, 900, 9), 3).filter({ it % 4 != 0 }, { it != 3 })
+
+        expect:
+        (0..<3).every { p ->
+            def partition = partitioned.getPartition(p)
+            (0..<3).every { q ->
+                def ghosts = partitioned.getPartition(q)
+                def mirrors = (partition.mirrorOffsets[q]..<partition.mirrorOffsets[q + 1]).collect { partition.mirrors[it] }
+                def remotes = (ghosts.ghostOffsets[p]..<ghosts.ghostOffsets[p + 1]).collect { ghosts.ghostRemotes[it] }
+                mirrors == remotes
+            }
+        }
+    }
+
+    def "bfs matches sequential search"() {
+        given:
+        def graph = random(1000, 2500, 3)
+        def partitioned = PartitionedGraph.of(graph, 5)
+
+        expect:
+        [0, 17, 999].every { partitioned.bfs(it) == reference(graph, it) }
+    }
+
+    def "bfs on filtered graph skips removed vertices"() {
+        given:
+        def graph = parser.restore("1->2->3->4, 1->5->4")
+        def partitioned = PartitionedGraph.of(graph, 2).filter({ it != 2 })
+        def index = graph.vertices().collect { it.parameter }
+
+        when:
+        def distances = partitioned.bfs(index.indexOf(1))
+
+        then:
+        distances[index.indexOf(2)] == -1
+        distances[index.indexOf(3)] == -1
+        distances[index.indexOf(4)] == 2
+    }
+
+    def "concurrent operations on graphs sharing transport do not mix messages"() {
+        given:
+        def graph = random(1000, 2500, 5)
+        def partitioned = PartitionedGraph.of(graph, 4)
+        def filtered = partitioned.filter({ it % 3 != 0 })
+        def expected = [0, 1, 2, 3].collect { partitioned.bfs(it * 7) }
+        def expectedFiltered = filtered.bfs(1)
+        def pool = java.util.concurrent.Executors.newFixedThreadPool(4)
+
+        when:
+        def futures = (0..<40).collect { i ->
+            pool.submit({ i % 5 == 4 ? filtered.bfs(1) == expectedFiltered : partitioned.bfs((i % 4) * 7) == expected[i % 4] } as java.util.concurrent.Callable)
+        }
+
+        then:
+        futures.every { it.get() }
+
+        cleanup:
+        pool.shutdown()
+    }
+
+    def "partitioner rejects negative slack"() {
+        when:
+        new Partitioner().slack = -0.1
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.fedorov_s_n.graphs.representation
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.Channels
+
+class BinaryGraphRepresentationTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+    private final BinaryGraphRepresentation<Integer, Integer> codec =
+        new BinaryGraphRepresentation<>(ParameterCodecs.integers(), ParameterCodecs.integers())
+
+    @Unroll
+    def "restore(represent(#input))"() {
+        expect:
+        def graph = parser.restore(input)
+        def restored = codec.restore(codec.represent(graph))
+        assert restored == graph
+        assert restored.vertices().map { it.parameter }.collect() == graph.vertices().map { it.parameter }.collect()
+        where:
+        input << ["1", "1->2->3->4->2", "1 -/7/-> 2 -/300/-> 3, 3->1, 1->2", "5->5, 5->5, 100000->-3"]
+    }
+
+    def "channel output equals array output"() {
+        expect:
+        def graph = parser.restore("1 -/2/-> 3->4, 4 -/5/-> 1, 6")
+        def bytes = new ByteArrayOutputStream()
+        codec.write(graph, Channels.newChannel(bytes))
+        assert bytes.toByteArray() == codec.represent(graph)
+    }
+
+    def "string codec keeps nulls"() {
+        expect:
+        def strings = new BinaryGraphRepresentation<String, String>(ParameterCodecs.strings(), ParameterCodecs.strings())
+        def graph = parser.restore("1 -/2/-> 3, 3->1").map({ it == 1 ? null : "v" + it }, { it == null ? null : "ж" + it })
+        assert strings.restore(strings.represent(graph)) == graph
+    }
+
+    def "little-endian buffer restores longs and doubles"() {
+        expect:
+        def mixed = new BinaryGraphRepresentation<Long, Double>(ParameterCodecs.longs(), ParameterCodecs.doubles())
+        def graph = parser.restore("1 -/2/-> 3, 3->1").map({ it * 1_000_000_000_000L }, { it == null ? null : it + 0.25d })
+        def buffer = ByteBuffer.wrap(mixed.represent(graph)).order(ByteOrder.LITTLE_ENDIAN)
+        assert mixed.restore(buffer) == graph
+        assert new BinaryInput(ByteBuffer.wrap([0, 0, 0, 0, 0, 0, 1, 2] as byte[]).order(ByteOrder.LITTLE_ENDIAN)).readLong() == 258
+    }
+
+    def "varint with too large fifth byte is malformed"() {
+        expect:
+        new BinaryInput(ByteBuffer.wrap([0xFF, 0xFF, 0xFF, 0xFF, 0x0F] as byte[])).readVarInt() == -1
+
+        when:
+        new BinaryInput(ByteBuffer.wrap([0xFF, 0xFF, 0xFF, 0xFF, 0x1F] as byte[])).readVarInt()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.fedorov_s_n.graphs.representation
+
+import spock.lang.Specification
+
+import java.util.concurrent.CancellationException
+import java.util.concurrent.Executors
+
+class ForceLayoutTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "neighbours are placed closer than distant vertices"() {
+        given:
+        def input = (1..<200).collect { "${it}->${it + 1}" }.join(", ")
+        def graph = parser.restore(input)
+        def updates = []
+        when:
+        def positions = new ForceLayout().layout(graph, { updates << it })
+        then:
+        positions.size() == graph.verticesCount()
+        (0..<positions.size()).every { Double.isFinite(positions.getX(it)) && Double.isFinite(positions.getY(it)) }
+        updates.size() > 1
+        updates.last().is(positions)
+        def index = graph.vertices().collect { it }.collectEntries { [(it.parameter): it.index] }
+        def distance = { a, b ->
+            Math.hypot(positions.getX(index[a]) - positions.getX(index[b]), positions.getY(index[a]) - positions.getY(index[b]))
+        }
+        distance(1, 2) < distance(1, 200)
+        distance(100, 101) < distance(1, 200)
+    }
+
+    def "cancelled layout stops"() {
+        given:
+        def graph = parser.restore((1..<3000).collect { "${it}->${it + 1}" }.join(", "))
+        def executor = Executors.newSingleThreadExecutor()
+        def layout = new ForceLayout()
+        layout.iterations = 100000
+        when:
+        def future = layout.layoutAsync(graph, executor, null)
+        future.cancel(false)
+        future.get()
+        then:
+        thrown(CancellationException)
+        cleanup:
+        executor.shutdown()
+    }
+}
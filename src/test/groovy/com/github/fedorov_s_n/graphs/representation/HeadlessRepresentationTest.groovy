@@ -0,0 +1,77 @@
+package com.github.fedorov_s_n.graphs.representation
+
+import spock.lang.Specification
+
+import javax.imageio.ImageIO
+
+class HeadlessRepresentationTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "svg contains every vertex and edge"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3, 3 -> 1, 4").map({ "<" + it + ">" })
+        def svg = new SvgRepresentation<String, Integer>()
+
+        when:
+        def xml = new XmlSlurper().parseText(svg.represent(graph))
+
+        then:
+        xml.g[0].line.size() == 3
+        xml.g[1].circle.size() == 4
+        xml.g[2].text.collect { it.text() } as Set == ["<1>", "<2>", "<3>", "<4>"] as Set
+    }
+
+    def "svg skips null labels and escapes colors and invalid characters"() {
+        given:
+        def graph = parser.restore("1 -> 2, 3")
+        def svg = new SvgRepresentation<Integer, Integer>()
+        svg.vertexFormatter = { it == 2 ? null : "a\u0001<" + it }
+        svg.edgeColor = "\"red\""
+        svg.vertexColor = "<blue>"
+
+        when:
+        def xml = new XmlSlurper().parseText(svg.represent(graph))
+
+        then:
+        xml.g[0].@stroke == "\"red\""
+        xml.g[1].@fill == "<blue>"
+        xml.g[2].text.collect { it.text() } as Set == ["a<1", "a<3"] as Set
+    }
+
+    def "svg samples edges and skips labels of large graphs"() {
+        given:
+        def graph = parser.restore((1..200).collect { "$it -> ${it + 1}" }.join(", "))
+        def svg = new SvgRepresentation<Integer, Integer>()
+        svg.maxEdges = 50
+        svg.maxLabels = 100
+        svg.positions = new VertexPositions((0..<201).collect { it as double } as double[],
+            (0..<201).collect { (it % 7) as double } as double[])
+
+        when:
+        def xml = new XmlSlurper().parseText(svg.represent(graph))
+
+        then:
+        xml.g[0].line.size() > 0
+        xml.g[0].line.size() <= 50
+        xml.g[1].circle.size() == 201
+        xml.g.size() == 2
+    }
+
+    def "png is decodable and has requested size"() {
+        given:
+        def graph = parser.restore("1 -> 2 -> 3, 3 -> 1, 4")
+        def png = new PngRepresentation<Integer, Integer>()
+        png.width = 300
+        png.height = 200
+        png.tileHeight = 16
+
+        when:
+        def image = ImageIO.read(new ByteArrayInputStream(png.represent(graph)))
+
+        then:
+        image.width == 300
+        image.height == 200
+        (0..<200).any { y -> (0..<300).any { x -> (image.getRGB(x, y) & 0xFFFFFF) != 0xFFFFFF } }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.fedorov_s_n.graphs.representation
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+
+class MappedEdgeListRepresentationTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+    private final MappedEdgeListRepresentation representation = new MappedEdgeListRepresentation()
+
+    def "restore(represent(graph)) == graph"() {
+        expect:
+        def graph = parser.restore("1 -/7/-> 2 -> 3 -/0/-> 1, 4, 5->5").map({ it as Long }, { it as Long })
+        def path = representation.represent(graph)
+        assert representation.restore(path) == graph
+        Files.delete(path)
+    }
+
+    def "comments, blank lines and separators"() {
+        given:
+        def path = Files.createTempFile("graph", ".edges")
+        path.text = "# header\n\n1 2\r\n  2\t\t-3  9\n7\n3 1"
+        when:
+        def graph = representation.restore(path)
+        then:
+        graph == parser.restore("1->2 -/9/-> -3, 7, 3->1").map({ it as Long }, { it as Long })
+        graph.vertices().map { it.parameter }.collect() == [1L, 2L, -3L, 7L, 3L]
+        cleanup:
+        Files.delete(path)
+    }
+
+    def "chunks are split on line boundaries"() {
+        given:
+        def path = Files.createTempFile("graph", ".edges")
+        def n = 300_000
+        path.withWriter { w -> (0..<n).each { w.write("${it}\t${it + 1}\t${it % 10}\n") } }
+        when:
+        def graph = representation.restore(path)
+        then:
+        graph.verticesCount() == n + 1
+        graph.edgesCount() == n
+        graph.edges().allMatch { it.child.parameter == it.parent.parameter + 1 && it.parameter == it.parent.parameter % 10 }
+        cleanup:
+        Files.delete(path)
+    }
+
+    def "long ids at range bounds"() {
+        given:
+        def path = Files.createTempFile("graph", ".edges")
+        path.text = "9223372036854775807 -9223372036854775808 -1\n"
+        representation.parallelism = 1
+        when:
+        def graph = representation.restore(path)
+        then:
+        graph.vertices().collect { it.parameter } == [Long.MAX_VALUE, Long.MIN_VALUE]
+        graph.edges().collect { it.parameter } == [-1L]
+        cleanup:
+        Files.delete(path)
+    }
+
+    @Unroll
+    def "malformed input #text"() {
+        given:
+        def path = Files.createTempFile("graph", ".edges")
+        path.text = text
+        when:
+        representation.restore(path)
+        then:
+        thrown(IllegalArgumentException)
+        cleanup:
+        Files.delete(path)
+        where:
+        text << ["1 2\n3 x\n", "9223372036854775808 1\n", "1 -9223372036854775809\n", "1 2 99999999999999999999\n"]
+    }
+
+    def "rejects non-positive parallelism"() {
+        when:
+        representation.parallelism = 0
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.fedorov_s_n.graphs.representation
+
+import spock.lang.Specification
+
+import java.nio.channels.Channels
+
+class TextGraphRepresentationTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "edge list"() {
+        expect:
+        def graph = parser.restore("1 -/7/-> 2 -> 3, 4")
+        assert new EdgeListRepresentation<Integer, Integer>().represent(graph) == "4\n1\t2\t7\n2\t3\n"
+    }
+
+    def "edge list escapes separators"() {
+        expect:
+        def graph = parser.restore("1 -/7/-> 2, 3").map({ ["a\tb", "c\nd\\", "e\r"][it - 1] }, { "x\ty" })
+        def text = new EdgeListRepresentation<String, String>().represent(graph)
+        assert text.readLines() == ["e\\r", "a\\tb\tc\\nd\\\\\tx\\ty"]
+    }
+
+    def "edge list rejects vertex formatted as null"() {
+        given:
+        def representation = new EdgeListRepresentation<Integer, Integer>()
+        representation.vertexFormatter = { null }
+
+        when:
+        representation.represent(parser.restore("1 -> 2"))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "labels formatted as null are omitted"() {
+        given:
+        def graph = parser.restore("1 -/7/-> 2")
+        def dot = new DotRepresentation<Integer, Integer>()
+        def graphml = new GraphMLRepresentation<Integer, Integer>()
+        dot.vertexFormatter = { null }
+        dot.edgeFormatter = { null }
+        graphml.vertexFormatter = { null }
+        graphml.edgeFormatter = { null }
+
+        when:
+        def dotText = dot.represent(graph)
+        def xml = new XmlSlurper().parseText(graphml.represent(graph))
+
+        then:
+        !dotText.contains("label")
+        xml.graph.node.size() == 2
+        xml.graph.node.every { it.data.size() == 0 }
+    }
+
+    def "null parameters of vertices and edges are not formatted"() {
+        given:
+        def graph = parser.restore("1 -> 2 -/3/-> 1").map({ it == 1 ? null : it }, { it })
+        def dot = new DotRepresentation<Integer, Integer>()
+        def edges = new EdgeListRepresentation<Integer, Integer>()
+        dot.vertexFormatter = { "v" + it.intValue() }
+        dot.edgeFormatter = { "e" + it.intValue() }
+        edges.vertexFormatter = dot.vertexFormatter
+
+        when:
+        def text = dot.represent(graph)
+
+        then:
+        text.count("label") == 2
+        text.contains("\"v2\"")
+        text.contains("\"e3\"")
+
+        when:
+        edges.represent(graph)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "graphml drops characters invalid in xml"() {
+        expect:
+        def graph = parser.restore("1").map({ "a\u0001b\uD800c￾😀" })
+        def xml = new XmlSlurper().parseText(new GraphMLRepresentation<String, Integer>().represent(graph))
+        assert xml.graph.node.collect { it.data.text() } == ["abc😀"]
+    }
+
+    def "dot"() {
+        expect:
+        def graph = parser.restore("1 -/7/-> 2").map({ "v\"" + it })
+        def dot = new DotRepresentation<String, Integer>().represent(graph)
+        def first = graph.vertices().findFirst().get()
+        assert dot.startsWith("digraph \"G\" {\n")
+        assert dot.contains("  ${first.index} [label=\"v\\\"${first.parameter.substring(2)}\"];\n")
+        assert dot.contains(" [label=\"7\"];\n")
+        assert dot.endsWith("}\n")
+    }
+
+    def "graphml"() {
+        expect:
+        def graph = parser.restore("1 -/7/-> 2, 2 -> 1").map({ "<" + it + "&" })
+        def xml = new XmlSlurper().parseText(new GraphMLRepresentation<String, Integer>().represent(graph))
+        assert xml.graph.node.collect { it.data.text() } as Set == ["<1&", "<2&"] as Set
+        assert xml.graph.edge.size() == 2
+        assert xml.graph.edge.collect { it.data.text() } as Set == ["7", ""] as Set
+    }
+
+    def "channel output equals string output"() {
+        given:
+        def graph = parser.restore("1 -/2/-> 3->4, 4 -/5/-> 1, 6")
+        def representation = new GraphMLRepresentation<Integer, Integer>()
+        representation.vertexFormatter = { "vertex " + it }
+        def bytes = new ByteArrayOutputStream()
+        when:
+        representation.write(graph, Channels.newChannel(bytes))
+        then:
+        bytes.toString("UTF-8") == representation.represent(graph)
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.fedorov_s_n.graphs.streaming
+
+import com.github.fedorov_s_n.graphs.representation.TestGraphRepresentation
+import spock.lang.Specification
+
+class SlidingWindowGraphTest extends Specification {
+
+    private final TestGraphRepresentation parser = new TestGraphRepresentation()
+
+    def "expires edges out of window"() {
+        given:
+        def graph = new SlidingWindowGraph<Integer, Integer>(10)
+
+        when:
+        graph.add(1, 2, 0, 0)
+        graph.add(2, 3, 1, 5)
+        graph.add(3, 4, 2, 9)
+
+        then:
+        graph.edgesCount() == 3
+        graph.verticesCount() == 4
+        graph.snapshot() == parser.restore("1 -/0/-> 2 -/1/-> 3 -/2/-> 4")
+
+        when:
+        graph.add(4, 1, 3, 10)
+
+        then:
+        graph.edgesCount() == 3
+        graph.snapshot() == parser.restore("2 -/1/-> 3 -/2/-> 4 -/3/-> 1")
+
+        when:
+        graph.advance(19)
+
+        then:
+        graph.edgesCount() == 1
+        graph.verticesCount() == 2
+        !graph.contains(2)
+        graph.snapshot() == parser.restore("4 -/3/-> 1")
+
+        when:
+        graph.advance(100)
+
+        then:
+        graph.edgesCount() == 0
+        graph.verticesCount() == 0
+        graph.snapshot().verticesCount() == 0
+    }
+
+    def "keeps degrees, neighbours and histogram"() {
+        given:
+        def graph = new SlidingWindowGraph<String, Integer>(100)
+
+        when:
+        graph.add("a", "b", 1, 0)
+        graph.add("a", "c", 2, 1)
+        graph.add("a", "b", 3, 2)
+        graph.add("c", "a", 4, 3)
+
+        then:
+        graph.getOutDegree("a") == 3
+        graph.getInDegree("a") == 1
+        graph.getInDegree("b") == 2
+        graph.getChildren("a") == ["b", "c", "b"]
+        graph.getParents("a") == ["c"]
+        graph.getChildren("x") == []
+        graph.maxDegree == 4
+        graph.degreeHistogram == [0, 0, 2, 0, 1] as int[]
+
+        when:
+        graph.advance(100)
+
+        then:
+        graph.getChildren("a") == ["c", "b"]
+        graph.getOutDegree("a") == 2
+        graph.degreeHistogram == [0, 1, 1, 1] as int[]
+    }
+
+    def "counts components incrementally and after expiry"() {
+        given:
+        def graph = new SlidingWindowGraph<Integer, Integer>(10)
+
+        when:
+        graph.add(1, 2, null, 0)
+        graph.add(3, 4, null, 1)
+        graph.add(5, 6, null, 2)
+
+        then:
+        graph.componentsCount == 3
+        graph.largestComponentSize == 2
+
+        when:
+        graph.add(2, 3, null, 5)
+        graph.add(4, 5, null, 6)
+
+        then:
+        graph.componentsCount == 1
+        graph.largestComponentSize == 6
+
+        when:
+        graph.advance(12)
+        graph.add(7, 6, null, 12)
+
+        then: "edges 1->2, 3->4 and 5->6 have expired"
+        graph.componentsCount == 3
+        graph.largestComponentSize == 2
+        graph.verticesCount() == 6
+    }
+
+    def "matches rebuilt graph on random stream"() {
+        given:
+        def random = new Random(5)
+        def graph = new SlidingWindowGraph<Integer, Integer>(50)
+        def events = []
+
+        expect:
+        (0..<2000).every { time ->
+            def parent = random.nextInt(40)
+            def child = random.nextInt(40)
+            graph.add(parent, child, time, time)
+            events << [parent, child, time]
+            def live = events.findAll { it[2] > time - 50 }
+            def degree = live.collect { it[0] }.countBy { it }
+            graph.edgesCount() == live.size() &&
+                graph.verticesCount() == live.collectMany { [it[0], it[1]] }.toSet().size() &&
+                (0..<40).every { graph.getOutDegree(it) == (degree[it] ?: 0) } &&
+                (time % 250 != 0 || graph.snapshot() == parser.restore(live.collect { "${it[0]} -/${it[2]}/-> ${it[1]}" }.join(", ")))
+        }
+    }
+
+    def "expires edges with negative timestamps and huge windows"() {
+        given:
+        def huge = new SlidingWindowGraph<Integer, Integer>(Long.MAX_VALUE)
+        def small = new SlidingWindowGraph<Integer, Integer>(10)
+
+        when:
+        huge.add(1, 2, null, Long.MIN_VALUE)
+        huge.add(2, 3, null, -3)
+        huge.advance(-2)
+        small.add(1, 2, null, -15)
+        small.add(2, 3, null, -5)
+        small.advance(-5)
+
+        then:
+        huge.edgesCount() == 2
+        small.edgesCount() == 1
+
+        when:
+        huge.advance(Long.MAX_VALUE - 4)
+
+        then:
+        huge.edgesCount() == 1
+    }
+
+    def "rejects time going back"() {
+        given:
+        def graph = new SlidingWindowGraph<Integer, Integer>(10)
+        graph.add(1, 2, null, 5)
+
+        when:
+        graph.add(2, 3, null, 4)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Minimal timing harness for benchmarks in this package.
+ * Run benchmark classes' main methods manually, they are not part of the test suite.
+ */
+public final class Benchmarks {
+
+    private static final int WARMUP = 3;
+    private static final int RUNS = 7;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Run task several times after warmup and print median time
+     *
+     * @param name title of measurement
+     * @param task task to measure, its result is kept alive to avoid dead code elimination
+     * @return median time in milliseconds
+     */
+    public static double measure(String name, Callable<?> task) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; ++i) {
+            sink = task.call();
+        }
+        double[] times = new double[RUNS];
+        for (int i = 0; i < RUNS; ++i) {
+            long start = System.nanoTime();
+            sink = task.call();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        double median = times[RUNS / 2];
+        System.out.printf("%-40s %10.2f ms  (%s)%n", name, median, sink == null ? "null" : sink.getClass().getSimpleName());
+        return median;
+    }
+
+    /**
+     * Create random graph with integer parameters
+     *
+     * @param vertices vertex count
+     * @param edges    edge count
+     * @param seed     random seed
+     * @return random graph
+     */
+    public static Graph<Integer, Integer> randomGraph(int vertices, int edges, long seed) {
+        Random random = new Random(seed);
+        List<Vertex<Integer, Integer>> vertexList = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; ++i) {
+            vertexList.add(new Vertex<>(i));
+        }
+        List<Edge<Integer, Integer>> edgeList = new ArrayList<>(edges);
+        for (int i = 0; i < edges; ++i) {
+            edgeList.add(new Edge<>(
+                vertexList.get(random.nextInt(vertices)),
+                vertexList.get(random.nextInt(vertices)),
+                random.nextInt(100)));
+        }
+        return new Graph<>(vertexList, edgeList);
+    }
+}
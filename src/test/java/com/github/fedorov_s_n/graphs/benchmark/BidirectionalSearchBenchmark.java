@@ -0,0 +1,76 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.BidirectionalSearch;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Compares point-to-point queries of {@link BidirectionalSearch} with breadth-first
+ * search from the source only on a large sparse graph
+ */
+public class BidirectionalSearchBenchmark {
+
+    private static final int QUERIES = 20;
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 4, 42);
+        List<Vertex<Integer, Integer>> list = graph.vertices().collect(Collectors.toList());
+        Random random = new Random(7);
+        int[] pairs = new int[QUERIES * 2];
+        for (int i = 0; i < pairs.length; ++i) {
+            pairs[i] = random.nextInt(vertices);
+        }
+        Benchmarks.measure(QUERIES + " one-way bfs queries", () -> {
+            long hops = 0;
+            for (int i = 0; i < QUERIES; ++i) {
+                hops += bfs(list.get(pairs[2 * i]), list.get(pairs[2 * i + 1]), vertices);
+            }
+            return hops;
+        });
+        BidirectionalSearch<Integer, Integer> search = new BidirectionalSearch<>(graph);
+        Benchmarks.measure(QUERIES + " bidirectional bfs queries", () -> {
+            long hops = 0;
+            for (int i = 0; i < QUERIES; ++i) {
+                List<Edge<Integer, Integer>> path = search.shortestPath(list.get(pairs[2 * i]), list.get(pairs[2 * i + 1]));
+                hops += path == null ? -1 : path.size();
+            }
+            return hops;
+        });
+        Benchmarks.measure(QUERIES + " bidirectional dijkstra queries", () -> {
+            long found = 0;
+            for (int i = 0; i < QUERIES; ++i) {
+                List<Edge<Integer, Integer>> path = search.shortestPath(list.get(pairs[2 * i]), list.get(pairs[2 * i + 1]), e -> e);
+                found += path == null ? 0 : 1;
+            }
+            return found;
+        });
+    }
+
+    private static int bfs(Vertex<Integer, Integer> source, Vertex<Integer, Integer> target, int n) {
+        int[] distance = new int[n];
+        distance[source.getIndex()] = 1;
+        ArrayDeque<Vertex<Integer, Integer>> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            Vertex<Integer, Integer> vertex = queue.poll();
+            if (vertex == target) return distance[vertex.getIndex()] - 1;
+            Iterator<Edge<Integer, Integer>> edges = vertex.getChildEdges().iterator();
+            while (edges.hasNext()) {
+                Vertex<Integer, Integer> child = edges.next().getChild();
+                if (distance[child.getIndex()] == 0) {
+                    distance[child.getIndex()] = distance[vertex.getIndex()] + 1;
+                    queue.add(child);
+                }
+            }
+        }
+        return -1;
+    }
+}
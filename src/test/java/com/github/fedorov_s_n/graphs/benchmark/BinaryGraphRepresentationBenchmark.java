@@ -0,0 +1,71 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.representation.BinaryGraphRepresentation;
+import com.github.fedorov_s_n.graphs.representation.ParameterCodecs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link BinaryGraphRepresentation} with java serialization of the same data.
+ * Graph is not serializable, so the baseline serializes parameters lists and index arrays
+ * and builds the graph back from them.
+ */
+public class BinaryGraphRepresentationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(200_000, 1_000_000, 42);
+        BinaryGraphRepresentation<Integer, Integer> codec
+            = new BinaryGraphRepresentation<>(ParameterCodecs.integers(), ParameterCodecs.integers());
+
+        byte[] binary = codec.represent(graph);
+        byte[] serialized = serialize(graph);
+        System.out.printf("binary size %d bytes, serialized size %d bytes%n", binary.length, serialized.length);
+
+        Benchmarks.measure("binary encode", () -> codec.represent(graph));
+        Benchmarks.measure("serialization encode", () -> serialize(graph));
+        Benchmarks.measure("binary decode", () -> codec.restore(binary));
+        Benchmarks.measure("serialization decode", () -> deserialize(serialized));
+    }
+
+    private static byte[] serialize(Graph<Integer, Integer> graph) throws Exception {
+        ArrayList<Integer> vertices = new ArrayList<>(graph.verticesCount());
+        graph.vertices().forEach(v -> vertices.add(v.getParameter()));
+        ArrayList<Integer> edges = new ArrayList<>(graph.edgesCount());
+        graph.edges().forEach(e -> edges.add(e.getParameter()));
+        int[] parents = graph.edges().mapToInt(e -> e.getParent().getIndex()).toArray();
+        int[] children = graph.edges().mapToInt(e -> e.getChild().getIndex()).toArray();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(vertices);
+            out.writeObject(edges);
+            out.writeObject(parents);
+            out.writeObject(children);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Graph<Integer, Integer> deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            List<Integer> vertices = (List<Integer>) in.readObject();
+            List<Integer> edges = (List<Integer>) in.readObject();
+            int[] parents = (int[]) in.readObject();
+            int[] children = (int[]) in.readObject();
+            List<Vertex<Integer, Integer>> vertexList = new ArrayList<>(vertices.size());
+            vertices.forEach(parameter -> vertexList.add(new Vertex<>(parameter)));
+            List<Edge<Integer, Integer>> edgeList = new ArrayList<>(edges.size());
+            for (int i = 0; i < parents.length; ++i) {
+                edgeList.add(new Edge<>(vertexList.get(parents[i]), vertexList.get(children[i]), edges.get(i)));
+            }
+            return new Graph<>(vertexList, edgeList);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.Centrality;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compares {@link Centrality#pageRank(Graph)} with iteration that streams
+ * parent edges of every vertex
+ */
+public class CentralityBenchmark {
+
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 5, 42);
+        Centrality centrality = new Centrality();
+        centrality.setTolerance(0);
+        centrality.setMaxIterations(ITERATIONS);
+        Benchmarks.measure("pagerank " + ITERATIONS + " iterations", () -> centrality.pageRank(graph));
+        Benchmarks.measure("weighted pagerank", () -> centrality.pageRank(graph, e -> e + 1));
+        Benchmarks.measure("streamed pagerank", () -> streamed(graph));
+    }
+
+    private static double[] streamed(Graph<Integer, Integer> graph) {
+        List<Vertex<Integer, Integer>> vertices = graph.vertices().collect(Collectors.toList());
+        int n = vertices.size();
+        double[] rank = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        for (int iteration = 0; iteration < ITERATIONS; ++iteration) {
+            double[] current = rank;
+            double dangling = vertices.stream()
+                .filter(v -> v.getChildEdges().count() == 0)
+                .mapToDouble(v -> current[v.getIndex()])
+                .sum();
+            double[] next = new double[n];
+            for (Vertex<Integer, Integer> v : vertices) {
+                double sum = v.getParentEdges()
+                    .mapToDouble(e -> current[e.getParent().getIndex()] / e.getParent().getChildEdges().count())
+                    .sum();
+                next[v.getIndex()] = 0.15 / n + 0.85 * (sum + dangling / n);
+            }
+            rank = next;
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.algorithm.Components;
+
+/**
+ * Measures union-find components labelling and {@link Graph#split()} built on it
+ */
+public class ComponentsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices / 2, 42);
+        Benchmarks.measure("union-find components", () -> Components.of(graph));
+        Benchmarks.measure("split", graph::split);
+    }
+}
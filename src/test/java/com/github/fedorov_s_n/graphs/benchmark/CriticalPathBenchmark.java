@@ -0,0 +1,35 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.CriticalPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures {@link CriticalPath} on a random DAG with millions of tasks
+ */
+public class CriticalPathBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int edges = vertices * 3;
+        Random random = new Random(42);
+        List<Vertex<Integer, Integer>> vertexList = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; ++i) {
+            vertexList.add(new Vertex<>(1 + random.nextInt(100)));
+        }
+        List<Edge<Integer, Integer>> edgeList = new ArrayList<>(edges);
+        for (int i = 0; i < edges; ++i) {
+            int a = random.nextInt(vertices);
+            int b = random.nextInt(vertices);
+            if (a == b) continue;
+            edgeList.add(new Edge<>(vertexList.get(Math.min(a, b)), vertexList.get(Math.max(a, b)), random.nextInt(10)));
+        }
+        Graph<Integer, Integer> graph = new Graph<>(vertexList, edgeList);
+        Benchmarks.measure("critical path " + vertices + " tasks", () -> CriticalPath.of(graph, v -> v, e -> e));
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.DagExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares {@link DagExecutor} with running tasks one by one in topological order,
+ * for tasks that wait about a millisecond and for trivial tasks measuring scheduling overhead
+ */
+public class DagExecutorBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Graph<Integer, Integer> waiting = dag(2_000, 3, 42);
+        Benchmarks.measure("topsort loop 2000 waiting tasks",
+            () -> waiting.topsort().vertices().mapToLong(v -> pause(v.getParameter())).sum());
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        DagExecutor executor = new DagExecutor();
+        executor.setExecutor(pool);
+        Benchmarks.measure("executor 2000 waiting tasks, 64 threads", () -> executor.execute(waiting, DagExecutorBenchmark::pause));
+        ExecutorService virtual = DagExecutor.virtualThreadExecutor();
+        if (virtual != null) {
+            DagExecutor virtualExecutor = new DagExecutor();
+            virtualExecutor.setExecutor(virtual);
+            Benchmarks.measure("executor 2000 waiting tasks, virtual", () -> virtualExecutor.execute(waiting, DagExecutorBenchmark::pause));
+            virtual.shutdown();
+        }
+        pool.shutdown();
+
+        Graph<Integer, Integer> trivial = dag(200_000, 3, 42);
+        Benchmarks.measure("topsort loop 200000 trivial tasks",
+            () -> trivial.topsort().vertices().mapToLong(Vertex::getParameter).sum());
+        DagExecutor common = new DagExecutor();
+        Benchmarks.measure("executor 200000 trivial tasks", () -> common.execute(trivial, v -> v));
+    }
+
+    private static long pause(int parameter) {
+        LockSupport.parkNanos(1_000_000);
+        return parameter;
+    }
+
+    private static Graph<Integer, Integer> dag(int vertices, int degree, long seed) {
+        Random random = new Random(seed);
+        List<Vertex<Integer, Integer>> vertexList = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices; ++i) {
+            vertexList.add(new Vertex<>(i));
+        }
+        List<Edge<Integer, Integer>> edgeList = new ArrayList<>(vertices * degree);
+        for (int i = 0; i < vertices * degree; ++i) {
+            int a = random.nextInt(vertices);
+            int b = random.nextInt(vertices);
+            if (a != b) {
+                edgeList.add(new Edge<>(vertexList.get(Math.min(a, b)), vertexList.get(Math.max(a, b)), 0));
+            }
+        }
+        return new Graph<>(vertexList, edgeList);
+    }
+}
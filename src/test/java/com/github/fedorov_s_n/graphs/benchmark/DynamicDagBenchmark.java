@@ -0,0 +1,51 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.DynamicDag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares adding edges one by one to {@link DynamicDag} with rebuilding a graph
+ * and calling {@link Graph#topsort()} after every edge
+ */
+public class DynamicDagBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int edges = vertices * 3;
+        Random random = new Random(42);
+        int[] parents = new int[edges];
+        int[] children = new int[edges];
+        for (int i = 0; i < edges; ++i) {
+            parents[i] = random.nextInt(vertices);
+            children[i] = random.nextInt(vertices);
+        }
+        Benchmarks.measure("dynamic dag " + edges + " edges", () -> {
+            DynamicDag<Integer, Integer> dag = new DynamicDag<>();
+            for (int v = 0; v < vertices; ++v) {
+                dag.addVertex(v);
+            }
+            for (int i = 0; i < edges; ++i) {
+                if (dag.canAddEdge(parents[i], children[i])) dag.addEdge(parents[i], children[i]);
+            }
+            return dag;
+        });
+        Benchmarks.measure("rebuild and topsort", () -> {
+            List<Vertex<Integer, Integer>> vertexList = new ArrayList<>();
+            for (int v = 0; v < vertices; ++v) {
+                vertexList.add(new Vertex<>(v));
+            }
+            List<Edge<Integer, Integer>> edgeList = new ArrayList<>();
+            for (int i = 0; i < edges; ++i) {
+                edgeList.add(new Edge<>(vertexList.get(parents[i]), vertexList.get(children[i])));
+                if (new Graph<>(vertexList, edgeList).topsort() == null) edgeList.remove(edgeList.size() - 1);
+            }
+            return edgeList;
+        });
+    }
+}
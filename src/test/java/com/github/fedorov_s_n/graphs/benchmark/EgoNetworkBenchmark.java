@@ -0,0 +1,62 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Direction;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares {@code Graph.egoNetwork} with bounded search followed by {@code filter}
+ * for two hop neighbourhoods of random vertices of a large graph
+ */
+public class EgoNetworkBenchmark {
+
+    private static final int QUERIES = 20;
+    private static final int HOPS = 2;
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 4, 42);
+        List<Vertex<Integer, Integer>> all = new ArrayList<>(vertices);
+        graph.vertices().forEach(all::add);
+        Random random = new Random(7);
+        List<Vertex<Integer, Integer>> centers = new ArrayList<>();
+        for (int i = 0; i < QUERIES; ++i) {
+            centers.add(all.get(random.nextInt(vertices)));
+        }
+        Benchmarks.measure(QUERIES + " queries with filter", () -> {
+            long size = 0;
+            for (Vertex<Integer, Integer> center : centers) {
+                Set<Vertex<Integer, Integer>> reached = new HashSet<>();
+                reached.add(center);
+                List<Vertex<Integer, Integer>> frontier = new ArrayList<>(reached);
+                for (int hop = 0; hop < HOPS; ++hop) {
+                    List<Vertex<Integer, Integer>> next = new ArrayList<>();
+                    frontier.forEach(v -> v.getNeighbourNodes().filter(reached::add).forEach(next::add));
+                    frontier = next;
+                }
+                size += graph.filter(reached::contains).size();
+            }
+            return size;
+        });
+        Benchmarks.measure(QUERIES + " queries with egoNetwork", () -> {
+            long size = 0;
+            for (Vertex<Integer, Integer> center : centers) {
+                size += graph.egoNetwork(center, HOPS, Direction.BOTH).size();
+            }
+            return size;
+        });
+        Benchmarks.measure("100000 queries with egoNetwork", () -> {
+            long size = 0;
+            for (int i = 0; i < 100_000; ++i) {
+                size += graph.egoNetwork(all.get(i % vertices), HOPS, Direction.BOTH).size();
+            }
+            return size;
+        });
+    }
+}
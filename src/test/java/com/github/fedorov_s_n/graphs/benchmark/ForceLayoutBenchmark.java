@@ -0,0 +1,17 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.representation.ForceLayout;
+
+/**
+ * Measures {@link ForceLayout} on a sparse random graph of production size
+ */
+public class ForceLayoutBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 2, 42);
+        ForceLayout layout = new ForceLayout();
+        Benchmarks.measure("force layout " + vertices + " vertices", () -> layout.layout(graph, null));
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.GraphDiff;
+
+/**
+ * Measures {@link GraphDiff} between two snapshots of a large graph that differ in
+ * about one percent of vertices and edges, full copy of the graph is measured for reference
+ */
+public class GraphDiffBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Graph<Integer, Integer> old = Benchmarks.randomGraph(vertices, vertices * 4, 42);
+        Graph<Integer, Integer> current = old
+            .filter(v -> v.getParameter() % 100 != 0)
+            .filterEdges(e -> e.getParameter() != 0)
+            .mapEdges(e -> e == 1 ? -1 : e);
+        GraphDiff<Integer, Integer> diff = old.diff(current);
+        System.out.printf("%d vertices removed, %d edges removed, %d edges changed%n",
+            diff.getRemovedVertices().size(), diff.getRemovedEdges().size(), diff.getChangedEdges().size());
+        Benchmarks.measure("copy " + vertices + " vertices", old::clone);
+        Benchmarks.measure("diff " + vertices + " vertices", () -> old.diff(current));
+        Benchmarks.measure("patch " + vertices + " vertices", () -> old.patch(diff));
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compares {@code Graph.union} of many overlapping shards with concatenation of
+ * their vertices and edges followed by {@code distinct()}
+ */
+public class GraphUnionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int shardsCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 4, 42);
+        List<Graph<Integer, Integer>> shards = graph.edges()
+            .collect(Collectors.groupingBy(e -> Math.floorMod(e.getParameter() * 31 + e.getParent().getParameter(), shardsCount)))
+            .values().stream()
+            .map(edges -> Graph.fromEdges(edges).clone())
+            .collect(Collectors.toList());
+        System.out.printf("%d shards, %d vertices in shards%n", shards.size(), shards.stream().mapToInt(Graph::verticesCount).sum());
+        Benchmarks.measure("concat and distinct", () -> {
+            List<Vertex<Integer, Integer>> allVertices = new ArrayList<>();
+            List<Edge<Integer, Integer>> allEdges = new ArrayList<>();
+            for (Graph<Integer, Integer> shard : shards) {
+                Graph<Integer, Integer> copy = shard.clone();
+                copy.vertices().forEach(allVertices::add);
+                copy.edges().forEach(allEdges::add);
+            }
+            return new Graph<>(allVertices, allEdges).distinct();
+        });
+        Benchmarks.measure("union", () -> Graph.union(shards));
+        Benchmarks.measure("concat, distinct and distinctEdges", () -> {
+            List<Vertex<Integer, Integer>> allVertices = new ArrayList<>();
+            List<Edge<Integer, Integer>> allEdges = new ArrayList<>();
+            for (Graph<Integer, Integer> shard : shards) {
+                Graph<Integer, Integer> copy = shard.clone();
+                copy.vertices().forEach(allVertices::add);
+                copy.edges().forEach(allEdges::add);
+            }
+            return new Graph<>(allVertices, allEdges).distinct().distinctEdges();
+        });
+        Benchmarks.measure("union with reducer", () -> Graph.union(shards, Math::max));
+    }
+}
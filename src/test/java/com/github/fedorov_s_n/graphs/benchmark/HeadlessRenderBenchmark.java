@@ -0,0 +1,74 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.representation.PngRepresentation;
+import com.github.fedorov_s_n.graphs.representation.SvgRepresentation;
+import com.github.fedorov_s_n.graphs.representation.VertexPositions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Measures headless SVG and PNG rendering of a large graph with precomputed positions
+ */
+public class HeadlessRenderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 3, 42);
+        Random random = new Random(42);
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int i = 0; i < vertices; ++i) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+        VertexPositions positions = new VertexPositions(x, y);
+
+        SvgRepresentation<Integer, Integer> svg = new SvgRepresentation<>();
+        svg.setPositions(positions);
+        Benchmarks.measure("svg " + vertices + " vertices", () -> {
+            svg.write(graph, new NullWriter());
+            return null;
+        });
+
+        PngRepresentation<Integer, Integer> png = new PngRepresentation<>();
+        png.setPositions(positions);
+        png.setWidth(8000);
+        png.setHeight(8000);
+        png.setVertexRadius(1);
+        png.setMaxEdges(50_000);
+        Benchmarks.measure("png 8000x8000 " + vertices + " vertices", () -> {
+            png.write(graph, new NullOutputStream());
+            return null;
+        });
+    }
+
+    private static class NullWriter extends Writer {
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
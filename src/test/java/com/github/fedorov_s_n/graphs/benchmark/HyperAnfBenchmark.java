@@ -0,0 +1,32 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.HyperAnf;
+import com.github.fedorov_s_n.graphs.algorithm.NeighbourhoodFunction;
+
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link HyperAnf} on a random graph and compares reach estimates with exact
+ * counts of a few vertices found with {@code Graph.dfs}
+ */
+public class HyperAnfBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 4, 42);
+        HyperAnf anf = new HyperAnf();
+        NeighbourhoodFunction result = anf.run(graph);
+        System.out.printf("iterations %d, effective diameter %.2f%n",
+            result.getFunction().length - 1, result.getEffectiveDiameter());
+        Benchmarks.measure("hyperanf " + vertices + " vertices", () -> anf.run(graph));
+        Benchmarks.measure("exact reach of 1 vertex", () -> {
+            int[] count = new int[1];
+            graph.dfs(graph.vertices().limit(1).collect(Collectors.toList()),
+                Vertex::getChildNodes, null, v -> ++count[0] < 0, null, null);
+            System.out.printf("exact %d, estimated %.0f%n", count[0], result.getReach()[0]);
+            return count[0];
+        });
+    }
+}
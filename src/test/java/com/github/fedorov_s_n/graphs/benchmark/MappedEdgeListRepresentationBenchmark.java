@@ -0,0 +1,59 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.representation.MappedEdgeListRepresentation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares {@link MappedEdgeListRepresentation} with line by line parsing
+ * that splits lines and resolves vertices through a map.
+ */
+public class MappedEdgeListRepresentationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int edges = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path path = Files.createTempFile("graph", ".edges");
+        try {
+            Random random = new Random(42);
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                for (int i = 0; i < edges; ++i) {
+                    writer.write(random.nextInt(edges / 5) + "\t" + random.nextInt(edges / 5) + "\t" + random.nextInt(100) + "\n");
+                }
+            }
+            double megabytes = Files.size(path) / 1e6;
+            MappedEdgeListRepresentation representation = new MappedEdgeListRepresentation();
+            double mapped = Benchmarks.measure("mapped parallel restore", () -> representation.restore(path));
+            double naive = Benchmarks.measure("line by line restore", () -> readLines(path));
+            System.out.printf("file %.1f MB: mapped %.0f MB/s, line by line %.0f MB/s%n",
+                megabytes, megabytes / mapped * 1e3, megabytes / naive * 1e3);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static Graph<Long, Long> readLines(Path path) throws Exception {
+        Map<Long, Vertex<Long, Long>> vertices = new HashMap<>();
+        List<Edge<Long, Long>> edges = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] parts = line.split("\\s+");
+                edges.add(new Edge<>(
+                    vertices.computeIfAbsent(Long.parseLong(parts[0]), Vertex::new),
+                    vertices.computeIfAbsent(Long.parseLong(parts[1]), Vertex::new),
+                    Long.parseLong(parts[2])));
+            }
+        }
+        return new Graph<>(new ArrayList<>(vertices.values()), edges);
+    }
+}
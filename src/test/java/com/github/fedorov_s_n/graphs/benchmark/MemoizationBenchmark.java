@@ -0,0 +1,24 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Memoization;
+
+/**
+ * Compares repeated queries on a graph with memoized results and without them
+ */
+public class MemoizationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Graph<Integer, Integer> plain = Benchmarks.randomGraph(vertices, vertices * 2, 42);
+        Graph<Integer, Integer> memoized = Benchmarks.randomGraph(vertices, vertices * 2, 42);
+        plain.setMemoization(Memoization.NONE);
+        for (Graph<Integer, Integer> graph : new Graph[]{plain, memoized}) {
+            String name = graph.getMemoization().name().toLowerCase();
+            Benchmarks.measure(name + " hashCode", graph::hashCode);
+            Benchmarks.measure(name + " splitEdges", graph::splitEdges);
+            Benchmarks.measure(name + " topsort", graph::topsort);
+            Benchmarks.measure(name + " inDegrees", graph::inDegrees);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.Motifs;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares {@link Motifs} with counting feed-forward loops over {@code Vertex.getChildNodes()} streams
+ */
+public class MotifsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 10, 42);
+        Benchmarks.measure("stream feed-forward loops", () -> graph.vertices().mapToLong(a -> {
+            Set<Vertex<Integer, Integer>> children = a.getChildNodes().filter(c -> c != a).collect(Collectors.toSet());
+            return children.stream()
+                .flatMap(b -> b.getChildNodes().filter(c -> c != b && c != a).distinct())
+                .filter(children::contains)
+                .count();
+        }).sum());
+        Benchmarks.measure("motifs " + vertices + " vertices", () -> Motifs.of(graph));
+        Motifs motifs = Motifs.of(graph);
+        System.out.printf("triangles %d, cycles %d, feed-forward loops %d, reciprocal pairs %d%n",
+            motifs.getTriangles(), motifs.getCycles(), motifs.getFeedForwardLoops(), motifs.getReciprocalPairs());
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.partition.PartitionedGraph;
+import com.github.fedorov_s_n.graphs.partition.Partitioner;
+
+/**
+ * Measures partitioning and partition-parallel operations against their {@link Graph} counterparts
+ */
+public class PartitionedGraphBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int parts = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() * 2;
+        Graph<Integer, Integer> graph = Benchmarks.randomGraph(vertices, vertices * 4, 42);
+        Benchmarks.measure("ldg partitioner " + parts + " parts", () -> new Partitioner().partition(graph, parts));
+        PartitionedGraph<Integer, Integer> partitioned = PartitionedGraph.of(graph, parts);
+        System.out.printf("edge cut %d of %d edges%n", partitioned.edgeCut(), partitioned.edgesCount());
+        Benchmarks.measure("partitioned map", () -> partitioned.map(v -> v + 1, e -> e * 2));
+        Benchmarks.measure("graph map", () -> graph.map(v -> v + 1, e -> e * 2));
+        Benchmarks.measure("partitioned filter", () -> partitioned.filter(v -> v % 3 != 0, e -> e < 50));
+        Benchmarks.measure("graph filter", () -> graph.filter(v -> v.getParameter() % 3 != 0, e -> e.getParameter() < 50));
+        Benchmarks.measure("partitioned bfs", () -> partitioned.bfs(0));
+    }
+}
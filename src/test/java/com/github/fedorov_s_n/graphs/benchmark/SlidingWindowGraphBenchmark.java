@@ -0,0 +1,80 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.streaming.SlidingWindowGraph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares {@link SlidingWindowGraph} with rebuilding graph of the window with
+ * {@code Graph.fromEdges} on every slide. The stream has one edge per time unit,
+ * the window slides every {@code STEP} edges.
+ */
+public class SlidingWindowGraphBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+    private static final int WINDOW = 200_000;
+    private static final int STEP = 20_000;
+    private static final int VERTICES = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        int[] parents = new int[EVENTS];
+        int[] children = new int[EVENTS];
+        Random random = new Random(42);
+        for (int i = 0; i < EVENTS; ++i) {
+            parents[i] = random.nextInt(VERTICES);
+            children[i] = random.nextInt(VERTICES);
+        }
+        Benchmarks.measure("fromEdges on every slide", () -> {
+            List<Vertex<Integer, Integer>> vertices = new ArrayList<>(VERTICES);
+            ArrayDeque<int[]> window = new ArrayDeque<>();
+            long degrees = 0;
+            for (int i = 0; i < EVENTS; ++i) {
+                window.add(new int[]{parents[i], children[i], i});
+                while (window.peek()[2] <= i - WINDOW) {
+                    window.poll();
+                }
+                if (i % STEP == STEP - 1) {
+                    vertices.clear();
+                    for (int v = 0; v < VERTICES; ++v) {
+                        vertices.add(new Vertex<>(v));
+                    }
+                    List<Edge<Integer, Integer>> edges = new ArrayList<>(window.size());
+                    for (int[] edge : window) {
+                        edges.add(new Edge<>(vertices.get(edge[0]), vertices.get(edge[1]), edge[2]));
+                    }
+                    Graph<Integer, Integer> graph = Graph.fromEdges(edges);
+                    degrees += graph.outDegrees().length;
+                }
+            }
+            return degrees;
+        });
+        Benchmarks.measure("sliding window degrees and components", () -> {
+            SlidingWindowGraph<Integer, Integer> graph = new SlidingWindowGraph<>(WINDOW);
+            long statistics = 0;
+            for (int i = 0; i < EVENTS; ++i) {
+                graph.add(parents[i], children[i], i, i);
+                if (i % STEP == STEP - 1) {
+                    statistics += graph.getMaxDegree() + graph.getComponentsCount();
+                }
+            }
+            return statistics;
+        });
+        Benchmarks.measure("sliding window with snapshots", () -> {
+            SlidingWindowGraph<Integer, Integer> graph = new SlidingWindowGraph<>(WINDOW);
+            long statistics = 0;
+            for (int i = 0; i < EVENTS; ++i) {
+                graph.add(parents[i], children[i], i, i);
+                if (i % STEP == STEP - 1) {
+                    statistics += graph.snapshot().edgesCount();
+                }
+            }
+            return statistics;
+        });
+    }
+}
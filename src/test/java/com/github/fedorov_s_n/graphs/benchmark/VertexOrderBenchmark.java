@@ -0,0 +1,66 @@
+package com.github.fedorov_s_n.graphs.benchmark;
+
+import com.github.fedorov_s_n.graphs.Edge;
+import com.github.fedorov_s_n.graphs.Graph;
+import com.github.fedorov_s_n.graphs.Memoization;
+import com.github.fedorov_s_n.graphs.Vertex;
+import com.github.fedorov_s_n.graphs.algorithm.VertexOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@code dfs}, {@code split} and {@code splitEdges} of a grid graph with shuffled
+ * vertices before and after {@code reorder} with every strategy
+ */
+public class VertexOrderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        Graph<Integer, Integer> shuffled = shuffledGrid(side, 42);
+        run("shuffled", shuffled);
+        for (VertexOrder.Strategy strategy : VertexOrder.Strategy.values()) {
+            Benchmarks.measure("reorder " + strategy, () -> shuffled.reorder(strategy));
+            run(strategy.toString(), shuffled.reorder(strategy));
+        }
+    }
+
+    private static void run(String name, Graph<Integer, Integer> graph) throws Exception {
+        graph.setMemoization(Memoization.NONE);
+        List<Vertex<Integer, Integer>> vertices = graph.vertices().collect(Collectors.toList());
+        Benchmarks.measure(name + " dfs", () -> graph.dfs(vertices, Vertex::getChildNodes, null, null, null, null));
+        Benchmarks.measure(name + " split", graph::split);
+        Benchmarks.measure(name + " splitEdges", graph::splitEdges);
+    }
+
+    /**
+     * Create grid with edges to the right and down neighbours, vertices are shuffled
+     * and allocated in shuffled order
+     */
+    private static Graph<Integer, Integer> shuffledGrid(int side, long seed) {
+        List<Integer> parameters = new ArrayList<>(side * side);
+        for (int i = 0; i < side * side; ++i) {
+            parameters.add(i);
+        }
+        Collections.shuffle(parameters, new Random(seed));
+        @SuppressWarnings("unchecked")
+        Vertex<Integer, Integer>[] byParameter = new Vertex[side * side];
+        List<Vertex<Integer, Integer>> vertices = new ArrayList<>(side * side);
+        for (Integer parameter : parameters) {
+            Vertex<Integer, Integer> vertex = new Vertex<>(parameter);
+            byParameter[parameter] = vertex;
+            vertices.add(vertex);
+        }
+        List<Edge<Integer, Integer>> edges = new ArrayList<>(side * side * 2);
+        for (Integer parameter : parameters) {
+            int row = parameter / side;
+            int column = parameter % side;
+            if (column + 1 < side) edges.add(new Edge<>(byParameter[parameter], byParameter[parameter + 1], 0));
+            if (row + 1 < side) edges.add(new Edge<>(byParameter[parameter], byParameter[parameter + side], 1));
+        }
+        return new Graph<>(vertices, edges);
+    }
+}